@@ -37,6 +37,7 @@ public class NeonClient implements AutoCloseable, Lifecycle {
     private Integer sessionId;
     private Long sessionToken;
     private short nextSequence = 0;
+    private AckScheduler acks;
 
     private boolean autoPing = true;
     private long pingIntervalMs;
@@ -48,6 +49,7 @@ public class NeonClient implements AutoCloseable, Lifecycle {
     private BiConsumer<Byte, Byte> unhandledPacketCallback;
     private BiConsumer<Byte, Byte> wrongDestinationCallback;
     private Consumer<Byte> disconnectCallback;
+    private TriConsumer<Byte, Byte, PayloadSlice> gamePacketCallback;
 
     private final AtomicReference<Lifecycle.State> lifecycleState = new AtomicReference<>(Lifecycle.State.CREATED);
     private final List<Lifecycle.StateChangeListener> stateChangeListeners = new CopyOnWriteArrayList<>();
@@ -114,6 +116,7 @@ public class NeonClient implements AutoCloseable, Lifecycle {
                     this.clientId = accept.assignedClientId();
                     this.sessionId = accept.sessionId();
                     this.sessionToken = accept.sessionToken();
+                    this.acks = new AckScheduler(socket, relayAddr, clientId, config, null);
 
                     NeonPacket confirmation = NeonPacket.create(
                         PacketType.CONNECT_ACCEPT, nextSequence++, clientId, (byte) 0, accept
@@ -146,16 +149,24 @@ public class NeonClient implements AutoCloseable, Lifecycle {
         int count = 0;
         while (true) {
             try {
-                NeonSocket.ReceivedNeonPacket received = socket.receivePacket();
+                NeonSocket.ReceivedNeonPacket received = socket.receivePacketInPlace();
                 if (received == null) break;
 
-                handlePacket(received.packet());
+                try {
+                    handlePacket(received.packet());
+                } finally {
+                    received.packet().release();
+                }
                 count++;
             } catch (java.net.SocketTimeoutException e) {
                 break;
             }
         }
 
+        if (acks != null) {
+            acks.flushDue();
+        }
+
         if (autoPing && clientId != null) {
             long now = System.currentTimeMillis();
             if (now - lastPingTime >= pingIntervalMs) {
@@ -203,6 +214,13 @@ public class NeonClient implements AutoCloseable, Lifecycle {
                     disconnectCallback.accept(header.clientId());
                 }
             }
+            case PacketPayload.GamePacketSlice game when gamePacketCallback != null -> {
+                gamePacketCallback.accept(header.packetType(), header.clientId(), game.slice());
+            }
+            case PacketPayload.GamePacket game when gamePacketCallback != null -> {
+                gamePacketCallback.accept(header.packetType(), header.clientId(), PayloadSlice.wrap(game.payload()));
+            }
+            case PacketPayload.PiggybackAck piggyback -> handlePacket(piggyback.unwrap(header));
             default -> {
                 if (unhandledPacketCallback != null) {
                     unhandledPacketCallback.accept(header.packetType(), header.clientId());
@@ -236,12 +254,9 @@ public class NeonClient implements AutoCloseable, Lifecycle {
     }
 
     private void sendAck(short sequence) throws IOException {
-        if (clientId == null) return;
-        PacketPayload.Ack ack = new PacketPayload.Ack(java.util.List.of(sequence));
-        NeonPacket packet = NeonPacket.create(
-            PacketType.ACK, nextSequence++, clientId, (byte) 1, ack
-        );
-        socket.sendPacket(packet, relayAddr);
+        if (acks == null) return;
+        acks.queue((byte) 1, sequence);
+        acks.flushDue();
     }
 
     @Override
@@ -526,6 +541,7 @@ public class NeonClient implements AutoCloseable, Lifecycle {
 
                 if (received.packet().payload() instanceof PacketPayload.ConnectAccept accept) {
                     this.sessionToken = accept.sessionToken();
+                    this.acks = new AckScheduler(socket, relayAddr, clientId, config, null);
                     socket.setSoTimeout(config.getClientSocketTimeoutMs());
                     return true;
                 }
@@ -574,6 +590,21 @@ public class NeonClient implements AutoCloseable, Lifecycle {
         this.disconnectCallback = callback;
     }
 
+    /**
+     * Sets the callback for game packets that have no registered deserializer, called
+     * with the packet type, the sender's client ID and the payload bytes.
+     *
+     * <p>The slice reads straight from the pooled receive buffer and is released when
+     * the callback returns. Call {@link PayloadSlice#retain()} to keep it longer, and
+     * release it when done. Without this callback, game packets go to the unhandled
+     * packet callback.
+     *
+     * @since 1.3
+     */
+    public void setGamePacketCallback(TriConsumer<Byte, Byte, PayloadSlice> callback) {
+        this.gamePacketCallback = callback;
+    }
+
     @Override
     public void close() throws IOException {
         if (clientId != null && relayAddr != null) {
@@ -0,0 +1,201 @@
+package com.quietterminal.projectneon.core;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Delays, coalesces and piggybacks ACKs, shared by {@link ReliablePacketManager} and the
+ * client and host.
+ *
+ * <p>Sequences queued for a peer are folded into one {@link PacketPayload.SelectiveAck}.
+ * The ACK waits up to a quarter of the smoothed RTT to that peer, capped at
+ * {@link NeonConfig#getBatchAckMaxDelayMs()}, which is well inside the peer's
+ * retransmission timeout. Without an RTT sample for the peer it waits the full maximum
+ * delay. It goes out earlier when
+ * {@link NeonConfig#getBatchAckMaxSize()} sequences are waiting, or when a sequence
+ * arrives out of order so the sender can detect the gap quickly. If a game packet to the
+ * peer is sent in the meantime, {@link #piggyback(NeonPacket)} attaches the ACK to it as
+ * a {@link PacketPayload.PiggybackAck} and no ACK packet is needed at all.
+ *
+ * <p>Methods are thread-safe. Call {@link #flushDue()} regularly to send ACKs whose
+ * deadline has passed.
+ *
+ * @since 1.3
+ */
+public final class AckScheduler {
+    private final NeonSocket socket;
+    private final SocketAddress relayAddr;
+    private final byte clientId;
+    private final int maxBatchSize;
+    private final long maxDelayMs;
+    private final Function<Byte, RttEstimator> rttSource;
+    private final Map<Byte, PeerAcks> peers = new HashMap<>();
+
+    /**
+     * ACKs waiting for one peer.
+     */
+    private static final class PeerAcks {
+        private final Deque<PacketPayload.SelectiveAck> closed = new ArrayDeque<>();
+        private PacketPayload.SelectiveAck open;
+        private int count;
+        private long deadlineMs;
+    }
+
+    /**
+     * Creates an ACK scheduler.
+     *
+     * @param socket the socket to send ACKs through
+     * @param relayAddr the relay address
+     * @param clientId the client ID sending ACKs
+     * @param config supplies the batch size and maximum delay
+     * @param rttSource looks up the RTT estimator for a peer without creating one, returning
+     *     null if there is none; or null to always wait the maximum delay
+     */
+    public AckScheduler(NeonSocket socket, SocketAddress relayAddr, byte clientId, NeonConfig config,
+                        Function<Byte, RttEstimator> rttSource) {
+        this.socket = socket;
+        this.relayAddr = relayAddr;
+        this.clientId = clientId;
+        this.maxBatchSize = config.getBatchAckMaxSize();
+        this.maxDelayMs = config.getBatchAckMaxDelayMs();
+        this.rttSource = rttSource;
+    }
+
+    /**
+     * Queues a received sequence for acknowledgment. A sequence already queued is ignored.
+     *
+     * @param peerId the client ID the sequence came from
+     * @param sequence the sequence to acknowledge
+     */
+    public void queue(byte peerId, short sequence) {
+        long now = System.currentTimeMillis();
+        long delay = delayFor(peerId);
+        synchronized (this) {
+            PeerAcks acks = peers.computeIfAbsent(peerId, id -> new PeerAcks());
+            if (acks.open == null) {
+                acks.open = PacketPayload.SelectiveAck.of(sequence);
+                acks.deadlineMs = now + delay;
+            } else if (acks.open.covers(sequence)) {
+                return;
+            } else {
+                if (SequenceWindow.distance(acks.open.latest(), sequence) != 1) {
+                    acks.deadlineMs = now;
+                }
+                PacketPayload.SelectiveAck extended = acks.open.with(sequence);
+                if (extended == null) {
+                    acks.closed.add(acks.open);
+                    extended = PacketPayload.SelectiveAck.of(sequence);
+                }
+                acks.open = extended;
+            }
+            if (++acks.count >= maxBatchSize) {
+                acks.deadlineMs = now;
+            }
+        }
+    }
+
+    /**
+     * Attaches the ACK waiting for a game packet's destination to the packet. ACKs that
+     * no longer fit in one bitmap are left for {@link #flushDue()}.
+     *
+     * @param packet an outgoing packet
+     * @return the packet with the ACK attached, or the packet itself if it is not a game
+     *     packet or nothing is waiting for its destination
+     */
+    public NeonPacket piggyback(NeonPacket packet) {
+        byte type = packet.header().packetType();
+        if (PacketType.isCoreType(type)) {
+            return packet;
+        }
+        PacketPayload.SelectiveAck ack;
+        synchronized (this) {
+            PeerAcks acks = peers.get(packet.header().destinationId());
+            if (acks == null || acks.open == null) {
+                return packet;
+            }
+            ack = acks.open;
+            acks.open = null;
+            acks.count -= ack.count();
+            if (acks.closed.isEmpty()) {
+                peers.remove(packet.header().destinationId());
+            }
+        }
+        return PacketPayload.PiggybackAck.wrap(packet, ack);
+    }
+
+    /**
+     * Sends the ACKs whose deadline has passed.
+     *
+     * @return the number of ACK packets sent
+     * @throws IOException if sending fails
+     */
+    public int flushDue() throws IOException {
+        return flush(System.currentTimeMillis());
+    }
+
+    /**
+     * Sends every waiting ACK now.
+     *
+     * @return the number of ACK packets sent
+     * @throws IOException if sending fails
+     */
+    public int flush() throws IOException {
+        return flush(Long.MAX_VALUE);
+    }
+
+    private int flush(long nowMs) throws IOException {
+        List<NeonPacket> due = new ArrayList<>();
+        synchronized (this) {
+            if (peers.isEmpty()) {
+                return 0;
+            }
+            Iterator<Map.Entry<Byte, PeerAcks>> it = peers.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Byte, PeerAcks> entry = it.next();
+                PeerAcks acks = entry.getValue();
+                if (acks.closed.isEmpty() && nowMs - acks.deadlineMs < 0) {
+                    continue;
+                }
+                if (acks.open != null) {
+                    acks.closed.add(acks.open);
+                }
+                for (PacketPayload.SelectiveAck ack : acks.closed) {
+                    due.add(NeonPacket.create(PacketType.SELECTIVE_ACK, (short) 0, clientId, entry.getKey(), ack));
+                }
+                it.remove();
+            }
+        }
+        for (NeonPacket packet : due) {
+            socket.sendPacket(packet, relayAddr);
+        }
+        return due.size();
+    }
+
+    /**
+     * Gets the number of sequences waiting to be acknowledged.
+     */
+    public synchronized int getPendingCount() {
+        int total = 0;
+        for (PeerAcks acks : peers.values()) {
+            total += acks.count;
+        }
+        return total;
+    }
+
+    private long delayFor(byte peerId) {
+        if (rttSource == null) {
+            return maxDelayMs;
+        }
+        RttEstimator estimator = rttSource.apply(peerId);
+        long srtt = estimator != null ? estimator.srttMs() : -1;
+        return srtt < 0 ? maxDelayMs : Math.min(maxDelayMs, srtt / 4);
+    }
+}
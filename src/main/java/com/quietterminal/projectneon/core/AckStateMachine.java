@@ -26,6 +26,17 @@ import java.util.logging.Logger;
  *                                        -> (max retries) -> FAILED
  *          -> (ack received) -> ACKNOWLEDGED
  * </pre>
+ *
+ * <p>Timeouts adapt to each destination peer. ACKs for packets sent once feed an
+ * {@link RttEstimator} per destination client ID, and a packet times out after that
+ * peer's retransmission timeout, doubled for every retry. The configured timeout is
+ * used until a peer's first sample.
+ *
+ * <p>Losses can also be detected before the timeout. {@link #acknowledge(byte, PacketPayload.SelectiveAck)}
+ * counts, for each packet sent once, the ACKs from its peer that covered later sequences
+ * but not it; after {@link NeonConfig#getReliableFastRetransmitThreshold()} such ACKs the
+ * packet is due on the next {@link #process()}. {@link #handleNack(byte, PacketPayload.Nack)}
+ * makes the packets a peer reports missing due the same way.
  */
 public class AckStateMachine {
     private static final Logger logger;
@@ -78,9 +89,13 @@ public class AckStateMachine {
         List<PendingPacket> failed
     ) {}
 
-    private final Map<Short, PendingPacket> pendingPackets = new ConcurrentHashMap<>();
+    private final RetransmitWindow window = new RetransmitWindow(System.currentTimeMillis());
+    private final Map<Byte, RttEstimator> estimators = new ConcurrentHashMap<>();
     private final int timeoutMs;
     private final int maxRetries;
+    private final int minTimeoutMs;
+    private final int maxTimeoutMs;
+    private final int fastRetransmitThreshold;
 
     private Consumer<PendingPacket> onAcknowledged;
     private Consumer<PendingPacket> onFailed;
@@ -92,6 +107,10 @@ public class AckStateMachine {
      * @param maxRetries Maximum number of retries before marking as failed
      */
     public AckStateMachine(int timeoutMs, int maxRetries) {
+        this(timeoutMs, maxRetries, new NeonConfig());
+    }
+
+    private AckStateMachine(int timeoutMs, int maxRetries, NeonConfig config) {
         if (timeoutMs <= 0) {
             throw new IllegalArgumentException("timeoutMs must be positive");
         }
@@ -100,6 +119,9 @@ public class AckStateMachine {
         }
         this.timeoutMs = timeoutMs;
         this.maxRetries = maxRetries;
+        this.minTimeoutMs = Math.min(config.getReliableMinTimeoutMs(), timeoutMs);
+        this.maxTimeoutMs = Math.max(config.getReliableMaxTimeoutMs(), minTimeoutMs);
+        this.fastRetransmitThreshold = config.getReliableFastRetransmitThreshold();
     }
 
     /**
@@ -110,9 +132,9 @@ public class AckStateMachine {
      */
     public static AckStateMachine fromConfig(NeonConfig config, boolean useHostSettings) {
         if (useHostSettings) {
-            return new AckStateMachine(config.getHostAckTimeoutMs(), config.getHostMaxAckRetries());
+            return new AckStateMachine(config.getHostAckTimeoutMs(), config.getHostMaxAckRetries(), config);
         } else {
-            return new AckStateMachine(config.getReliablePacketTimeoutMs(), config.getReliablePacketMaxRetries());
+            return new AckStateMachine(config.getReliablePacketTimeoutMs(), config.getReliablePacketMaxRetries(), config);
         }
     }
 
@@ -123,10 +145,9 @@ public class AckStateMachine {
      * @param packet The packet that was sent
      */
     public void track(short sequence, NeonPacket packet) {
-        PendingPacket pending = new PendingPacket(
-            sequence, packet, System.currentTimeMillis(), 0, PacketState.PENDING
-        );
-        pendingPackets.put(sequence, pending);
+        long now = System.currentTimeMillis();
+        long timeout = getRttEstimator(packet.header().destinationId()).timeoutFor(0);
+        window.track(sequence, packet, now, now + timeout);
         logger.log(Level.FINE, "Tracking packet with sequence {0}", sequence);
     }
 
@@ -137,15 +158,18 @@ public class AckStateMachine {
      * @return true if the sequence was being tracked, false otherwise
      */
     public boolean acknowledge(short sequence) {
-        PendingPacket removed = pendingPackets.remove(sequence);
-        if (removed != null) {
-            logger.log(Level.FINE, "ACK received for sequence {0}", sequence);
-            if (onAcknowledged != null) {
-                onAcknowledged.accept(removed.withState(PacketState.ACKNOWLEDGED));
-            }
-            return true;
+        RetransmitWindow.Slot removed = window.remove(sequence);
+        if (removed == null) {
+            return false;
+        }
+        logger.log(Level.FINE, "ACK received for sequence {0}", sequence);
+        if (removed.retryCount == 0) {
+            estimatorFor(removed).sample(System.currentTimeMillis() - removed.sentTime);
         }
-        return false;
+        if (onAcknowledged != null) {
+            onAcknowledged.accept(toPending(removed, PacketState.ACKNOWLEDGED));
+        }
+        return true;
     }
 
     /**
@@ -165,7 +189,94 @@ public class AckStateMachine {
     }
 
     /**
-     * Processes all pending packets, checking for timeouts.
+     * Records a selective ACK, walking its bitmap once without boxing the sequences
+     * it carries.
+     *
+     * @param ack The received selective ACK
+     * @return The number of covered sequences that were being tracked
+     * @since 1.3
+     */
+    public int acknowledge(PacketPayload.SelectiveAck ack) {
+        if (!hasPending()) {
+            return 0;
+        }
+        int count = acknowledge(ack.latest()) ? 1 : 0;
+        for (long mask = ack.receivedMask(); mask != 0; mask &= mask - 1) {
+            if (acknowledge(ack.sequenceAt(Long.numberOfTrailingZeros(mask)))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Records a selective ACK from a peer and detects gaps in it: packets to that peer
+     * that the ACK skipped over count towards fast retransmission.
+     *
+     * @param peerId The client ID the ACK came from
+     * @param ack The received selective ACK
+     * @return The number of covered sequences that were being tracked
+     * @since 1.3
+     */
+    public int acknowledge(byte peerId, PacketPayload.SelectiveAck ack) {
+        int count = acknowledge(ack);
+        detectGaps(peerId, ack);
+        return count;
+    }
+
+    /**
+     * Counts a selective ACK from a peer against the packets to that peer it skipped
+     * over, without acknowledging anything. Packets reaching the fast retransmit
+     * threshold become due on the next {@link #process()}.
+     *
+     * @param peerId The client ID the ACK came from
+     * @param ack The received selective ACK
+     * @return The number of packets made due
+     * @since 1.3
+     */
+    public int detectGaps(byte peerId, PacketPayload.SelectiveAck ack) {
+        if (fastRetransmitThreshold == 0) {
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        int[] count = {0};
+        window.gaps(peerId, ack, fastRetransmitThreshold, slot -> {
+            window.reschedule(slot, now);
+            count[0]++;
+            logger.log(Level.FINE, "Packet {0} skipped by {1} ACKs, retransmitting early",
+                new Object[]{slot.sequence, fastRetransmitThreshold});
+        });
+        return count[0];
+    }
+
+    /**
+     * Makes the packets a peer reports missing due on the next {@link #process()}.
+     * Packets sent to the peer less than one smoothed RTT ago are left alone, since
+     * that copy cannot have arrived yet.
+     *
+     * @param peerId The client ID the NACK came from
+     * @param nack The received NACK
+     * @return The number of packets made due
+     * @since 1.3
+     */
+    public int handleNack(byte peerId, PacketPayload.Nack nack) {
+        long now = System.currentTimeMillis();
+        long minAge = Math.max(getRttEstimator(peerId).srttMs(), 0);
+        int[] count = {0};
+        nack.forEach(sequence -> {
+            RetransmitWindow.Slot slot = window.get(sequence);
+            if (slot != null && slot.packet.header().destinationId() == peerId && now - slot.sentTime >= minAge) {
+                window.reschedule(slot, now);
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    /**
+     * Processes pending packets whose timeout has passed. Only due packets are visited;
+     * deadlines are kept in a timing wheel. A packet reported as needing a retry is
+     * reported again on later calls until {@link #markResent(short)} is called for it.
      *
      * @return Result containing packets that need retry and packets that have failed
      */
@@ -173,27 +284,25 @@ public class AckStateMachine {
         long now = System.currentTimeMillis();
         List<PendingPacket> needsRetry = new ArrayList<>();
         List<PendingPacket> failed = new ArrayList<>();
-        List<Short> toRemove = new ArrayList<>();
-
-        for (Map.Entry<Short, PendingPacket> entry : pendingPackets.entrySet()) {
-            PendingPacket pending = entry.getValue();
-
-            if (now - pending.sentTime() >= timeoutMs) {
-                if (pending.retryCount() >= maxRetries) {
-                    logger.log(Level.WARNING, "Packet {0} failed after {1} retries",
-                        new Object[]{pending.sequence(), maxRetries});
-                    failed.add(pending.withState(PacketState.FAILED));
-                    toRemove.add(entry.getKey());
-                    if (onFailed != null) {
-                        onFailed.accept(pending.withState(PacketState.FAILED));
-                    }
-                } else {
-                    needsRetry.add(pending.withState(PacketState.RETRY_NEEDED));
+
+        window.advance(now, slot -> {
+            if (slot.retryCount >= maxRetries) {
+                if (window.remove(slot.sequence) == null) {
+                    return;
                 }
+                logger.log(Level.WARNING, "Packet {0} failed after {1} retries",
+                    new Object[]{slot.sequence, maxRetries});
+                PendingPacket failedPacket = toPending(slot, PacketState.FAILED);
+                failed.add(failedPacket);
+                if (onFailed != null) {
+                    onFailed.accept(failedPacket);
+                }
+            } else {
+                needsRetry.add(toPending(slot, PacketState.RETRY_NEEDED));
+                window.reschedule(slot, now + RetransmitWindow.TICK_MS);
             }
-        }
+        });
 
-        toRemove.forEach(pendingPackets::remove);
         return new ProcessResult(needsRetry, failed);
     }
 
@@ -203,11 +312,13 @@ public class AckStateMachine {
      * @param sequence The sequence number that was resent
      */
     public void markResent(short sequence) {
-        PendingPacket existing = pendingPackets.get(sequence);
-        if (existing != null) {
-            pendingPackets.put(sequence, existing.withRetry(System.currentTimeMillis()));
+        RetransmitWindow.Slot slot = window.get(sequence);
+        if (slot != null) {
+            long now = System.currentTimeMillis();
+            int retry = slot.retryCount + 1;
+            window.resent(slot, now, now + estimatorFor(slot).timeoutFor(retry));
             logger.log(Level.FINE, "Packet {0} marked as resent (retry {1})",
-                new Object[]{sequence, existing.retryCount() + 1});
+                new Object[]{sequence, retry});
         }
     }
 
@@ -218,7 +329,8 @@ public class AckStateMachine {
      * @return The removed packet, or null if not found
      */
     public PendingPacket remove(short sequence) {
-        return pendingPackets.remove(sequence);
+        RetransmitWindow.Slot removed = window.remove(sequence);
+        return removed != null ? toPending(removed, PacketState.PENDING) : null;
     }
 
     /**
@@ -228,7 +340,7 @@ public class AckStateMachine {
      * @return true if the sequence is being tracked
      */
     public boolean isTracking(short sequence) {
-        return pendingPackets.containsKey(sequence);
+        return window.get(sequence) != null;
     }
 
     /**
@@ -237,7 +349,7 @@ public class AckStateMachine {
      * @return The count of pending packets
      */
     public int pendingCount() {
-        return pendingPackets.size();
+        return window.size();
     }
 
     /**
@@ -246,23 +358,31 @@ public class AckStateMachine {
      * @return true if there are pending packets
      */
     public boolean hasPending() {
-        return !pendingPackets.isEmpty();
+        return window.size() > 0;
     }
 
     /**
-     * Gets all currently pending packets.
+     * Gets a snapshot of all currently pending packets.
      *
-     * @return Unmodifiable view of pending packets
+     * @return Unmodifiable list of pending packets
      */
     public Collection<PendingPacket> getPendingPackets() {
-        return Collections.unmodifiableCollection(pendingPackets.values());
+        List<PendingPacket> pending = new ArrayList<>();
+        for (RetransmitWindow.Slot slot : window.snapshot()) {
+            pending.add(toPending(slot, PacketState.PENDING));
+        }
+        return Collections.unmodifiableList(pending);
     }
 
     /**
      * Clears all pending packets.
      */
     public void clear() {
-        pendingPackets.clear();
+        window.clear();
+    }
+
+    private static PendingPacket toPending(RetransmitWindow.Slot slot, PacketState state) {
+        return new PendingPacket(slot.sequence, slot.packet, slot.sentTime, slot.retryCount, state);
     }
 
     /**
@@ -284,7 +404,23 @@ public class AckStateMachine {
     }
 
     /**
-     * Gets the configured timeout in milliseconds.
+     * Gets the round-trip estimator for a destination peer, creating it on first use.
+     *
+     * @param peerId The destination client ID
+     * @return The peer's estimator
+     * @since 1.3
+     */
+    public RttEstimator getRttEstimator(byte peerId) {
+        return estimators.computeIfAbsent(peerId,
+            id -> new RttEstimator(timeoutMs, minTimeoutMs, maxTimeoutMs));
+    }
+
+    private RttEstimator estimatorFor(RetransmitWindow.Slot slot) {
+        return getRttEstimator(slot.packet.header().destinationId());
+    }
+
+    /**
+     * Gets the configured initial timeout in milliseconds.
      */
     public int getTimeoutMs() {
         return timeoutMs;
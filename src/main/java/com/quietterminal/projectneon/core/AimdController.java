@@ -0,0 +1,46 @@
+package com.quietterminal.projectneon.core;
+
+/**
+ * Loss-based congestion controller in the style of TCP Reno.
+ *
+ * <p>The window starts in slow start, growing by one packet per ACK until the first loss.
+ * After that it grows by one packet per window of ACKs, and each congestion event halves it.
+ */
+final class AimdController implements CongestionController {
+    private final int minWindow;
+    private double window;
+    private double slowStartThreshold = MAX_WINDOW;
+    private long recoveryEndMs;
+    private boolean recovering;
+
+    AimdController(int initialWindow, int minWindow) {
+        this.minWindow = minWindow;
+        this.window = Math.max(initialWindow, minWindow);
+    }
+
+    @Override
+    public synchronized int window() {
+        return (int) window;
+    }
+
+    @Override
+    public synchronized void onAck(long rttMs, long nowMs) {
+        if (window < slowStartThreshold) {
+            window += 1;
+        } else {
+            window += 1 / window;
+        }
+        window = Math.min(window, MAX_WINDOW);
+    }
+
+    @Override
+    public synchronized void onLoss(long nowMs, long recoveryMs) {
+        if (recovering && nowMs - recoveryEndMs < 0) {
+            return;
+        }
+        slowStartThreshold = Math.max(window / 2, minWindow);
+        window = slowStartThreshold;
+        recovering = true;
+        recoveryEndMs = nowMs + Math.max(recoveryMs, 1);
+    }
+}
@@ -2,19 +2,29 @@ package com.quietterminal.projectneon.core;
 
 import java.io.IOException;
 import java.net.SocketAddress;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.ArrayDeque;
+import java.util.Deque;
 
 /**
  * Manages batched ACK processing to reduce packet overhead.
  * Collects multiple ACK sequence numbers and sends them in a single packet.
+ *
+ * <p>Queued sequences are folded into a {@link PacketPayload.SelectiveAck} as they
+ * arrive, so a batch of any size is sent as one 10-byte payload. A sequence too far
+ * from the ACK being built closes it and starts the next; a flush sends every closed
+ * ACK and then the open one.
+ *
+ * @deprecated Use {@link AckScheduler}, which also bounds the delay by RTT and
+ *     piggybacks ACKs on outgoing game packets.
  */
+@Deprecated
 public class BatchAckManager {
     private final NeonSocket socket;
     private final SocketAddress relayAddr;
     private final byte clientId;
-    private final ConcurrentLinkedQueue<Short> pendingAcks;
+    private final Deque<PacketPayload.SelectiveAck> closedAcks = new ArrayDeque<>();
+    private PacketPayload.SelectiveAck openAck;
+    private int pendingCount;
     private final int maxBatchSize;
     private final long maxBatchDelayMs;
     private long lastFlushTime;
@@ -25,7 +35,7 @@ public class BatchAckManager {
      * @param socket the socket to send ACKs through
      * @param relayAddr the relay address
      * @param clientId the client ID sending ACKs
-     * @param maxBatchSize maximum number of ACKs to batch
+     * @param maxBatchSize number of queued ACKs that triggers a flush
      * @param maxBatchDelayMs maximum time to wait before flushing
      */
     public BatchAckManager(NeonSocket socket, SocketAddress relayAddr, byte clientId,
@@ -35,17 +45,29 @@ public class BatchAckManager {
         this.clientId = clientId;
         this.maxBatchSize = maxBatchSize;
         this.maxBatchDelayMs = maxBatchDelayMs;
-        this.pendingAcks = new ConcurrentLinkedQueue<>();
         this.lastFlushTime = System.currentTimeMillis();
     }
 
     /**
-     * Queues a sequence number for ACK batching.
+     * Queues a sequence number for ACK batching. A sequence that is already queued
+     * is ignored.
      *
      * @param sequence the sequence number to acknowledge
      */
-    public void queueAck(short sequence) {
-        pendingAcks.offer(sequence);
+    public synchronized void queueAck(short sequence) {
+        if (openAck == null) {
+            openAck = PacketPayload.SelectiveAck.of(sequence);
+        } else if (openAck.covers(sequence)) {
+            return;
+        } else {
+            PacketPayload.SelectiveAck extended = openAck.with(sequence);
+            if (extended == null) {
+                closedAcks.add(openAck);
+                extended = PacketPayload.SelectiveAck.of(sequence);
+            }
+            openAck = extended;
+        }
+        pendingCount++;
     }
 
     /**
@@ -56,14 +78,14 @@ public class BatchAckManager {
      */
     public int flushIfNeeded() throws IOException {
         long now = System.currentTimeMillis();
-        boolean timeoutExceeded = (now - lastFlushTime) >= maxBatchDelayMs;
-        boolean batchFull = pendingAcks.size() >= maxBatchSize;
-
-        if ((timeoutExceeded || batchFull) && !pendingAcks.isEmpty()) {
-            return flush();
+        synchronized (this) {
+            boolean timeoutExceeded = (now - lastFlushTime) >= maxBatchDelayMs;
+            boolean batchFull = pendingCount >= maxBatchSize;
+            if (!(timeoutExceeded || batchFull) || openAck == null) {
+                return 0;
+            }
         }
-
-        return 0;
+        return flush();
     }
 
     /**
@@ -73,26 +95,28 @@ public class BatchAckManager {
      * @throws IOException if send fails
      */
     public int flush() throws IOException {
-        if (pendingAcks.isEmpty()) {
-            return 0;
+        PacketPayload.SelectiveAck[] batch;
+        int count;
+        synchronized (this) {
+            if (openAck == null) {
+                return 0;
+            }
+            closedAcks.add(openAck);
+            batch = closedAcks.toArray(new PacketPayload.SelectiveAck[0]);
+            count = pendingCount;
+            closedAcks.clear();
+            openAck = null;
+            pendingCount = 0;
         }
 
-        List<Short> batch = new ArrayList<>();
-        Short seq;
-        while ((seq = pendingAcks.poll()) != null && batch.size() < maxBatchSize) {
-            batch.add(seq);
-        }
-
-        if (!batch.isEmpty()) {
-            PacketPayload.Ack ack = new PacketPayload.Ack(batch);
+        for (PacketPayload.SelectiveAck ack : batch) {
             NeonPacket packet = NeonPacket.create(
-                PacketType.ACK, (short) 0, clientId, (byte) 1, ack
+                PacketType.SELECTIVE_ACK, (short) 0, clientId, (byte) 1, ack
             );
             socket.sendPacket(packet, relayAddr);
-            lastFlushTime = System.currentTimeMillis();
         }
-
-        return batch.size();
+        lastFlushTime = System.currentTimeMillis();
+        return count;
     }
 
     /**
@@ -100,7 +124,7 @@ public class BatchAckManager {
      *
      * @return pending ACK count
      */
-    public int getPendingCount() {
-        return pendingAcks.size();
+    public synchronized int getPendingCount() {
+        return pendingCount;
     }
 }
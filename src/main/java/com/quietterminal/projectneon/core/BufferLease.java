@@ -0,0 +1,120 @@
+package com.quietterminal.projectneon.core;
+
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+
+/**
+ * A received datagram held in a pooled buffer.
+ *
+ * <p>The buffer is positioned at the start of the datagram with its limit at the
+ * end, so callers can read the packet in place without copying it into a new array.
+ * The lease must be closed once the caller is done with the bytes; after that the
+ * buffer goes back to its pool and may be overwritten by the next receive.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * try (BufferLease lease = socket.receiveLease()) {
+ *     if (lease != null) {
+ *         ByteBuffer data = lease.buffer();
+ *         // Inspect or forward data before the lease is closed
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>Leases are not thread-safe and should be consumed by the receiving thread.
+ */
+public final class BufferLease implements AutoCloseable {
+
+    /**
+     * Returns a leased buffer to wherever it was acquired from.
+     */
+    @FunctionalInterface
+    public interface Releaser {
+        void release(ByteBuffer buffer);
+    }
+
+    private static final Releaser UNPOOLED = buffer -> { };
+
+    private final ByteBuffer buffer;
+    private final SocketAddress source;
+    private final Releaser releaser;
+    private boolean released;
+
+    /**
+     * Creates a lease over a buffer.
+     *
+     * @param buffer The buffer holding the datagram, flipped for reading
+     * @param source The address the datagram was received from
+     * @param releaser Called once when the lease is released
+     */
+    public BufferLease(ByteBuffer buffer, SocketAddress source, Releaser releaser) {
+        this.buffer = buffer;
+        this.source = source;
+        this.releaser = releaser;
+    }
+
+    /**
+     * Creates a lease over a plain array that is not backed by any pool.
+     */
+    public static BufferLease wrap(byte[] data, SocketAddress source) {
+        return new BufferLease(ByteBuffer.wrap(data), source, UNPOOLED);
+    }
+
+    /**
+     * Gets the leased buffer.
+     *
+     * @throws IllegalStateException if the lease has already been released
+     */
+    public ByteBuffer buffer() {
+        if (released) {
+            throw new IllegalStateException("Buffer lease already released");
+        }
+        return buffer;
+    }
+
+    /**
+     * Gets the address the datagram was received from.
+     */
+    public SocketAddress source() {
+        return source;
+    }
+
+    /**
+     * Gets the datagram length in bytes.
+     */
+    public int length() {
+        return buffer.limit();
+    }
+
+    /**
+     * Copies the datagram into a new array, for callers that need to keep the bytes
+     * after the lease is released.
+     */
+    public byte[] toByteArray() {
+        byte[] data = new byte[buffer.limit()];
+        buffer().get(0, data);
+        return data;
+    }
+
+    /**
+     * Checks whether the lease has been released.
+     */
+    public boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * Returns the buffer to its pool. Subsequent calls have no effect.
+     */
+    public void release() {
+        if (!released) {
+            released = true;
+            releaser.release(buffer);
+        }
+    }
+
+    @Override
+    public void close() {
+        release();
+    }
+}
@@ -1,16 +1,51 @@
 package com.quietterminal.projectneon.core;
 
+import java.lang.ref.WeakReference;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Thread-safe object pool for byte arrays to reduce GC pressure.
  * Reuses byte buffers across packet operations instead of allocating new arrays.
+ *
+ * <p>Buffers come in power-of-two size classes from {@value #MIN_CLASS_SIZE} bytes up
+ * to the configured buffer size, which is always the largest class. {@link #acquire()}
+ * hands out full-size buffers for receiving; {@link #acquire(int)} hands out the
+ * smallest class that fits, so a copied 40-byte ping holds a 64-byte array rather
+ * than a 64 KB one.
+ *
+ * <p>Each platform thread keeps a small magazine of buffers per class, so a thread
+ * that acquires and releases in a loop never touches shared state. Magazines spill
+ * to and refill from a shared depot per class. A depot holds at most
+ * {@code maxPoolSize} buffers and a magazine at most {@value #MAGAZINE_CAPACITY}, or
+ * {@code maxPoolSize} if that is smaller. Virtual threads are too numerous to cache
+ * for and go straight to the depot. Acquire and release accounting is constant time.
+ *
+ * <p>Magazines are also kept in a registry. {@link #availableBuffers()} and
+ * {@link #stats()} first drain the magazines of threads that have exited back into the
+ * depots, so buffers cached by stopped relay or worker threads are neither lost nor
+ * counted forever. That check costs one step per thread that has used the pool.
  */
 public class ByteBufferPool {
-    private final Queue<byte[]> pool;
+    /**
+     * Size of the smallest class in bytes.
+     */
+    public static final int MIN_CLASS_SIZE = 64;
+
+    static final int MAGAZINE_CAPACITY = 16;
+
     private final int bufferSize;
     private final int maxPoolSize;
+    private final int magazineCapacity;
+    private final SizeClass[] classes;
+    private final ThreadLocal<Magazine[]> magazines;
+    private final Queue<ThreadMagazines> registry = new ConcurrentLinkedQueue<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder overflows = new LongAdder();
+    private final LongAdder cached = new LongAdder();
 
     /**
      * Creates a buffer pool with specified parameters.
@@ -32,11 +67,27 @@ public class ByteBufferPool {
 
         this.bufferSize = bufferSize;
         this.maxPoolSize = maxPoolSize;
-        this.pool = new ConcurrentLinkedQueue<>();
+        this.magazineCapacity = Math.min(MAGAZINE_CAPACITY, maxPoolSize);
+
+        int powerClasses = bufferSize > MIN_CLASS_SIZE
+            ? 31 - Integer.numberOfLeadingZeros(bufferSize - 1) - Integer.numberOfTrailingZeros(MIN_CLASS_SIZE) + 1
+            : 0;
+        this.classes = new SizeClass[powerClasses + 1];
+        for (int i = 0; i < powerClasses; i++) {
+            classes[i] = new SizeClass(MIN_CLASS_SIZE << i);
+        }
+        classes[powerClasses] = new SizeClass(bufferSize);
+        this.magazines = ThreadLocal.withInitial(() -> {
+            Magazine[] perClass = new Magazine[classes.length];
+            registry.add(new ThreadMagazines(Thread.currentThread(), perClass));
+            return perClass;
+        });
 
+        SizeClass largest = classes[powerClasses];
         for (int i = 0; i < initialPoolSize; i++) {
-            pool.offer(new byte[bufferSize]);
+            largest.depot.offer(new byte[bufferSize]);
         }
+        largest.depotCount.set(initialPoolSize);
     }
 
     /**
@@ -45,35 +96,91 @@ public class ByteBufferPool {
      * @return a byte array of the configured buffer size
      */
     public byte[] acquire() {
-        byte[] buffer = pool.poll();
-        if (buffer == null) {
-            buffer = new byte[bufferSize];
+        return acquireClass(classes.length - 1);
+    }
+
+    /**
+     * Acquires a buffer of at least the given size, rounded up to its size class.
+     * Requests larger than the configured buffer size are allocated exactly and are
+     * not pooled.
+     *
+     * @param minSize minimum length of the returned array
+     * @return a byte array at least {@code minSize} bytes long
+     * @since 1.3
+     */
+    public byte[] acquire(int minSize) {
+        if (minSize > bufferSize) {
+            misses.increment();
+            return new byte[minSize];
+        }
+        return acquireClass(classIndexFor(Math.max(minSize, 0)));
+    }
+
+    private byte[] acquireClass(int index) {
+        SizeClass sizeClass = classes[index];
+        Magazine magazine = magazine(index);
+        if (magazine != null && magazine.count > 0) {
+            cached.decrement();
+            hits.increment();
+            return magazine.pop();
+        }
+
+        byte[] buffer = sizeClass.poll();
+        if (buffer != null) {
+            hits.increment();
+            return buffer;
         }
-        return buffer;
+        misses.increment();
+        return new byte[sizeClass.size];
     }
 
     /**
-     * Returns a buffer to the pool for reuse. Only buffers of the correct size are accepted.
+     * Returns a buffer to the pool for reuse. Only buffers whose length is exactly one
+     * of the pool's size classes are accepted.
      *
      * @param buffer the buffer to return
      */
     public void release(byte[] buffer) {
-        if (buffer == null || buffer.length != bufferSize) {
+        if (buffer == null) {
+            return;
+        }
+        int index = classIndexOf(buffer.length);
+        if (index < 0) {
             return;
         }
 
-        if (pool.size() < maxPoolSize) {
-            pool.offer(buffer);
+        SizeClass sizeClass = classes[index];
+        Magazine magazine = magazine(index);
+        if (magazine == null) {
+            offerToDepot(sizeClass, buffer);
+            return;
         }
+
+        if (magazine.count == magazineCapacity) {
+            int spill = Math.max(1, magazineCapacity / 2);
+            for (int i = 0; i < spill; i++) {
+                offerToDepot(sizeClass, magazine.pop());
+            }
+            cached.add(-spill);
+        }
+        magazine.push(buffer);
+        cached.increment();
     }
 
     /**
-     * Gets the current number of available buffers in the pool.
+     * Gets the current number of available buffers in the pool, across every size
+     * class and the magazines of live threads. Magazines of exited threads are drained
+     * into the depots first.
      *
      * @return number of buffers ready for reuse
      */
     public int availableBuffers() {
-        return pool.size();
+        reclaimExitedThreads();
+        long total = cached.sum();
+        for (SizeClass sizeClass : classes) {
+            total += sizeClass.depotCount.get();
+        }
+        return (int) total;
     }
 
     /**
@@ -84,4 +191,164 @@ public class ByteBufferPool {
     public int getBufferSize() {
         return bufferSize;
     }
+
+    /**
+     * Gets the number of size classes.
+     *
+     * @since 1.3
+     */
+    public int getSizeClassCount() {
+        return classes.length;
+    }
+
+    /**
+     * Gets the buffer length {@link #acquire(int)} hands out for a requested size.
+     *
+     * @since 1.3
+     */
+    public int sizeClassFor(int minSize) {
+        return minSize > bufferSize ? minSize : classes[classIndexFor(Math.max(minSize, 0))].size;
+    }
+
+    /**
+     * Takes a point-in-time view of pool usage.
+     *
+     * @since 1.3
+     */
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), overflows.sum(), availableBuffers());
+    }
+
+    private Magazine magazine(int index) {
+        if (magazineCapacity == 0 || Thread.currentThread().isVirtual()) {
+            return null;
+        }
+        Magazine[] perClass = magazines.get();
+        Magazine magazine = perClass[index];
+        if (magazine == null) {
+            magazine = new Magazine(magazineCapacity);
+            perClass[index] = magazine;
+        }
+        return magazine;
+    }
+
+    /**
+     * Moves the buffers cached by threads that have exited into the depots. A thread's
+     * termination happens-before {@link Thread#isAlive()} returns false, so its
+     * magazines can be read safely here.
+     */
+    private void reclaimExitedThreads() {
+        for (ThreadMagazines entry : registry) {
+            Thread owner = entry.owner.get();
+            if ((owner == null || !owner.isAlive()) && registry.remove(entry)) {
+                for (int i = 0; i < classes.length; i++) {
+                    Magazine magazine = entry.magazines[i];
+                    while (magazine != null && magazine.count > 0) {
+                        offerToDepot(classes[i], magazine.pop());
+                        cached.decrement();
+                    }
+                }
+            }
+        }
+    }
+
+    private void offerToDepot(SizeClass sizeClass, byte[] buffer) {
+        if (sizeClass.depotCount.incrementAndGet() <= maxPoolSize) {
+            sizeClass.depot.offer(buffer);
+        } else {
+            sizeClass.depotCount.decrementAndGet();
+            overflows.increment();
+        }
+    }
+
+    private int classIndexFor(int minSize) {
+        if (minSize <= MIN_CLASS_SIZE) {
+            return 0;
+        }
+        int index = 32 - Integer.numberOfLeadingZeros(minSize - 1) - Integer.numberOfTrailingZeros(MIN_CLASS_SIZE);
+        return Math.min(index, classes.length - 1);
+    }
+
+    private int classIndexOf(int length) {
+        if (length == bufferSize) {
+            return classes.length - 1;
+        }
+        if (length < MIN_CLASS_SIZE || length > bufferSize || Integer.bitCount(length) != 1) {
+            return -1;
+        }
+        return Integer.numberOfTrailingZeros(length) - Integer.numberOfTrailingZeros(MIN_CLASS_SIZE);
+    }
+
+    /**
+     * Pool usage counters.
+     *
+     * @param hits acquisitions served from a magazine or depot
+     * @param misses acquisitions that had to allocate
+     * @param overflows released buffers discarded because their depot was full
+     * @param available buffers currently held for reuse
+     * @since 1.3
+     */
+    public record Stats(long hits, long misses, long overflows, int available) {
+        /**
+         * Gets the fraction of acquisitions served without allocating.
+         */
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    private static final class SizeClass {
+        private final int size;
+        private final Queue<byte[]> depot = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger depotCount = new AtomicInteger();
+
+        SizeClass(int size) {
+            this.size = size;
+        }
+
+        byte[] poll() {
+            byte[] buffer = depot.poll();
+            if (buffer != null) {
+                depotCount.decrementAndGet();
+            }
+            return buffer;
+        }
+    }
+
+    /**
+     * A thread's magazines, registered so they can be drained once the thread exits.
+     */
+    private static final class ThreadMagazines {
+        private final WeakReference<Thread> owner;
+        private final Magazine[] magazines;
+
+        ThreadMagazines(Thread owner, Magazine[] magazines) {
+            this.owner = new WeakReference<>(owner);
+            this.magazines = magazines;
+        }
+    }
+
+    /**
+     * Per-thread stack of buffers of one size class. Only touched by its owning thread,
+     * or by the pool once that thread has exited.
+     */
+    private static final class Magazine {
+        private final byte[][] buffers;
+        private int count;
+
+        Magazine(int capacity) {
+            this.buffers = new byte[capacity][];
+        }
+
+        byte[] pop() {
+            byte[] buffer = buffers[--count];
+            buffers[count] = null;
+            return buffer;
+        }
+
+        void push(byte[] buffer) {
+            buffers[count++] = buffer;
+        }
+    }
 }
@@ -0,0 +1,76 @@
+package com.quietterminal.projectneon.core;
+
+/**
+ * Logical channel for game packets sent through a {@link ChannelManager}.
+ *
+ * <p>Each channel has its own sequence space per destination and its own delivery
+ * guarantee, so a lost packet on one channel never holds back another. A channel is
+ * carried on the wire as a single byte: the {@link Mode} in the top two bits and the
+ * channel ID in the low six.
+ *
+ * @param id Channel ID, from 0 to {@value #MAX_ID}
+ * @param mode Delivery guarantee of the channel
+ * @since 1.3
+ */
+public record Channel(int id, Mode mode) {
+    public static final int MAX_ID = 63;
+
+    /**
+     * Delivery guarantee of a channel.
+     */
+    public enum Mode {
+        /** Sent once; may be lost, duplicated or reordered. */
+        UNRELIABLE,
+        /** Sent once; packets older than the newest one received are dropped. */
+        UNRELIABLE_SEQUENCED,
+        /** Retransmitted until acknowledged; delivered once, in arrival order. */
+        RELIABLE_UNORDERED,
+        /** Retransmitted until acknowledged; delivered once, in send order. */
+        RELIABLE_ORDERED;
+
+        public boolean isReliable() {
+            return this == RELIABLE_UNORDERED || this == RELIABLE_ORDERED;
+        }
+    }
+
+    private static final Mode[] MODES = Mode.values();
+
+    public Channel {
+        if (id < 0 || id > MAX_ID) {
+            throw new IllegalArgumentException("Channel id must be between 0 and " + MAX_ID + ", got: " + id);
+        }
+        if (mode == null) {
+            throw new IllegalArgumentException("mode cannot be null");
+        }
+    }
+
+    public static Channel unreliable(int id) {
+        return new Channel(id, Mode.UNRELIABLE);
+    }
+
+    public static Channel sequenced(int id) {
+        return new Channel(id, Mode.UNRELIABLE_SEQUENCED);
+    }
+
+    public static Channel reliable(int id) {
+        return new Channel(id, Mode.RELIABLE_UNORDERED);
+    }
+
+    public static Channel ordered(int id) {
+        return new Channel(id, Mode.RELIABLE_ORDERED);
+    }
+
+    /**
+     * Encodes the channel as its wire byte.
+     */
+    public byte toByte() {
+        return (byte) (mode.ordinal() << 6 | id);
+    }
+
+    /**
+     * Decodes a channel from its wire byte.
+     */
+    public static Channel fromByte(byte value) {
+        return new Channel(value & MAX_ID, MODES[(value >> 6) & 0x03]);
+    }
+}
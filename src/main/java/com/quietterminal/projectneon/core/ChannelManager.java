@@ -0,0 +1,255 @@
+package com.quietterminal.projectneon.core;
+
+import com.quietterminal.projectneon.util.LoggerConfig;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sends and receives game packets on logical {@link Channel}s.
+ *
+ * <p>Every channel keeps a separate sequence space per destination, so position
+ * updates, inputs and chat can each use the guarantee they need without head-of-line
+ * blocking between them. Reliable channels are retransmitted by an internal
+ * {@link ReliablePacketManager}; feed it ACKs with {@link #handleAck(PacketPayload.SelectiveAck)}
+ * and call {@link #processRetransmissions()} regularly.
+ *
+ * <p>Wire format: a {@link PacketType#GAME_PACKET} whose payload starts with the
+ * channel byte. The header sequence is the channel sequence for unreliable modes and
+ * the reliable transport sequence for reliable modes. {@link Channel.Mode#RELIABLE_ORDERED}
+ * adds the channel sequence as two little-endian bytes after the channel byte.
+ *
+ * <p>Usage example:
+ * <pre>{@code
+ * ChannelManager channels = new ChannelManager(socket, relayAddr, clientId);
+ * Channel positions = Channel.sequenced(0);
+ * Channel chat = Channel.ordered(1);
+ *
+ * channels.send(positions, positionBytes, (byte) 0);
+ * channels.send(chat, messageBytes, (byte) 0);
+ *
+ * // For each received game packet
+ * channels.receive(packet, (senderId, channel, data) -> handle(channel, data));
+ * }</pre>
+ *
+ * @since 1.3
+ */
+public class ChannelManager {
+    private static final Logger logger;
+    private static final int ORDERED_PREFIX_SIZE = 3;
+
+    static {
+        logger = Logger.getLogger(ChannelManager.class.getName());
+        LoggerConfig.configureLogger(logger);
+    }
+
+    /**
+     * Receives channel data in the order the channel's mode guarantees.
+     */
+    @FunctionalInterface
+    public interface Receiver {
+        void deliver(byte senderId, Channel channel, byte[] data);
+    }
+
+    private final byte clientId;
+    private final NeonConfig config;
+    private final ReliablePacketManager reliable;
+
+    private final Map<Integer, AtomicInteger> outbound = new ConcurrentHashMap<>();
+    private final Map<Integer, SequencedStream> sequenced = new ConcurrentHashMap<>();
+    private final Map<Integer, ReorderBuffer<byte[]>> ordered = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new channel manager with default configuration.
+     *
+     * @param socket The socket to send packets through
+     * @param relayAddr The relay address
+     * @param clientId This client's ID
+     */
+    public ChannelManager(NeonSocket socket, SocketAddress relayAddr, byte clientId) {
+        this(socket, relayAddr, clientId, new NeonConfig());
+    }
+
+    /**
+     * Creates a new channel manager with custom configuration.
+     *
+     * @param socket The socket to send packets through
+     * @param relayAddr The relay address
+     * @param clientId This client's ID
+     * @param config The configuration to use
+     */
+    public ChannelManager(NeonSocket socket, SocketAddress relayAddr, byte clientId, NeonConfig config) {
+        this.reliable = new ReliablePacketManager(socket, relayAddr, clientId, config);
+        this.clientId = clientId;
+        this.config = config;
+    }
+
+    /**
+     * Sends data on a channel.
+     *
+     * @param channel The channel to send on
+     * @param data The game data
+     * @param destinationId The destination client ID
+     * @return The header sequence of the sent packet
+     * @throws IOException if sending fails
+     */
+    public short send(Channel channel, byte[] data, byte destinationId) throws IOException {
+        Channel.Mode mode = channel.mode();
+        int prefixSize = mode == Channel.Mode.RELIABLE_ORDERED ? ORDERED_PREFIX_SIZE : 1;
+        short channelSequence = mode == Channel.Mode.RELIABLE_UNORDERED ? 0 : nextSequence(channel, destinationId);
+
+        byte[] payload = new byte[prefixSize + data.length];
+        payload[0] = channel.toByte();
+        if (mode == Channel.Mode.RELIABLE_ORDERED) {
+            payload[1] = (byte) channelSequence;
+            payload[2] = (byte) (channelSequence >> 8);
+        }
+        System.arraycopy(data, 0, payload, prefixSize, data.length);
+
+        if (mode.isReliable()) {
+            return reliable.sendReliable(payload, destinationId);
+        }
+        reliable.sendUnreliable(NeonPacket.create(PacketType.GAME_PACKET, channelSequence, clientId, destinationId,
+            new PacketPayload.GamePacket(payload)));
+        return channelSequence;
+    }
+
+    /**
+     * Handles a received game packet that was sent through a channel manager, ACKing it
+     * if its channel is reliable. An ACK piggybacked on the packet is applied first.
+     *
+     * <p>Unreliable data is delivered at once. Sequenced data is delivered only if it is
+     * newer than anything received on its channel. Reliable data is delivered once;
+     * ordered data may be held back until earlier packets arrive, and is dropped without
+     * an ACK if it is more than {@link NeonConfig#getReliableReorderDepth()} packets ahead.
+     *
+     * @param packet The received game packet
+     * @param receiver Receives the data, zero or more times
+     * @throws IOException if sending an ACK fails
+     * @throws IllegalArgumentException if the payload is too short for its channel
+     */
+    public void receive(NeonPacket packet, Receiver receiver) throws IOException {
+        packet = reliable.unwrap(packet);
+        byte[] payload = packet.payload().toBytes();
+        if (payload.length == 0) {
+            throw new IllegalArgumentException("Channel packet too small");
+        }
+        PacketHeader header = packet.header();
+        Channel channel = Channel.fromByte(payload[0]);
+        byte senderId = header.clientId();
+        int key = (senderId & 0xFF) << 16 | streamKey(channel, header.destinationId());
+
+        switch (channel.mode()) {
+            case UNRELIABLE -> receiver.deliver(senderId, channel, Arrays.copyOfRange(payload, 1, payload.length));
+            case UNRELIABLE_SEQUENCED -> {
+                if (sequenced.computeIfAbsent(key, k -> new SequencedStream()).accept(header.sequence())) {
+                    receiver.deliver(senderId, channel, Arrays.copyOfRange(payload, 1, payload.length));
+                }
+            }
+            case RELIABLE_UNORDERED -> {
+                if (!reliable.handleReceivedReliable(senderId, header.sequence())) {
+                    receiver.deliver(senderId, channel, Arrays.copyOfRange(payload, 1, payload.length));
+                }
+            }
+            case RELIABLE_ORDERED -> {
+                if (payload.length < ORDERED_PREFIX_SIZE) {
+                    throw new IllegalArgumentException("Channel packet too small");
+                }
+                short channelSequence = (short) ((payload[1] & 0xFF) | (payload[2] << 8));
+                ReorderBuffer.Result result = ordered
+                    .computeIfAbsent(key, k -> new ReorderBuffer<>((short) 0, config.getReliableReorderDepth()))
+                    .offer(channelSequence, Arrays.copyOfRange(payload, ORDERED_PREFIX_SIZE, payload.length),
+                        data -> receiver.deliver(senderId, channel, data));
+                if (result == ReorderBuffer.Result.OVERFLOW) {
+                    logger.log(Level.FINE, "Channel {0} packet {1} from client {2} is beyond the reorder buffer",
+                        new Object[]{channel.id(), channelSequence, senderId});
+                } else {
+                    reliable.markReceived(senderId, header.sequence());
+                    reliable.sendAckFor(senderId, header.sequence());
+                }
+            }
+        }
+    }
+
+    /**
+     * Handles a selective ACK for packets sent on reliable channels.
+     *
+     * @param ack The received selective ACK
+     */
+    public void handleAck(PacketPayload.SelectiveAck ack) {
+        reliable.handleAck(ack);
+    }
+
+    /**
+     * Handles a selective ACK from a peer, resending reliable channel packets it shows
+     * to be lost.
+     *
+     * @param fromClientId The client ID the ACK came from
+     * @param ack The received selective ACK
+     * @throws IOException if a retransmission fails
+     * @see ReliablePacketManager#handleAck(byte, PacketPayload.SelectiveAck)
+     */
+    public void handleAck(byte fromClientId, PacketPayload.SelectiveAck ack) throws IOException {
+        reliable.handleAck(fromClientId, ack);
+    }
+
+    /**
+     * Resends the reliable channel packets a peer reports missing.
+     *
+     * @param fromClientId The client ID the NACK came from
+     * @param nack The received NACK
+     * @throws IOException if a retransmission fails
+     */
+    public void handleNack(byte fromClientId, PacketPayload.Nack nack) throws IOException {
+        reliable.handleNack(fromClientId, nack);
+    }
+
+    /**
+     * Retransmits reliable channel packets that haven't been acknowledged.
+     * Should be called regularly (e.g., in the game loop).
+     *
+     * @throws IOException if retransmission fails
+     */
+    public void processRetransmissions() throws IOException {
+        reliable.processRetransmissions();
+    }
+
+    /**
+     * Gets the reliable packet manager that carries reliable channels.
+     */
+    public ReliablePacketManager getReliablePacketManager() {
+        return reliable;
+    }
+
+    private short nextSequence(Channel channel, byte destinationId) {
+        return (short) outbound.computeIfAbsent(streamKey(channel, destinationId), k -> new AtomicInteger())
+            .getAndIncrement();
+    }
+
+    private static int streamKey(Channel channel, byte destinationId) {
+        return (destinationId & 0xFF) << 8 | (channel.toByte() & 0xFF);
+    }
+
+    /**
+     * Newest sequence received on a sequenced channel.
+     */
+    private static final class SequencedStream {
+        private short newest;
+        private boolean started;
+
+        synchronized boolean accept(short sequence) {
+            if (started && !SequenceWindow.isNewer(sequence, newest)) {
+                return false;
+            }
+            started = true;
+            newest = sequence;
+            return true;
+        }
+    }
+}
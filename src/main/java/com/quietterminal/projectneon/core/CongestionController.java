@@ -0,0 +1,69 @@
+package com.quietterminal.projectneon.core;
+
+/**
+ * Congestion window for one connection, driven by loss and round-trip time signals from
+ * the ACK path.
+ *
+ * <p>The window is the number of reliable packets allowed in flight. Implementations are
+ * thread-safe. Use {@link #create(NeonConfig)} to get the controller selected by
+ * {@link NeonConfig#getCongestionAlgorithm()}.
+ *
+ * @since 1.3
+ */
+public interface CongestionController {
+
+    /**
+     * Largest window any controller grows to, half the sequence space so in-flight
+     * sequences stay comparable with serial-number arithmetic.
+     */
+    int MAX_WINDOW = 1 << 14;
+
+    /**
+     * Available congestion control algorithms.
+     */
+    enum Algorithm {
+        /** No congestion control: packets are sent as soon as they are queued. */
+        NONE,
+        /** Additive increase, multiplicative decrease on loss, with slow start. */
+        AIMD,
+        /** Grows while queueing delay is under a target and backs off above it; halves on loss. */
+        DELAY
+    }
+
+    /**
+     * Gets the number of reliable packets allowed in flight.
+     */
+    int window();
+
+    /**
+     * Records an acknowledged packet.
+     *
+     * @param rttMs the packet's round-trip time, or -1 if it was retransmitted and the
+     *     sample is ambiguous
+     * @param nowMs the current time in milliseconds
+     */
+    void onAck(long rttMs, long nowMs);
+
+    /**
+     * Records a lost packet. Losses within {@code recoveryMs} of the last reduction are
+     * treated as the same congestion event and do not shrink the window again.
+     *
+     * @param nowMs the current time in milliseconds
+     * @param recoveryMs length of a congestion event, normally one smoothed RTT
+     */
+    void onLoss(long nowMs, long recoveryMs);
+
+    /**
+     * Creates the controller a configuration selects.
+     *
+     * @return a new controller, or null if the algorithm is {@link Algorithm#NONE}
+     */
+    static CongestionController create(NeonConfig config) {
+        return switch (config.getCongestionAlgorithm()) {
+            case NONE -> null;
+            case AIMD -> new AimdController(config.getCongestionInitialWindow(), config.getCongestionMinWindow());
+            case DELAY -> new DelayBasedController(config.getCongestionInitialWindow(), config.getCongestionMinWindow(),
+                config.getCongestionTargetDelayMs());
+        };
+    }
+}
@@ -0,0 +1,164 @@
+package com.quietterminal.projectneon.core;
+
+import java.nio.ByteBuffer;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcome of decoding a datagram without exceptions.
+ *
+ * <p>{@link NeonPacket#decode(byte[])} and {@link NeonPacket#decode(BufferLease)} check the
+ * length, magic number, version and packet type straight from the raw bytes before
+ * building any object, and report a rejected datagram as a {@link Rejected} result
+ * instead of throwing. Rejections are preallocated per {@link Reason}, so a flood of
+ * garbage costs a few byte reads per datagram and no allocation, stack trace or
+ * message formatting.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * switch (NeonPacket.decode(bytes)) {
+ *     case DecodeResult.Decoded(NeonPacket packet) -> handle(packet);
+ *     case DecodeResult.Rejected(DecodeResult.Reason reason) -> rejections.record(reason);
+ * }
+ * }</pre>
+ *
+ * @since 1.3
+ */
+public sealed interface DecodeResult permits DecodeResult.Decoded, DecodeResult.Rejected {
+
+    /**
+     * Why a datagram was rejected.
+     */
+    enum Reason {
+        /** Shorter than a packet header. */
+        TOO_SHORT,
+        /** Does not start with the Neon magic number. */
+        BAD_MAGIC,
+        /** Header version is zero or newer than {@link PacketHeader#VERSION}. */
+        UNSUPPORTED_VERSION,
+        /** Packet type is an unassigned core type. */
+        UNKNOWN_TYPE,
+        /** Header is valid but the payload could not be decoded. */
+        MALFORMED_PAYLOAD;
+
+        private final String metricName = "decode." + name().toLowerCase(Locale.ROOT);
+        private final Rejected result = new Rejected(this);
+
+        /**
+         * Gets the error type this reason is recorded under in {@link NeonMetrics}.
+         */
+        public String metricName() {
+            return metricName;
+        }
+
+        /**
+         * Gets the shared rejected result for this reason.
+         */
+        public Rejected result() {
+            return result;
+        }
+    }
+
+    /**
+     * A successfully decoded packet.
+     */
+    record Decoded(NeonPacket packet) implements DecodeResult {}
+
+    /**
+     * A rejected datagram. Instances are shared; obtain them from {@link Reason#result()}.
+     */
+    record Rejected(Reason reason) implements DecodeResult {}
+
+    /**
+     * Checks the header of an encoded packet in place.
+     *
+     * @param bytes the encoded packet
+     * @return the reason to reject it, or null if the header is acceptable
+     */
+    static Reason checkHeader(byte[] bytes) {
+        if (bytes.length < PacketHeader.HEADER_SIZE) {
+            return Reason.TOO_SHORT;
+        }
+        return checkHeader(PacketHeader.hasValidMagic(bytes), bytes[PacketHeader.VERSION_OFFSET],
+            bytes[PacketHeader.TYPE_OFFSET]);
+    }
+
+    /**
+     * Checks the header at the position of a buffer in place, without moving the position.
+     *
+     * @param data the encoded packet, positioned at its first byte
+     * @return the reason to reject it, or null if the header is acceptable
+     */
+    static Reason checkHeader(ByteBuffer data) {
+        if (data.remaining() < PacketHeader.HEADER_SIZE) {
+            return Reason.TOO_SHORT;
+        }
+        int start = data.position();
+        return checkHeader(PacketHeader.hasValidMagic(data), data.get(start + PacketHeader.VERSION_OFFSET),
+            data.get(start + PacketHeader.TYPE_OFFSET));
+    }
+
+    private static Reason checkHeader(boolean validMagic, byte version, byte packetType) {
+        if (!validMagic) {
+            return Reason.BAD_MAGIC;
+        }
+        if (version == 0 || (version & 0xFF) > PacketHeader.VERSION) {
+            return Reason.UNSUPPORTED_VERSION;
+        }
+        if (PayloadRegistry.dispatch(packetType) == null) {
+            return Reason.UNKNOWN_TYPE;
+        }
+        return null;
+    }
+
+    /**
+     * Thread-safe counts of rejected datagrams by reason.
+     */
+    final class Counters {
+        private final LongAdder[] counts = new LongAdder[Reason.values().length];
+
+        public Counters() {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Counts one rejection.
+         */
+        public void record(Reason reason) {
+            counts[reason.ordinal()].increment();
+        }
+
+        /**
+         * Gets the number of rejections for a reason.
+         */
+        public long count(Reason reason) {
+            return counts[reason.ordinal()].sum();
+        }
+
+        /**
+         * Gets the number of rejections for all reasons.
+         */
+        public long total() {
+            long total = 0;
+            for (LongAdder count : counts) {
+                total += count.sum();
+            }
+            return total;
+        }
+
+        /**
+         * Takes a point-in-time copy of the counts, including reasons with none.
+         */
+        public Map<Reason, Long> snapshot() {
+            Map<Reason, Long> snapshot = new EnumMap<>(Reason.class);
+            for (Reason reason : Reason.values()) {
+                snapshot.put(reason, count(reason));
+            }
+            return snapshot;
+        }
+    }
+}
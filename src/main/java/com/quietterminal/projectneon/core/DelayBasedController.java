@@ -0,0 +1,57 @@
+package com.quietterminal.projectneon.core;
+
+/**
+ * Delay-based congestion controller in the style of LEDBAT (RFC 6817).
+ *
+ * <p>The smallest RTT seen is taken as the path's base delay, and anything above it as
+ * queueing delay. Each ACK moves the window towards keeping the queueing delay at the
+ * target: by up to one packet per window of ACKs, up while below the target and down
+ * while above it. The window starts to shrink as queues build, before the relay or a
+ * router drops anything. A loss halves the window, as in {@link AimdController}.
+ */
+final class DelayBasedController implements CongestionController {
+    private static final double GAIN = 1.0;
+
+    private final int minWindow;
+    private final long targetDelayMs;
+    private double window;
+    private long baseRttMs = Long.MAX_VALUE;
+    private long recoveryEndMs;
+    private boolean recovering;
+
+    DelayBasedController(int initialWindow, int minWindow, long targetDelayMs) {
+        this.minWindow = minWindow;
+        this.targetDelayMs = targetDelayMs;
+        this.window = Math.max(initialWindow, minWindow);
+    }
+
+    @Override
+    public synchronized int window() {
+        return (int) window;
+    }
+
+    @Override
+    public synchronized void onAck(long rttMs, long nowMs) {
+        if (rttMs < 0) {
+            return;
+        }
+        baseRttMs = Math.min(baseRttMs, rttMs);
+        double offTarget = (double) (targetDelayMs - (rttMs - baseRttMs)) / targetDelayMs;
+        window += GAIN * Math.max(offTarget, -1.0) / window;
+        window = Math.max(minWindow, Math.min(window, MAX_WINDOW));
+    }
+
+    @Override
+    public synchronized void onLoss(long nowMs, long recoveryMs) {
+        if (recovering && nowMs - recoveryEndMs < 0) {
+            return;
+        }
+        window = Math.max(window / 2, minWindow);
+        recovering = true;
+        recoveryEndMs = nowMs + Math.max(recoveryMs, 1);
+    }
+
+    synchronized long baseRttMs() {
+        return baseRttMs;
+    }
+}
@@ -0,0 +1,199 @@
+package com.quietterminal.projectneon.core;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe pool of direct ByteBuffers for channel I/O.
+ * Direct buffers let DatagramChannel receive and send without an intermediate
+ * copy through a temporary native buffer, and pooling them avoids the cost of
+ * allocating off-heap memory per packet.
+ *
+ * <p>Buffers are carved as slices out of a few large direct arenas of about
+ * {@value #ARENA_BYTES} bytes, so the pool makes one native allocation per arena
+ * rather than per buffer and its memory stays out of the Java heap. A pool can be
+ * given a hard budget for the arena memory it may allocate. Once the budget is spent,
+ * {@link #acquire()} falls back to heap buffers, which still work with channels but
+ * go through the JDK's temporary direct buffer. With a budget set, every carved buffer
+ * is kept for reuse when released, since its memory stays committed anyway.
+ */
+public class DirectBufferPool implements BufferLease.Releaser {
+    /**
+     * Target size of each arena in bytes.
+     */
+    public static final int ARENA_BYTES = 1024 * 1024;
+
+    private final Queue<ByteBuffer> pool;
+    private final AtomicInteger pooledCount;
+    private final int bufferSize;
+    private final int maxPoolSize;
+    private final long budgetBytes;
+    private final int buffersPerArena;
+    private final LongAdder heapFallbacks = new LongAdder();
+    private ByteBuffer arena;
+    private long allocatedBytes;
+
+    /**
+     * Creates a direct buffer pool with specified parameters and no memory budget.
+     *
+     * @param bufferSize size of each buffer in bytes
+     * @param initialPoolSize number of buffers to pre-allocate
+     * @param maxPoolSize maximum number of buffers to retain in pool
+     */
+    public DirectBufferPool(int bufferSize, int initialPoolSize, int maxPoolSize) {
+        this(bufferSize, initialPoolSize, maxPoolSize, 0);
+    }
+
+    /**
+     * Creates a direct buffer pool with a budget for its off-heap memory.
+     *
+     * @param bufferSize size of each buffer in bytes
+     * @param initialPoolSize number of buffers to pre-allocate, as far as the budget allows
+     * @param maxPoolSize maximum number of buffers to retain in pool when there is no budget
+     * @param budgetBytes most arena memory the pool may allocate, or 0 for unlimited
+     * @since 1.3
+     */
+    public DirectBufferPool(int bufferSize, int initialPoolSize, int maxPoolSize, long budgetBytes) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize must be positive");
+        }
+        if (initialPoolSize < 0) {
+            throw new IllegalArgumentException("initialPoolSize must be non-negative");
+        }
+        if (maxPoolSize < initialPoolSize) {
+            throw new IllegalArgumentException("maxPoolSize must be >= initialPoolSize");
+        }
+        if (budgetBytes < 0) {
+            throw new IllegalArgumentException("budgetBytes must be non-negative");
+        }
+
+        this.bufferSize = bufferSize;
+        this.maxPoolSize = maxPoolSize;
+        this.budgetBytes = budgetBytes;
+        this.buffersPerArena = Math.max(1, ARENA_BYTES / bufferSize);
+        this.pool = new ConcurrentLinkedQueue<>();
+        this.pooledCount = new AtomicInteger();
+
+        for (int i = 0; i < initialPoolSize; i++) {
+            ByteBuffer buffer = carve();
+            if (buffer == null) {
+                break;
+            }
+            pool.offer(buffer);
+            pooledCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Acquires a cleared buffer from the pool. If the pool is empty, carves a new buffer
+     * from an arena, or allocates a heap buffer if the memory budget is spent.
+     *
+     * @return a buffer of the configured size, direct unless the budget is spent
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = pool.poll();
+        if (buffer == null) {
+            buffer = carve();
+            if (buffer == null) {
+                heapFallbacks.increment();
+                return ByteBuffer.allocate(bufferSize);
+            }
+            return buffer;
+        }
+        pooledCount.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer to the pool for reuse. Only direct buffers of the correct size are accepted.
+     *
+     * @param buffer the buffer to return
+     */
+    @Override
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || buffer.capacity() != bufferSize) {
+            return;
+        }
+
+        if (pooledCount.incrementAndGet() <= maxPoolSize || budgetBytes > 0) {
+            pool.offer(buffer);
+        } else {
+            pooledCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Slices the next buffer off the current arena, allocating a new arena if the budget
+     * allows.
+     *
+     * @return a new direct buffer, or null if the budget is spent
+     */
+    private synchronized ByteBuffer carve() {
+        if (arena == null || arena.remaining() < bufferSize) {
+            int buffers = buffersPerArena;
+            if (budgetBytes > 0) {
+                buffers = (int) Math.min(buffers, (budgetBytes - allocatedBytes) / bufferSize);
+                if (buffers <= 0) {
+                    return null;
+                }
+            }
+            arena = ByteBuffer.allocateDirect(buffers * bufferSize);
+            allocatedBytes += (long) buffers * bufferSize;
+        }
+
+        int start = arena.position();
+        arena.position(start + bufferSize);
+        return arena.slice(start, bufferSize);
+    }
+
+    /**
+     * Gets the current number of available buffers in the pool.
+     *
+     * @return number of buffers ready for reuse
+     */
+    public int availableBuffers() {
+        return pooledCount.get();
+    }
+
+    /**
+     * Gets the configured buffer size.
+     *
+     * @return buffer size in bytes
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Gets the off-heap memory allocated for arenas so far.
+     *
+     * @return allocated bytes
+     * @since 1.3
+     */
+    public synchronized long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Gets the memory budget.
+     *
+     * @return budget in bytes, or 0 if unlimited
+     * @since 1.3
+     */
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    /**
+     * Gets the number of heap buffers handed out because the budget was spent.
+     *
+     * @since 1.3
+     */
+    public long heapFallbacks() {
+        return heapFallbacks.sum();
+    }
+}
@@ -24,7 +24,8 @@ import java.util.logging.Logger;
  * <ul>
  *   <li>Near-zero CPU usage when idle</li>
  *   <li>Immediate response when packets arrive</li>
- *   <li>Configurable timeout for periodic tasks</li>
+ *   <li>Deadline-driven timer for periodic tasks, even under sustained load</li>
+ *   <li>Bounded receive batches so one busy socket cannot starve the timer</li>
  *   <li>Clean shutdown support</li>
  * </ul>
  *
@@ -37,6 +38,7 @@ import java.util.logging.Logger;
  * receiver.setTimeoutHandler(() -> {
  *     // Periodic tasks (cleanup, keepalive, etc.)
  * });
+ * receiver.setSelectTimeout(1000); // Run the timeout handler once per second
  * receiver.run(); // Blocking event loop
  * }</pre>
  */
@@ -50,30 +52,52 @@ public class EventDrivenReceiver implements AutoCloseable {
 
     private final DatagramChannel channel;
     private final Selector selector;
+    private final DirectBufferPool bufferPool;
     private final ByteBuffer receiveBuffer;
     private final NeonConfig config;
+    private final DecodeResult.Counters decodeRejections = new DecodeResult.Counters();
 
     private volatile boolean running = true;
     private BiConsumer<NeonPacket, SocketAddress> packetHandler;
+    private BiConsumer<ByteBuffer, SocketAddress> rawPacketHandler;
     private Runnable timeoutHandler;
     private int selectTimeoutMs;
+    private int maxBatchSize;
+    private long nextTimerDeadlineNs;
 
     /**
-     * Creates an event-driven receiver for the given channel.
+     * Creates an event-driven receiver for the given channel. Its receive buffer comes from
+     * the direct buffer pool of {@code config}, the same pool as a socket built from it.
      *
      * @param channel The datagram channel to receive from (must be non-blocking)
      * @param config The configuration to use
      * @throws IOException if selector creation fails
      */
     public EventDrivenReceiver(DatagramChannel channel, NeonConfig config) throws IOException {
+        this(channel, config, config.sharedDirectBufferPool());
+    }
+
+    /**
+     * Creates an event-driven receiver that takes its receive buffer from a shared pool,
+     * such as {@link NeonSocket#getDirectBufferPool()}, and returns it on close.
+     *
+     * @param channel The datagram channel to receive from (must be non-blocking)
+     * @param config The configuration to use
+     * @param bufferPool The pool to take the receive buffer from
+     * @throws IOException if selector creation fails
+     * @since 1.3
+     */
+    public EventDrivenReceiver(DatagramChannel channel, NeonConfig config, DirectBufferPool bufferPool) throws IOException {
         if (channel.isBlocking()) {
             throw new IllegalArgumentException("Channel must be in non-blocking mode");
         }
         this.channel = channel;
         this.config = config;
         this.selector = Selector.open();
-        this.receiveBuffer = ByteBuffer.allocate(config.getBufferSize());
-        this.selectTimeoutMs = 100;
+        this.bufferPool = bufferPool;
+        this.receiveBuffer = bufferPool.acquire();
+        this.selectTimeoutMs = config.getEventLoopSelectTimeoutMs();
+        this.maxBatchSize = config.getEventLoopMaxBatchSize();
 
         channel.register(selector, SelectionKey.OP_READ);
     }
@@ -88,7 +112,22 @@ public class EventDrivenReceiver implements AutoCloseable {
     }
 
     /**
-     * Sets the handler called on select timeout.
+     * Sets a handler for raw datagrams. When set, received datagrams are passed to it
+     * in the receiver's direct buffer, without being copied or decoded, and the parsed
+     * packet handler is not called. This lets callers such as the relay inspect the
+     * header in place and decode only when needed.
+     *
+     * <p>The buffer is reused for the next datagram, so the handler must not keep a
+     * reference to it after returning.
+     *
+     * @param handler BiConsumer receiving the datagram buffer and source address
+     */
+    public void setRawPacketHandler(BiConsumer<ByteBuffer, SocketAddress> handler) {
+        this.rawPacketHandler = handler;
+    }
+
+    /**
+     * Sets the handler called each time the timer deadline passes.
      * Use this for periodic tasks like cleanup or keepalive.
      *
      * @param handler Runnable to execute on timeout
@@ -99,7 +138,8 @@ public class EventDrivenReceiver implements AutoCloseable {
 
     /**
      * Sets the select timeout in milliseconds.
-     * The timeout handler is called each time select times out.
+     * The timeout handler is called once per timeout interval, whether or not
+     * packets arrived in the meantime.
      *
      * @param timeoutMs Timeout in milliseconds (0 for no timeout)
      */
@@ -107,6 +147,20 @@ public class EventDrivenReceiver implements AutoCloseable {
         this.selectTimeoutMs = timeoutMs;
     }
 
+    /**
+     * Sets the maximum number of datagrams drained per readiness event.
+     * Remaining datagrams are picked up on the next select, which keeps the
+     * timer deadline honoured while the socket is saturated.
+     *
+     * @param maxBatchSize Maximum datagrams per batch (must be positive)
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.maxBatchSize = maxBatchSize;
+    }
+
     /**
      * Runs the event loop. This method blocks until {@link #stop()} is called.
      *
@@ -114,30 +168,40 @@ public class EventDrivenReceiver implements AutoCloseable {
      */
     public void run() throws IOException {
         logger.log(Level.INFO, "Event-driven receiver started");
+        nextTimerDeadlineNs = System.nanoTime() + selectTimeoutMs * 1_000_000L;
 
         while (running) {
-            int readyCount = selector.select(selectTimeoutMs);
+            if (selectTimeoutMs > 0) {
+                long waitMs = (nextTimerDeadlineNs - System.nanoTime()) / 1_000_000L;
+                if (waitMs > 0) {
+                    selector.select(waitMs);
+                } else {
+                    selector.selectNow();
+                }
+            } else {
+                selector.select();
+            }
 
             if (!running) {
                 break;
             }
 
-            if (readyCount == 0) {
-                if (timeoutHandler != null) {
-                    timeoutHandler.run();
-                }
-                continue;
-            }
-
             Iterator<SelectionKey> keyIterator = selector.selectedKeys().iterator();
             while (keyIterator.hasNext()) {
                 SelectionKey key = keyIterator.next();
                 keyIterator.remove();
 
-                if (key.isReadable()) {
+                if (key.isValid() && key.isReadable()) {
                     processReadableKey();
                 }
             }
+
+            if (selectTimeoutMs > 0 && System.nanoTime() - nextTimerDeadlineNs >= 0) {
+                if (timeoutHandler != null) {
+                    timeoutHandler.run();
+                }
+                nextTimerDeadlineNs = System.nanoTime() + selectTimeoutMs * 1_000_000L;
+            }
         }
 
         logger.log(Level.INFO, "Event-driven receiver stopped");
@@ -145,7 +209,7 @@ public class EventDrivenReceiver implements AutoCloseable {
 
     private void processReadableKey() {
         try {
-            while (true) {
+            for (int i = 0; i < maxBatchSize; i++) {
                 receiveBuffer.clear();
                 SocketAddress source = channel.receive(receiveBuffer);
 
@@ -164,23 +228,35 @@ public class EventDrivenReceiver implements AutoCloseable {
                 }
 
                 if (length < PacketHeader.HEADER_SIZE) {
-                    logger.log(Level.WARNING,
-                        "Packet from {0} too small ({1} bytes)",
-                        new Object[]{source, length});
+                    reject(DecodeResult.Reason.TOO_SHORT, source);
+                    continue;
+                }
+
+                if (rawPacketHandler != null) {
+                    try {
+                        rawPacketHandler.accept(receiveBuffer, source);
+                    } catch (Exception e) {
+                        logger.log(Level.WARNING, "Failed to handle packet from {0}: {1}",
+                            new Object[]{source, e.getMessage()});
+                    }
                     continue;
                 }
 
                 byte[] data = new byte[length];
                 receiveBuffer.get(data);
 
-                try {
-                    NeonPacket packet = NeonPacket.fromBytes(data);
-                    if (packetHandler != null) {
-                        packetHandler.accept(packet, source);
+                switch (NeonPacket.decode(data)) {
+                    case DecodeResult.Decoded(NeonPacket packet) -> {
+                        if (packetHandler != null) {
+                            try {
+                                packetHandler.accept(packet, source);
+                            } catch (Exception e) {
+                                logger.log(Level.WARNING, "Failed to handle packet from {0}: {1}",
+                                    new Object[]{source, e.getMessage()});
+                            }
+                        }
                     }
-                } catch (Exception e) {
-                    logger.log(Level.WARNING, "Failed to parse packet from {0}: {1}",
-                        new Object[]{source, e.getMessage()});
+                    case DecodeResult.Rejected(DecodeResult.Reason reason) -> reject(reason, source);
                 }
             }
         } catch (IOException e) {
@@ -188,6 +264,24 @@ public class EventDrivenReceiver implements AutoCloseable {
         }
     }
 
+    private void reject(DecodeResult.Reason reason, SocketAddress source) {
+        decodeRejections.record(reason);
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Rejected packet from {0}: {1}", new Object[]{source, reason});
+        }
+    }
+
+    /**
+     * Gets the number of datagrams rejected before reaching a handler, by reason. With a
+     * raw packet handler only datagrams shorter than a header are counted; with a parsed
+     * handler every decode failure is.
+     *
+     * @since 1.3
+     */
+    public DecodeResult.Counters getDecodeRejections() {
+        return decodeRejections;
+    }
+
     /**
      * Stops the event loop. Safe to call from any thread.
      */
@@ -208,6 +302,9 @@ public class EventDrivenReceiver implements AutoCloseable {
     @Override
     public void close() throws IOException {
         stop();
-        selector.close();
+        if (selector.isOpen()) {
+            selector.close();
+            bufferPool.release(receiveBuffer);
+        }
     }
 }
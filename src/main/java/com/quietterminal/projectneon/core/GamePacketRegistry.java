@@ -4,6 +4,8 @@ import com.quietterminal.projectneon.PublicAPI;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Registry for game packet types with subtype, version, and validation support.
@@ -37,13 +39,22 @@ import java.util.concurrent.ConcurrentHashMap;
  * }
  * }</pre>
  *
+ * <p>Descriptors and versioned deserializers live in 256-slot tables indexed by the
+ * packet type byte, so lookups neither box the type nor probe a map. Registration
+ * also updates the {@link PayloadRegistry} dispatch table, and is refused once that
+ * registry has been {@linkplain PayloadRegistry#freeze() frozen}.
+ *
  * @since 1.1
  */
 @PublicAPI
 public final class GamePacketRegistry {
 
-    private static final Map<Byte, GamePacketDescriptor> descriptors = new ConcurrentHashMap<>();
-    private static final Map<Byte, Map<Integer, PayloadDeserializer<?>>> versionedDeserializers = new ConcurrentHashMap<>();
+    private static final int TABLE_SIZE = 256;
+
+    private static final AtomicReferenceArray<GamePacketDescriptor> descriptors = new AtomicReferenceArray<>(TABLE_SIZE);
+    private static final AtomicReferenceArray<Map<Integer, PayloadDeserializer<?>>> versionedDeserializers =
+        new AtomicReferenceArray<>(TABLE_SIZE);
+    private static final AtomicInteger registeredCount = new AtomicInteger();
 
     private GamePacketRegistry() {
         /* No instantiation */
@@ -55,9 +66,10 @@ public final class GamePacketRegistry {
      * @param descriptor the packet descriptor with metadata and validation rules
      * @param deserializer the deserializer for this packet type
      * @throws IllegalArgumentException if the packet type is a reserved core type
-     * @throws IllegalStateException if a descriptor is already registered for this type
+     * @throws IllegalStateException if a descriptor is already registered for this type,
+     *         or the registry is frozen
      */
-    public static void register(GamePacketDescriptor descriptor, PayloadDeserializer<?> deserializer) {
+    public static synchronized void register(GamePacketDescriptor descriptor, PayloadDeserializer<?> deserializer) {
         Objects.requireNonNull(descriptor, "descriptor cannot be null");
         Objects.requireNonNull(deserializer, "deserializer cannot be null");
 
@@ -67,8 +79,10 @@ public final class GamePacketRegistry {
                 "Cannot register game packet for core type 0x" + Integer.toHexString(packetType & 0xFF));
         }
 
-        if (descriptors.containsKey(packetType)) {
-            GamePacketDescriptor existing = descriptors.get(packetType);
+        ensureNotFrozen();
+        int index = packetType & 0xFF;
+        GamePacketDescriptor existing = descriptors.get(index);
+        if (existing != null) {
             if (existing.getVersion() == descriptor.getVersion()) {
                 throw new IllegalStateException(
                     "Descriptor already registered for packet type 0x" + Integer.toHexString(packetType & 0xFF) +
@@ -76,11 +90,12 @@ public final class GamePacketRegistry {
             }
         }
 
-        descriptors.put(packetType, descriptor);
-        versionedDeserializers
-            .computeIfAbsent(packetType, k -> new ConcurrentHashMap<>())
-            .put(descriptor.getVersion(), deserializer);
         PayloadRegistry.register(packetType, deserializer);
+        if (existing == null) {
+            registeredCount.incrementAndGet();
+        }
+        descriptors.set(index, descriptor);
+        versions(index).put(descriptor.getVersion(), deserializer);
     }
 
     /**
@@ -91,18 +106,18 @@ public final class GamePacketRegistry {
      * @param version the version of this deserializer
      * @param deserializer the deserializer for this version
      * @throws IllegalArgumentException if no descriptor is registered for this packet type
+     * @throws IllegalStateException if the registry is frozen
      */
-    public static void registerVersion(byte packetType, int version, PayloadDeserializer<?> deserializer) {
+    public static synchronized void registerVersion(byte packetType, int version, PayloadDeserializer<?> deserializer) {
         Objects.requireNonNull(deserializer, "deserializer cannot be null");
 
-        if (!descriptors.containsKey(packetType)) {
+        if (descriptors.get(packetType & 0xFF) == null) {
             throw new IllegalArgumentException(
                 "No descriptor registered for packet type 0x" + Integer.toHexString(packetType & 0xFF));
         }
+        ensureNotFrozen();
 
-        versionedDeserializers
-            .computeIfAbsent(packetType, k -> new ConcurrentHashMap<>())
-            .put(version, deserializer);
+        versions(packetType & 0xFF).put(version, deserializer);
     }
 
     /**
@@ -110,11 +125,17 @@ public final class GamePacketRegistry {
      *
      * @param packetType the packet type to unregister
      * @return true if the type was registered and removed
+     * @throws IllegalStateException if the registry is frozen
      */
-    public static boolean unregister(byte packetType) {
-        boolean removed = descriptors.remove(packetType) != null;
-        versionedDeserializers.remove(packetType);
+    public static synchronized boolean unregister(byte packetType) {
+        ensureNotFrozen();
+        int index = packetType & 0xFF;
         PayloadRegistry.unregister(packetType);
+        boolean removed = descriptors.getAndSet(index, null) != null;
+        versionedDeserializers.set(index, null);
+        if (removed) {
+            registeredCount.decrementAndGet();
+        }
         return removed;
     }
 
@@ -125,7 +146,7 @@ public final class GamePacketRegistry {
      * @return the descriptor, or empty if not registered
      */
     public static Optional<GamePacketDescriptor> getDescriptor(byte packetType) {
-        return Optional.ofNullable(descriptors.get(packetType));
+        return Optional.ofNullable(descriptors.get(packetType & 0xFF));
     }
 
     /**
@@ -136,7 +157,7 @@ public final class GamePacketRegistry {
      * @return the deserializer, or empty if not registered
      */
     public static Optional<PayloadDeserializer<?>> getDeserializer(byte packetType, int version) {
-        Map<Integer, PayloadDeserializer<?>> versions = versionedDeserializers.get(packetType);
+        Map<Integer, PayloadDeserializer<?>> versions = versionedDeserializers.get(packetType & 0xFF);
         if (versions == null) {
             return Optional.empty();
         }
@@ -150,7 +171,7 @@ public final class GamePacketRegistry {
      * @return set of registered versions, or empty set if type not registered
      */
     public static Set<Integer> getRegisteredVersions(byte packetType) {
-        Map<Integer, PayloadDeserializer<?>> versions = versionedDeserializers.get(packetType);
+        Map<Integer, PayloadDeserializer<?>> versions = versionedDeserializers.get(packetType & 0xFF);
         if (versions == null) {
             return Collections.emptySet();
         }
@@ -165,7 +186,7 @@ public final class GamePacketRegistry {
      * @return empty if valid, or an error message if validation failed
      */
     public static Optional<String> validatePayload(byte packetType, byte[] payload) {
-        GamePacketDescriptor descriptor = descriptors.get(packetType);
+        GamePacketDescriptor descriptor = descriptors.get(packetType & 0xFF);
         if (descriptor == null) {
             return Optional.of("No descriptor registered for packet type 0x" +
                 Integer.toHexString(packetType & 0xFF));
@@ -182,7 +203,7 @@ public final class GamePacketRegistry {
      * @return empty if valid, or an error message if validation failed
      */
     public static Optional<String> validatePayload(byte packetType, int subtype, byte[] payload) {
-        GamePacketDescriptor descriptor = descriptors.get(packetType);
+        GamePacketDescriptor descriptor = descriptors.get(packetType & 0xFF);
         if (descriptor == null) {
             return Optional.of("No descriptor registered for packet type 0x" +
                 Integer.toHexString(packetType & 0xFF));
@@ -202,7 +223,7 @@ public final class GamePacketRegistry {
      * @return true if registered
      */
     public static boolean isRegistered(byte packetType) {
-        return descriptors.containsKey(packetType);
+        return descriptors.get(packetType & 0xFF) != null;
     }
 
     /**
@@ -211,7 +232,13 @@ public final class GamePacketRegistry {
      * @return unmodifiable set of registered packet type bytes
      */
     public static Set<Byte> getRegisteredTypes() {
-        return Collections.unmodifiableSet(descriptors.keySet());
+        Set<Byte> types = new LinkedHashSet<>();
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            if (descriptors.get(i) != null) {
+                types.add((byte) i);
+            }
+        }
+        return Collections.unmodifiableSet(types);
     }
 
     /**
@@ -220,15 +247,25 @@ public final class GamePacketRegistry {
      * @return unmodifiable collection of all descriptors
      */
     public static Collection<GamePacketDescriptor> getAllDescriptors() {
-        return Collections.unmodifiableCollection(descriptors.values());
+        List<GamePacketDescriptor> all = new ArrayList<>();
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            GamePacketDescriptor descriptor = descriptors.get(i);
+            if (descriptor != null) {
+                all.add(descriptor);
+            }
+        }
+        return Collections.unmodifiableCollection(all);
     }
 
     /**
-     * Clears all registered game packet types.
+     * Clears all registered game packet types and lifts any freeze.
      */
-    public static void clearAll() {
-        descriptors.clear();
-        versionedDeserializers.clear();
+    public static synchronized void clearAll() {
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            descriptors.set(i, null);
+            versionedDeserializers.set(i, null);
+        }
+        registeredCount.set(0);
         PayloadRegistry.clearAll();
     }
 
@@ -238,6 +275,21 @@ public final class GamePacketRegistry {
      * @return count of registered types
      */
     public static int registeredCount() {
-        return descriptors.size();
+        return registeredCount.get();
+    }
+
+    private static Map<Integer, PayloadDeserializer<?>> versions(int index) {
+        Map<Integer, PayloadDeserializer<?>> versions = versionedDeserializers.get(index);
+        if (versions == null) {
+            versions = new ConcurrentHashMap<>();
+            versionedDeserializers.set(index, versions);
+        }
+        return versions;
+    }
+
+    private static void ensureNotFrozen() {
+        if (PayloadRegistry.isFrozen()) {
+            throw new IllegalStateException("Payload registry is frozen");
+        }
     }
 }
@@ -34,6 +34,8 @@ public class NeonConfig {
     private int bufferPoolMaxSize = 64;
     private int minBufferSize = 1024;
     private boolean enforceBufferSize = true;
+    private long directBufferBudgetBytes = 64L * 1024 * 1024;
+    private DirectBufferPool directBufferPool;
 
     private int relayPort = 7777;
     private int relayCleanupIntervalMs = 5000;
@@ -51,6 +53,7 @@ public class NeonConfig {
     private int floodThreshold = 3;
     private int floodWindowMs = 10000;
     private int throttlePenaltyDivisor = 2;
+    private int floodDenyDurationMs = 0;
     private int tokenRefillIntervalMs = 1000;
 
     private int hostAckTimeoutMs = 2000;
@@ -72,6 +75,17 @@ public class NeonConfig {
 
     private int reliablePacketTimeoutMs = 2000;
     private int reliablePacketMaxRetries = 5;
+    private int reliableMinTimeoutMs = 100;
+    private int reliableMaxTimeoutMs = 10000;
+    private int reliableReplayWindow = 256;
+    private int reliableReorderDepth = 64;
+    private int reliableFastRetransmitThreshold = 3;
+
+    private CongestionController.Algorithm congestionAlgorithm = CongestionController.Algorithm.NONE;
+    private int congestionInitialWindow = 10;
+    private int congestionMinWindow = 2;
+    private int congestionTargetDelayMs = 25;
+    private int congestionPacingBurst = 4;
 
     private int batchAckMaxSize = 10;
     private int batchAckMaxDelayMs = 50;
@@ -83,6 +97,14 @@ public class NeonConfig {
 
     private boolean useEventDrivenReceiver = false;
     private int eventLoopSelectTimeoutMs = 100;
+    private int eventLoopMaxBatchSize = 64;
+
+    private int relayShardCount = 1;
+    private int relayWorkerThreads = 0;
+    private int relayWorkerQueueCapacity = 1024;
+    private int relayParallelBroadcastThreshold = 0;
+    private int relaySessionMaxPacketsPerSecond = 0;
+    private int relayGlobalMaxPacketsPerSecond = 0;
 
     /**
      * Creates a NeonConfig with default values suitable for typical game networking.
@@ -109,6 +131,9 @@ public class NeonConfig {
         if (bufferPoolMaxSize < bufferPoolInitialSize) {
             throw new IllegalArgumentException("bufferPoolMaxSize must be >= bufferPoolInitialSize, got: " + bufferPoolMaxSize);
         }
+        if (directBufferBudgetBytes < 0) {
+            throw new IllegalArgumentException("directBufferBudgetBytes must be non-negative, got: " + directBufferBudgetBytes);
+        }
 
         if (relayPort < 1 || relayPort > 65535) {
             throw new IllegalArgumentException("relayPort must be between 1 and 65535, got: " + relayPort);
@@ -154,6 +179,9 @@ public class NeonConfig {
         if (throttlePenaltyDivisor <= 0) {
             throw new IllegalArgumentException("throttlePenaltyDivisor must be positive, got: " + throttlePenaltyDivisor);
         }
+        if (floodDenyDurationMs < 0) {
+            throw new IllegalArgumentException("floodDenyDurationMs must be non-negative, got: " + floodDenyDurationMs);
+        }
         if (tokenRefillIntervalMs <= 0) {
             throw new IllegalArgumentException("tokenRefillIntervalMs must be positive, got: " + tokenRefillIntervalMs);
         }
@@ -211,6 +239,38 @@ public class NeonConfig {
         if (reliablePacketMaxRetries < 0) {
             throw new IllegalArgumentException("reliablePacketMaxRetries must be non-negative, got: " + reliablePacketMaxRetries);
         }
+        if (reliableMinTimeoutMs <= 0) {
+            throw new IllegalArgumentException("reliableMinTimeoutMs must be positive, got: " + reliableMinTimeoutMs);
+        }
+        if (reliableMaxTimeoutMs < reliableMinTimeoutMs) {
+            throw new IllegalArgumentException("reliableMaxTimeoutMs must be >= reliableMinTimeoutMs, got: " + reliableMaxTimeoutMs);
+        }
+        if (reliableReplayWindow <= 0 || reliableReplayWindow > 32768) {
+            throw new IllegalArgumentException("reliableReplayWindow must be between 1 and 32768, got: " + reliableReplayWindow);
+        }
+        if (reliableReorderDepth <= 0 || reliableReorderDepth > 32768) {
+            throw new IllegalArgumentException("reliableReorderDepth must be between 1 and 32768, got: " + reliableReorderDepth);
+        }
+        if (reliableFastRetransmitThreshold < 0) {
+            throw new IllegalArgumentException("reliableFastRetransmitThreshold must be non-negative, got: " + reliableFastRetransmitThreshold);
+        }
+
+        if (congestionAlgorithm == null) {
+            throw new IllegalArgumentException("congestionAlgorithm cannot be null");
+        }
+        if (congestionMinWindow <= 0) {
+            throw new IllegalArgumentException("congestionMinWindow must be positive, got: " + congestionMinWindow);
+        }
+        if (congestionInitialWindow < congestionMinWindow || congestionInitialWindow > CongestionController.MAX_WINDOW) {
+            throw new IllegalArgumentException("congestionInitialWindow must be between congestionMinWindow and "
+                + CongestionController.MAX_WINDOW + ", got: " + congestionInitialWindow);
+        }
+        if (congestionTargetDelayMs <= 0) {
+            throw new IllegalArgumentException("congestionTargetDelayMs must be positive, got: " + congestionTargetDelayMs);
+        }
+        if (congestionPacingBurst <= 0) {
+            throw new IllegalArgumentException("congestionPacingBurst must be positive, got: " + congestionPacingBurst);
+        }
 
         if (batchAckMaxSize <= 0 || batchAckMaxSize > 100) {
             throw new IllegalArgumentException("batchAckMaxSize must be between 1 and 100, got: " + batchAckMaxSize);
@@ -235,6 +295,28 @@ public class NeonConfig {
         if (eventLoopSelectTimeoutMs < 0) {
             throw new IllegalArgumentException("eventLoopSelectTimeoutMs must be non-negative, got: " + eventLoopSelectTimeoutMs);
         }
+        if (eventLoopMaxBatchSize <= 0) {
+            throw new IllegalArgumentException("eventLoopMaxBatchSize must be positive, got: " + eventLoopMaxBatchSize);
+        }
+
+        if (relayShardCount <= 0) {
+            throw new IllegalArgumentException("relayShardCount must be positive, got: " + relayShardCount);
+        }
+        if (relayWorkerThreads < 0) {
+            throw new IllegalArgumentException("relayWorkerThreads must be non-negative, got: " + relayWorkerThreads);
+        }
+        if (relayWorkerQueueCapacity <= 0) {
+            throw new IllegalArgumentException("relayWorkerQueueCapacity must be positive, got: " + relayWorkerQueueCapacity);
+        }
+        if (relayParallelBroadcastThreshold < 0) {
+            throw new IllegalArgumentException("relayParallelBroadcastThreshold must be non-negative, got: " + relayParallelBroadcastThreshold);
+        }
+        if (relaySessionMaxPacketsPerSecond < 0) {
+            throw new IllegalArgumentException("relaySessionMaxPacketsPerSecond must be non-negative, got: " + relaySessionMaxPacketsPerSecond);
+        }
+        if (relayGlobalMaxPacketsPerSecond < 0) {
+            throw new IllegalArgumentException("relayGlobalMaxPacketsPerSecond must be non-negative, got: " + relayGlobalMaxPacketsPerSecond);
+        }
     }
 
     public int getBufferSize() {
@@ -282,6 +364,37 @@ public class NeonConfig {
         return this;
     }
 
+    /**
+     * Gets the most off-heap memory, in bytes, that the direct buffer pool of this
+     * configuration may allocate. The pool is shared by every socket, transport and
+     * event-driven receiver built from this configuration, such as all shards of a relay,
+     * so the budget bounds them together. Zero means unlimited.
+     */
+    public long getDirectBufferBudgetBytes() {
+        return directBufferBudgetBytes;
+    }
+
+    public NeonConfig setDirectBufferBudgetBytes(long directBufferBudgetBytes) {
+        this.directBufferBudgetBytes = directBufferBudgetBytes;
+        return this;
+    }
+
+    /**
+     * Gets the direct buffer pool shared by every component built from this configuration,
+     * creating it from the buffer settings on first use.
+     */
+    synchronized DirectBufferPool sharedDirectBufferPool() {
+        if (directBufferPool == null) {
+            directBufferPool = new DirectBufferPool(
+                bufferSize,
+                bufferPoolInitialSize,
+                bufferPoolMaxSize,
+                directBufferBudgetBytes
+            );
+        }
+        return directBufferPool;
+    }
+
     public int getRelayPort() {
         return relayPort;
     }
@@ -408,6 +521,15 @@ public class NeonConfig {
         return this;
     }
 
+    public int getFloodDenyDurationMs() {
+        return floodDenyDurationMs;
+    }
+
+    public NeonConfig setFloodDenyDurationMs(int floodDenyDurationMs) {
+        this.floodDenyDurationMs = floodDenyDurationMs;
+        return this;
+    }
+
     public int getTokenRefillIntervalMs() {
         return tokenRefillIntervalMs;
     }
@@ -570,6 +692,96 @@ public class NeonConfig {
         return this;
     }
 
+    public int getReliableMinTimeoutMs() {
+        return reliableMinTimeoutMs;
+    }
+
+    public NeonConfig setReliableMinTimeoutMs(int reliableMinTimeoutMs) {
+        this.reliableMinTimeoutMs = reliableMinTimeoutMs;
+        return this;
+    }
+
+    public int getReliableMaxTimeoutMs() {
+        return reliableMaxTimeoutMs;
+    }
+
+    public NeonConfig setReliableMaxTimeoutMs(int reliableMaxTimeoutMs) {
+        this.reliableMaxTimeoutMs = reliableMaxTimeoutMs;
+        return this;
+    }
+
+    public int getReliableReplayWindow() {
+        return reliableReplayWindow;
+    }
+
+    public NeonConfig setReliableReplayWindow(int reliableReplayWindow) {
+        this.reliableReplayWindow = reliableReplayWindow;
+        return this;
+    }
+
+    public int getReliableReorderDepth() {
+        return reliableReorderDepth;
+    }
+
+    public NeonConfig setReliableReorderDepth(int reliableReorderDepth) {
+        this.reliableReorderDepth = reliableReorderDepth;
+        return this;
+    }
+
+    public int getReliableFastRetransmitThreshold() {
+        return reliableFastRetransmitThreshold;
+    }
+
+    public NeonConfig setReliableFastRetransmitThreshold(int reliableFastRetransmitThreshold) {
+        this.reliableFastRetransmitThreshold = reliableFastRetransmitThreshold;
+        return this;
+    }
+
+    public CongestionController.Algorithm getCongestionAlgorithm() {
+        return congestionAlgorithm;
+    }
+
+    public NeonConfig setCongestionAlgorithm(CongestionController.Algorithm congestionAlgorithm) {
+        this.congestionAlgorithm = congestionAlgorithm;
+        return this;
+    }
+
+    public int getCongestionInitialWindow() {
+        return congestionInitialWindow;
+    }
+
+    public NeonConfig setCongestionInitialWindow(int congestionInitialWindow) {
+        this.congestionInitialWindow = congestionInitialWindow;
+        return this;
+    }
+
+    public int getCongestionMinWindow() {
+        return congestionMinWindow;
+    }
+
+    public NeonConfig setCongestionMinWindow(int congestionMinWindow) {
+        this.congestionMinWindow = congestionMinWindow;
+        return this;
+    }
+
+    public int getCongestionTargetDelayMs() {
+        return congestionTargetDelayMs;
+    }
+
+    public NeonConfig setCongestionTargetDelayMs(int congestionTargetDelayMs) {
+        this.congestionTargetDelayMs = congestionTargetDelayMs;
+        return this;
+    }
+
+    public int getCongestionPacingBurst() {
+        return congestionPacingBurst;
+    }
+
+    public NeonConfig setCongestionPacingBurst(int congestionPacingBurst) {
+        this.congestionPacingBurst = congestionPacingBurst;
+        return this;
+    }
+
     public int getBatchAckMaxSize() {
         return batchAckMaxSize;
     }
@@ -642,6 +854,69 @@ public class NeonConfig {
         return this;
     }
 
+    public int getEventLoopMaxBatchSize() {
+        return eventLoopMaxBatchSize;
+    }
+
+    public NeonConfig setEventLoopMaxBatchSize(int eventLoopMaxBatchSize) {
+        this.eventLoopMaxBatchSize = eventLoopMaxBatchSize;
+        return this;
+    }
+
+    public int getRelayShardCount() {
+        return relayShardCount;
+    }
+
+    public NeonConfig setRelayShardCount(int relayShardCount) {
+        this.relayShardCount = relayShardCount;
+        return this;
+    }
+
+    public int getRelayWorkerThreads() {
+        return relayWorkerThreads;
+    }
+
+    public NeonConfig setRelayWorkerThreads(int relayWorkerThreads) {
+        this.relayWorkerThreads = relayWorkerThreads;
+        return this;
+    }
+
+    public int getRelayWorkerQueueCapacity() {
+        return relayWorkerQueueCapacity;
+    }
+
+    public NeonConfig setRelayWorkerQueueCapacity(int relayWorkerQueueCapacity) {
+        this.relayWorkerQueueCapacity = relayWorkerQueueCapacity;
+        return this;
+    }
+
+    public int getRelayParallelBroadcastThreshold() {
+        return relayParallelBroadcastThreshold;
+    }
+
+    public NeonConfig setRelayParallelBroadcastThreshold(int relayParallelBroadcastThreshold) {
+        this.relayParallelBroadcastThreshold = relayParallelBroadcastThreshold;
+        return this;
+    }
+
+    public int getRelaySessionMaxPacketsPerSecond() {
+        return relaySessionMaxPacketsPerSecond;
+    }
+
+    public NeonConfig setRelaySessionMaxPacketsPerSecond(int relaySessionMaxPacketsPerSecond) {
+        this.relaySessionMaxPacketsPerSecond = relaySessionMaxPacketsPerSecond;
+        return this;
+    }
+
+    public int getRelayGlobalMaxPacketsPerSecond() {
+        return relayGlobalMaxPacketsPerSecond;
+    }
+
+    public NeonConfig setRelayGlobalMaxPacketsPerSecond(int relayGlobalMaxPacketsPerSecond) {
+        this.relayGlobalMaxPacketsPerSecond = relayGlobalMaxPacketsPerSecond;
+        return this;
+    }
+
     /**
      * Creates a new builder for constructing NeonConfig instances.
      *
@@ -689,6 +964,11 @@ public class NeonConfig {
             return this;
         }
 
+        public Builder directBufferBudgetBytes(long directBufferBudgetBytes) {
+            config.setDirectBufferBudgetBytes(directBufferBudgetBytes);
+            return this;
+        }
+
         public Builder relayPort(int relayPort) {
             config.setRelayPort(relayPort);
             return this;
@@ -759,6 +1039,11 @@ public class NeonConfig {
             return this;
         }
 
+        public Builder floodDenyDurationMs(int floodDenyDurationMs) {
+            config.setFloodDenyDurationMs(floodDenyDurationMs);
+            return this;
+        }
+
         public Builder tokenRefillIntervalMs(int tokenRefillIntervalMs) {
             config.setTokenRefillIntervalMs(tokenRefillIntervalMs);
             return this;
@@ -849,6 +1134,56 @@ public class NeonConfig {
             return this;
         }
 
+        public Builder reliableMinTimeoutMs(int reliableMinTimeoutMs) {
+            config.setReliableMinTimeoutMs(reliableMinTimeoutMs);
+            return this;
+        }
+
+        public Builder reliableMaxTimeoutMs(int reliableMaxTimeoutMs) {
+            config.setReliableMaxTimeoutMs(reliableMaxTimeoutMs);
+            return this;
+        }
+
+        public Builder reliableReplayWindow(int reliableReplayWindow) {
+            config.setReliableReplayWindow(reliableReplayWindow);
+            return this;
+        }
+
+        public Builder reliableReorderDepth(int reliableReorderDepth) {
+            config.setReliableReorderDepth(reliableReorderDepth);
+            return this;
+        }
+
+        public Builder reliableFastRetransmitThreshold(int reliableFastRetransmitThreshold) {
+            config.setReliableFastRetransmitThreshold(reliableFastRetransmitThreshold);
+            return this;
+        }
+
+        public Builder congestionAlgorithm(CongestionController.Algorithm congestionAlgorithm) {
+            config.setCongestionAlgorithm(congestionAlgorithm);
+            return this;
+        }
+
+        public Builder congestionInitialWindow(int congestionInitialWindow) {
+            config.setCongestionInitialWindow(congestionInitialWindow);
+            return this;
+        }
+
+        public Builder congestionMinWindow(int congestionMinWindow) {
+            config.setCongestionMinWindow(congestionMinWindow);
+            return this;
+        }
+
+        public Builder congestionTargetDelayMs(int congestionTargetDelayMs) {
+            config.setCongestionTargetDelayMs(congestionTargetDelayMs);
+            return this;
+        }
+
+        public Builder congestionPacingBurst(int congestionPacingBurst) {
+            config.setCongestionPacingBurst(congestionPacingBurst);
+            return this;
+        }
+
         public Builder batchAckMaxSize(int batchAckMaxSize) {
             config.setBatchAckMaxSize(batchAckMaxSize);
             return this;
@@ -889,6 +1224,41 @@ public class NeonConfig {
             return this;
         }
 
+        public Builder eventLoopMaxBatchSize(int eventLoopMaxBatchSize) {
+            config.setEventLoopMaxBatchSize(eventLoopMaxBatchSize);
+            return this;
+        }
+
+        public Builder relayShardCount(int relayShardCount) {
+            config.setRelayShardCount(relayShardCount);
+            return this;
+        }
+
+        public Builder relayWorkerThreads(int relayWorkerThreads) {
+            config.setRelayWorkerThreads(relayWorkerThreads);
+            return this;
+        }
+
+        public Builder relayWorkerQueueCapacity(int relayWorkerQueueCapacity) {
+            config.setRelayWorkerQueueCapacity(relayWorkerQueueCapacity);
+            return this;
+        }
+
+        public Builder relayParallelBroadcastThreshold(int relayParallelBroadcastThreshold) {
+            config.setRelayParallelBroadcastThreshold(relayParallelBroadcastThreshold);
+            return this;
+        }
+
+        public Builder relaySessionMaxPacketsPerSecond(int relaySessionMaxPacketsPerSecond) {
+            config.setRelaySessionMaxPacketsPerSecond(relaySessionMaxPacketsPerSecond);
+            return this;
+        }
+
+        public Builder relayGlobalMaxPacketsPerSecond(int relayGlobalMaxPacketsPerSecond) {
+            config.setRelayGlobalMaxPacketsPerSecond(relayGlobalMaxPacketsPerSecond);
+            return this;
+        }
+
         /**
          * Builds and validates the NeonConfig instance.
          *
@@ -347,6 +347,67 @@ public final class NeonMetrics {
             return errorCounts.values().stream().mapToLong(Long::longValue).sum();
         }
 
+        /**
+         * Combines snapshots from several metrics instances into one view, for
+         * components that keep separate metrics per thread or shard.
+         * Counters are summed, latency extremes and the average are merged by sample
+         * count, and activity times reflect the most recently active instance.
+         *
+         * @param snapshots the snapshots to combine
+         * @return a combined snapshot
+         */
+        public static Snapshot combine(java.util.List<Snapshot> snapshots) {
+            long sent = 0, received = 0, dropped = 0, retried = 0;
+            long bytesOut = 0, bytesIn = 0;
+            long accepted = 0, denied = 0, disconnects = 0, reconnects = 0;
+            long acks = 0, ackTimeouts = 0;
+            Map<String, Long> errors = new java.util.HashMap<>();
+            double minLatency = Double.MAX_VALUE;
+            double maxLatency = 0;
+            double weightedLatency = 0;
+            long samples = 0;
+            double uptime = 0;
+            double sinceActivity = Double.MAX_VALUE;
+
+            for (Snapshot s : snapshots) {
+                sent += s.packetsSent;
+                received += s.packetsReceived;
+                dropped += s.packetsDropped;
+                retried += s.packetsRetried;
+                bytesOut += s.bytesSent;
+                bytesIn += s.bytesReceived;
+                accepted += s.connectionsAccepted;
+                denied += s.connectionsDenied;
+                disconnects += s.disconnections;
+                reconnects += s.reconnections;
+                acks += s.acksReceived;
+                ackTimeouts += s.ackTimeouts;
+                s.errorCounts.forEach((type, count) -> errors.merge(type, count, Long::sum));
+                if (s.latencySamples > 0) {
+                    minLatency = Math.min(minLatency, s.minLatencyMs);
+                    maxLatency = Math.max(maxLatency, s.maxLatencyMs);
+                    weightedLatency += s.averageLatencyMs * s.latencySamples;
+                    samples += s.latencySamples;
+                }
+                uptime = Math.max(uptime, s.uptimeSeconds);
+                sinceActivity = Math.min(sinceActivity, s.secondsSinceLastActivity);
+            }
+
+            return new Snapshot(
+                sent, received, dropped, retried,
+                bytesOut, bytesIn,
+                accepted, denied, disconnects, reconnects,
+                acks, ackTimeouts,
+                Map.copyOf(errors),
+                samples > 0 ? minLatency : 0,
+                maxLatency,
+                samples > 0 ? weightedLatency / samples : 0,
+                samples,
+                uptime,
+                sinceActivity == Double.MAX_VALUE ? 0 : sinceActivity
+            );
+        }
+
         @Override
         public String toString() {
             return String.format(
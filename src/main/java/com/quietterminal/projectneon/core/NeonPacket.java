@@ -1,5 +1,6 @@
 package com.quietterminal.projectneon.core;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 /**
@@ -11,21 +12,37 @@ public record NeonPacket(PacketHeader header, PacketPayload payload) {
      * Serializes the entire packet to bytes.
      */
     public byte[] toBytes() {
-        byte[] headerBytes = header.toBytes();
-        byte[] payloadBytes = payload.toBytes();
-        byte[] packet = new byte[headerBytes.length + payloadBytes.length];
-        System.arraycopy(headerBytes, 0, packet, 0, headerBytes.length);
-        System.arraycopy(payloadBytes, 0, packet, headerBytes.length, payloadBytes.length);
+        byte[] packet = new byte[encodedSize()];
+        writeTo(ByteBuffer.wrap(packet));
         return packet;
     }
 
+    /**
+     * Gets the number of bytes {@link #writeTo(ByteBuffer)} will write.
+     */
+    public int encodedSize() {
+        return PacketHeader.HEADER_SIZE + payload.encodedSize();
+    }
+
+    /**
+     * Writes the header and payload at the buffer's position and advances the position,
+     * so a packet can be encoded straight into a send buffer.
+     *
+     * @throws java.nio.BufferOverflowException if fewer than {@link #encodedSize()} bytes remain
+     */
+    public void writeTo(ByteBuffer buffer) {
+        header.writeTo(buffer);
+        payload.writeTo(buffer);
+    }
+
     /**
      * Deserializes a packet from bytes.
      *
      * <p>For core packet types (0x01-0x0F), uses built-in deserializers.
      * For game packet types (>= 0x10), checks the {@link PayloadRegistry} for
      * custom deserializers. If no custom deserializer is registered, falls back
-     * to {@link PacketPayload.GamePacket} which preserves raw bytes.
+     * to {@link PacketPayload.GamePacket} which preserves raw bytes. Both come from the
+     * registry's dispatch table in a single lookup.
      */
     public static NeonPacket fromBytes(byte[] bytes) {
         if (bytes.length < PacketHeader.HEADER_SIZE) {
@@ -39,26 +56,131 @@ public record NeonPacket(PacketHeader header, PacketPayload payload) {
         return new NeonPacket(header, payload);
     }
 
-    private static PacketPayload deserializePayload(byte packetType, byte[] payloadBytes) {
-        var customDeserializer = PayloadRegistry.getDeserializer(packetType);
-        if (customDeserializer.isPresent()) {
-            return customDeserializer.get().fromBytes(payloadBytes);
+    /**
+     * Deserializes a packet in place from a received datagram, without copying game
+     * payloads out of the receive buffer.
+     *
+     * <p>The packet takes ownership of the lease. Game packets without a registered
+     * deserializer decode to a {@link PacketPayload.GamePacketSlice} over the leased
+     * buffer, and custom deserializers are handed a {@link PayloadSlice} through
+     * {@link PayloadDeserializer#fromSlice(PayloadSlice)}. Core packets are small and
+     * are still decoded from a copy. Call {@link #release()} once the packet has been
+     * handled; the buffer goes back to its pool when no payload holds on to it.
+     *
+     * @param lease The received datagram
+     * @return The decoded packet
+     * @throws IllegalArgumentException if the packet is malformed; the lease is released
+     * @since 1.3
+     */
+    public static NeonPacket fromLease(BufferLease lease) {
+        if (lease.length() < PacketHeader.HEADER_SIZE) {
+            lease.release();
+            throw new IllegalArgumentException("Packet too small");
+        }
+
+        PayloadSlice slice;
+        PacketHeader header;
+        try {
+            ByteBuffer buffer = lease.buffer();
+            int start = buffer.position();
+            short magic = (short) ((buffer.get(start + PacketHeader.MAGIC_LOW_OFFSET) & 0xFF)
+                | (buffer.get(start + PacketHeader.MAGIC_HIGH_OFFSET) << 8));
+            header = new PacketHeader(magic, buffer.get(start + PacketHeader.VERSION_OFFSET),
+                PacketHeader.peekPacketType(buffer), PacketHeader.peekSequence(buffer),
+                PacketHeader.peekClientId(buffer), PacketHeader.peekDestinationId(buffer));
+            slice = PayloadSlice.of(lease, PacketHeader.HEADER_SIZE, lease.length() - PacketHeader.HEADER_SIZE);
+        } catch (RuntimeException e) {
+            lease.release();
+            throw e;
+        }
+
+        try {
+            return new NeonPacket(header, deserializePayload(header.packetType(), slice));
+        } finally {
+            slice.release();
         }
+    }
 
-        PacketType type = PacketType.fromByte(packetType);
-        return switch (type) {
-            case CONNECT_REQUEST -> PacketPayload.ConnectRequest.fromBytes(payloadBytes);
-            case CONNECT_ACCEPT -> PacketPayload.ConnectAccept.fromBytes(payloadBytes);
-            case CONNECT_DENY -> PacketPayload.ConnectDeny.fromBytes(payloadBytes);
-            case SESSION_CONFIG -> PacketPayload.SessionConfig.fromBytes(payloadBytes);
-            case PACKET_TYPE_REGISTRY -> PacketPayload.PacketTypeRegistry.fromBytes(payloadBytes);
-            case PING -> PacketPayload.Ping.fromBytes(payloadBytes);
-            case PONG -> PacketPayload.Pong.fromBytes(payloadBytes);
-            case DISCONNECT_NOTICE -> PacketPayload.DisconnectNotice.fromBytes(payloadBytes);
-            case ACK -> PacketPayload.Ack.fromBytes(payloadBytes);
-            case RECONNECT_REQUEST -> PacketPayload.ReconnectRequest.fromBytes(payloadBytes);
-            case GAME_PACKET -> PacketPayload.GamePacket.fromBytes(payloadBytes);
-        };
+    /**
+     * Decodes a packet without throwing for malformed input.
+     *
+     * <p>The length, magic number, version and packet type are checked from the raw bytes
+     * before any object is built, so garbage is rejected with a shared
+     * {@link DecodeResult.Rejected} and no exception. Only a datagram with a valid header
+     * reaches payload decoding; if that fails the result is
+     * {@link DecodeResult.Reason#MALFORMED_PAYLOAD}.
+     *
+     * @param bytes The received datagram
+     * @return The decoded packet or the reason it was rejected
+     * @since 1.3
+     */
+    public static DecodeResult decode(byte[] bytes) {
+        DecodeResult.Reason reason = DecodeResult.checkHeader(bytes);
+        if (reason != null) {
+            return reason.result();
+        }
+        PacketHeader header = new PacketHeader(PacketHeader.MAGIC, bytes[PacketHeader.VERSION_OFFSET],
+            PacketHeader.peekPacketType(bytes), PacketHeader.peekSequence(bytes),
+            PacketHeader.peekClientId(bytes), PacketHeader.peekDestinationId(bytes));
+        try {
+            byte[] payloadBytes = Arrays.copyOfRange(bytes, PacketHeader.HEADER_SIZE, bytes.length);
+            return new DecodeResult.Decoded(new NeonPacket(header, deserializePayload(header.packetType(), payloadBytes)));
+        } catch (RuntimeException e) {
+            return DecodeResult.Reason.MALFORMED_PAYLOAD.result();
+        }
+    }
+
+    /**
+     * Decodes a packet in place like {@link #fromLease(BufferLease)}, without throwing for
+     * malformed input. The header is checked as in {@link #decode(byte[])}. A decoded
+     * packet takes ownership of the lease; a rejected datagram's lease is released.
+     *
+     * @param lease The received datagram
+     * @return The decoded packet or the reason it was rejected
+     * @since 1.3
+     */
+    public static DecodeResult decode(BufferLease lease) {
+        DecodeResult.Reason reason = DecodeResult.checkHeader(lease.buffer());
+        if (reason != null) {
+            lease.release();
+            return reason.result();
+        }
+        try {
+            return new DecodeResult.Decoded(fromLease(lease));
+        } catch (RuntimeException e) {
+            return DecodeResult.Reason.MALFORMED_PAYLOAD.result();
+        }
+    }
+
+    private static PacketPayload deserializePayload(byte packetType, PayloadSlice slice) {
+        PayloadDeserializer<?> custom = PayloadRegistry.customDeserializer(packetType);
+        if (custom != null) {
+            return custom.fromSlice(slice);
+        }
+        if (PacketType.isCoreType(packetType)) {
+            return deserializePayload(packetType, slice.toByteArray());
+        }
+        return new PacketPayload.GamePacketSlice(slice.retain());
+    }
+
+    /**
+     * Releases the receive buffer held by a payload decoded with
+     * {@link #fromLease(BufferLease)}. Has no effect on other packets.
+     *
+     * @since 1.3
+     */
+    public void release() {
+        if (payload instanceof PacketPayload.SliceBacked backed) {
+            backed.slice().release();
+        }
+    }
+
+    private static PacketPayload deserializePayload(byte packetType, byte[] payloadBytes) {
+        PayloadDeserializer<?> deserializer = PayloadRegistry.dispatch(packetType);
+        if (deserializer == null) {
+            throw new IllegalArgumentException("Unknown packet type: 0x" + Integer.toHexString(packetType & 0xFF));
+        }
+        return deserializer.fromBytes(payloadBytes);
     }
 
     /**
@@ -4,7 +4,7 @@ import com.quietterminal.projectneon.util.LoggerConfig;
 
 import java.io.IOException;
 import java.net.*;
-import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.nio.channels.DatagramChannel;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -24,6 +24,9 @@ public class NeonSocket implements AutoCloseable {
     private final DatagramChannel channel;
     private final DatagramSocket socket;
     private final ByteBufferPool bufferPool;
+    private final DirectBufferPool directBufferPool;
+    private final BufferLease.Releaser heapReleaser;
+    private final DecodeResult.Counters decodeRejections = new DecodeResult.Counters();
 
     private final NeonConfig config;
 
@@ -52,21 +55,54 @@ public class NeonSocket implements AutoCloseable {
      * Creates a new UDP socket bound to the specified port with custom configuration.
      */
     public NeonSocket(int port, NeonConfig config) throws IOException {
+        this(port, config, false);
+    }
+
+    /**
+     * Creates a new UDP socket bound to the specified port with custom configuration,
+     * optionally enabling SO_REUSEPORT so several sockets can share the port and have
+     * the kernel spread incoming datagrams across them.
+     *
+     * @throws UnsupportedOperationException if reusePort is requested but not supported
+     *         on this platform (see {@link #isReusePortSupported()})
+     */
+    public NeonSocket(int port, NeonConfig config, boolean reusePort) throws IOException {
         if (config == null) {
             throw new IllegalArgumentException("config cannot be null");
         }
         this.config = config;
         this.channel = DatagramChannel.open();
         this.socket = channel.socket();
+        if (reusePort) {
+            try {
+                channel.setOption(StandardSocketOptions.SO_REUSEPORT, true);
+            } catch (UnsupportedOperationException e) {
+                channel.close();
+                throw e;
+            }
+        }
         this.socket.bind(new InetSocketAddress(port));
         this.bufferPool = new ByteBufferPool(
             config.getBufferSize(),
             config.getBufferPoolInitialSize(),
             config.getBufferPoolMaxSize()
         );
+        this.directBufferPool = config.sharedDirectBufferPool();
+        this.heapReleaser = buffer -> bufferPool.release(buffer.array());
         setBlocking(false);
     }
 
+    /**
+     * Checks whether SO_REUSEPORT is available for datagram sockets on this platform.
+     */
+    public static boolean isReusePortSupported() {
+        try (DatagramChannel probe = DatagramChannel.open()) {
+            return probe.supportedOptions().contains(StandardSocketOptions.SO_REUSEPORT);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
     /**
      * Sets the socket to blocking or non-blocking mode.
      */
@@ -81,6 +117,24 @@ public class NeonSocket implements AutoCloseable {
         return channel.isBlocking();
     }
 
+    /**
+     * Gets the underlying datagram channel, for registration with selector-based
+     * event loops such as {@link EventDrivenReceiver}.
+     */
+    public DatagramChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Gets the pool of direct buffers this socket receives and sends through. It is the
+     * pool of the socket's configuration, shared with every other component built from it.
+     *
+     * @since 1.3
+     */
+    public DirectBufferPool getDirectBufferPool() {
+        return directBufferPool;
+    }
+
     /**
      * Gets the local address this socket is bound to.
      */
@@ -90,18 +144,46 @@ public class NeonSocket implements AutoCloseable {
 
     /**
      * Sends a packet to the specified address.
+     * Sends through the channel so it works in both blocking and non-blocking mode;
+     * in non-blocking mode a datagram that does not fit the send buffer is dropped.
      */
     public void sendTo(byte[] data, SocketAddress address) throws IOException {
-        DatagramPacket packet = new DatagramPacket(data, data.length, address);
-        socket.send(packet);
+        channel.send(ByteBuffer.wrap(data), address);
+    }
+
+    /**
+     * Sends the remaining bytes of a buffer to the specified address.
+     * The buffer's position is left unchanged, so the same buffer can be sent
+     * to several destinations in turn.
+     */
+    public void send(ByteBuffer data, SocketAddress address) throws IOException {
+        int position = data.position();
+        try {
+            channel.send(data, address);
+        } finally {
+            data.position(position);
+        }
     }
 
     /**
      * Sends a Neon packet to the specified address.
+     * The packet is encoded straight into a pooled direct buffer; packets larger than
+     * a pooled buffer fall back to a heap array.
      */
     public void sendPacket(NeonPacket packet, SocketAddress address) throws IOException {
-        byte[] data = packet.toBytes();
-        sendTo(data, address);
+        if (packet.encodedSize() > directBufferPool.getBufferSize()) {
+            sendTo(packet.toBytes(), address);
+            return;
+        }
+
+        ByteBuffer buffer = directBufferPool.acquire();
+        try {
+            packet.writeTo(buffer);
+            buffer.flip();
+            channel.send(buffer, address);
+        } finally {
+            directBufferPool.release(buffer);
+        }
     }
 
     /**
@@ -111,8 +193,17 @@ public class NeonSocket implements AutoCloseable {
      *
      * When buffer enforcement is enabled, packets that fill the entire buffer
      * are logged as potential truncation and rejected if enforcement is strict.
+     *
+     * In non-blocking mode the datagram is read straight into a pooled direct buffer
+     * and copied out once, skipping the JDK's temporary native buffer.
      */
     public ReceivedPacket receive() throws IOException {
+        if (!channel.isBlocking()) {
+            try (BufferLease lease = receiveLease()) {
+                return lease == null ? null : new ReceivedPacket(lease.toByteArray(), lease.source());
+            }
+        }
+
         byte[] receiveBuffer = bufferPool.acquire();
         DatagramPacket datagram = new DatagramPacket(receiveBuffer, receiveBuffer.length);
 
@@ -120,18 +211,7 @@ public class NeonSocket implements AutoCloseable {
             socket.receive(datagram);
             int receivedLength = datagram.getLength();
 
-            if (config.isEnforceBufferSize() && receivedLength == receiveBuffer.length) {
-                logger.log(Level.WARNING,
-                    "Packet from {0} filled entire buffer ({1} bytes) - possible truncation, dropping packet",
-                    new Object[]{datagram.getSocketAddress(), receivedLength});
-                bufferPool.release(receiveBuffer);
-                return null;
-            }
-
-            if (receivedLength < config.getMinBufferSize() && receivedLength < PacketHeader.HEADER_SIZE) {
-                logger.log(Level.WARNING,
-                    "Packet from {0} too small ({1} bytes, minimum header is {2} bytes)",
-                    new Object[]{datagram.getSocketAddress(), receivedLength, PacketHeader.HEADER_SIZE});
+            if (!isAcceptableLength(receivedLength, receiveBuffer.length, datagram.getSocketAddress())) {
                 bufferPool.release(receiveBuffer);
                 return null;
             }
@@ -152,29 +232,133 @@ public class NeonSocket implements AutoCloseable {
         }
     }
 
+    /**
+     * Receives a packet into a pooled buffer without copying it.
+     * Returns null if no packet is available (non-blocking mode) or the packet is rejected.
+     * Throws SocketTimeoutException in blocking mode with timeout.
+     *
+     * <p>In non-blocking mode the datagram is read straight from the channel into a
+     * pooled direct buffer. In blocking mode it is read into a pooled heap array so
+     * that the socket timeout still applies. Either way the caller must close the
+     * returned lease to recycle the buffer.
+     */
+    public BufferLease receiveLease() throws IOException {
+        if (channel.isBlocking()) {
+            return receiveLeaseBlocking();
+        }
+
+        ByteBuffer buffer = directBufferPool.acquire();
+        SocketAddress source;
+        try {
+            source = channel.receive(buffer);
+        } catch (IOException e) {
+            directBufferPool.release(buffer);
+            return null;
+        }
+
+        if (source == null || !isAcceptableLength(buffer.position(), buffer.capacity(), source)) {
+            directBufferPool.release(buffer);
+            return null;
+        }
+
+        buffer.flip();
+        return new BufferLease(buffer, source, directBufferPool);
+    }
+
+    private BufferLease receiveLeaseBlocking() throws IOException {
+        byte[] receiveBuffer = bufferPool.acquire();
+        DatagramPacket datagram = new DatagramPacket(receiveBuffer, receiveBuffer.length);
+
+        try {
+            socket.receive(datagram);
+        } catch (IOException e) {
+            bufferPool.release(receiveBuffer);
+            throw e;
+        }
+
+        int receivedLength = datagram.getLength();
+        if (!isAcceptableLength(receivedLength, receiveBuffer.length, datagram.getSocketAddress())) {
+            bufferPool.release(receiveBuffer);
+            return null;
+        }
+
+        return new BufferLease(
+            ByteBuffer.wrap(receiveBuffer, 0, receivedLength),
+            datagram.getSocketAddress(),
+            heapReleaser
+        );
+    }
+
+    private boolean isAcceptableLength(int receivedLength, int bufferLength, SocketAddress source) {
+        if (config.isEnforceBufferSize() && receivedLength == bufferLength) {
+            logger.log(Level.WARNING,
+                "Packet from {0} filled entire buffer ({1} bytes) - possible truncation, dropping packet",
+                new Object[]{source, receivedLength});
+            return false;
+        }
+
+        if (receivedLength < config.getMinBufferSize() && receivedLength < PacketHeader.HEADER_SIZE) {
+            decodeRejections.record(DecodeResult.Reason.TOO_SHORT);
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Rejected packet from {0}: {1}", new Object[]{source, DecodeResult.Reason.TOO_SHORT});
+            }
+            return false;
+        }
+
+        return true;
+    }
+
     /**
      * Receives and parses a Neon packet.
-     * Returns null if no packet is available or if parsing fails.
+     * Returns null if no packet is available or if parsing fails. Rejected datagrams
+     * are counted in {@link #getDecodeRejections()}.
      */
     public ReceivedNeonPacket receivePacket() throws IOException {
         ReceivedPacket received = receive();
         if (received == null) {
             return null;
         }
+        return accept(NeonPacket.decode(received.data()), received.source());
+    }
 
-        try {
-            NeonPacket packet = NeonPacket.fromBytes(received.data());
-            return new ReceivedNeonPacket(packet, received.source());
-        } catch (BufferUnderflowException e) {
-            logger.log(Level.WARNING, "Buffer underflow parsing packet from {0}: packet too short or malformed", received.source());
-            return null;
-        } catch (IllegalArgumentException e) {
-            logger.log(Level.WARNING, "Invalid packet from {0}: {1}", new Object[]{received.source(), e.getMessage()});
-            return null;
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Unexpected error parsing packet from " + received.source(), e);
+    /**
+     * Receives and parses a Neon packet without copying game payloads out of the
+     * pooled receive buffer. The caller must call {@link NeonPacket#release()} once it
+     * is done with the packet.
+     * Returns null if no packet is available or if parsing fails.
+     *
+     * @see NeonPacket#decode(BufferLease)
+     * @since 1.3
+     */
+    public ReceivedNeonPacket receivePacketInPlace() throws IOException {
+        BufferLease lease = receiveLease();
+        if (lease == null) {
             return null;
         }
+        SocketAddress source = lease.source();
+        return accept(NeonPacket.decode(lease), source);
+    }
+
+    private ReceivedNeonPacket accept(DecodeResult result, SocketAddress source) {
+        return switch (result) {
+            case DecodeResult.Decoded(NeonPacket packet) -> new ReceivedNeonPacket(packet, source);
+            case DecodeResult.Rejected(DecodeResult.Reason reason) -> {
+                decodeRejections.record(reason);
+                logger.log(Level.FINE, "Rejected packet from {0}: {1}", new Object[]{source, reason});
+                yield null;
+            }
+        };
+    }
+
+    /**
+     * Gets the number of received datagrams rejected by {@link #receivePacket()} and
+     * {@link #receivePacketInPlace()}, by reason. Datagrams shorter than a header are
+     * counted by every receive method.
+     *
+     * @since 1.3
+     */
+    public DecodeResult.Counters getDecodeRejections() {
+        return decodeRejections;
     }
 
     /**
@@ -0,0 +1,81 @@
+package com.quietterminal.projectneon.core;
+
+/**
+ * Spreads sends evenly over time instead of releasing a whole congestion window at once.
+ *
+ * <p>Like the relay's token bucket, the pacer is a generic cell rate algorithm: it keeps the
+ * theoretical time of the next send, which advances by one interval per packet, and lets
+ * a packet go while that time is no more than {@code burst - 1} intervals ahead of now.
+ * The rate can be changed at any time. A pacer with no rate set lets everything through.
+ * Methods are thread-safe.
+ *
+ * @since 1.3
+ */
+public final class Pacer {
+    private static final double PACING_GAIN = 1.25;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final int burst;
+    private long intervalNanos;
+    private long nextSendNanos;
+
+    /**
+     * Creates an unpaced pacer.
+     *
+     * @param burst number of packets that may be sent back to back
+     * @param nowNanos the current {@link System#nanoTime()}
+     */
+    public Pacer(int burst, long nowNanos) {
+        if (burst <= 0) {
+            throw new IllegalArgumentException("burst must be positive");
+        }
+        this.burst = burst;
+        this.nextSendNanos = nowNanos;
+    }
+
+    /**
+     * Sets the rate in packets per second; zero or less turns pacing off.
+     */
+    public synchronized void setRate(double packetsPerSecond) {
+        intervalNanos = packetsPerSecond > 0 ? (long) (NANOS_PER_SECOND / packetsPerSecond) : 0;
+    }
+
+    /**
+     * Paces a congestion window over one round trip, a quarter faster than the window
+     * alone allows so the window stays the binding limit. With no RTT sample yet
+     * ({@code rttMs < 0}) pacing is turned off.
+     */
+    public void setRate(int window, long rttMs) {
+        setRate(rttMs < 0 ? 0 : PACING_GAIN * window * 1000 / Math.max(rttMs, 1));
+    }
+
+    /**
+     * Gets the current rate in packets per second, or 0 if unpaced.
+     */
+    public synchronized double rate() {
+        return intervalNanos == 0 ? 0 : (double) NANOS_PER_SECOND / intervalNanos;
+    }
+
+    /**
+     * Gets how long to wait before the next packet may be sent, in nanoseconds.
+     */
+    public synchronized long delayNanos(long nowNanos) {
+        if (intervalNanos == 0) {
+            return 0;
+        }
+        return Math.max(nextSendNanos - nowNanos - (burst - 1) * intervalNanos, 0);
+    }
+
+    /**
+     * Takes a send slot if one is available.
+     *
+     * @return true if the packet may be sent now
+     */
+    public synchronized boolean tryAcquire(long nowNanos) {
+        if (delayNanos(nowNanos) > 0) {
+            return false;
+        }
+        nextSendNanos = (nextSendNanos - nowNanos < 0 ? nowNanos : nextSendNanos) + intervalNanos;
+        return true;
+    }
+}
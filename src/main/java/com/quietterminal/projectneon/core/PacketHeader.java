@@ -26,6 +26,14 @@ public record PacketHeader(
     public static final byte VERSION = 1;
     public static final int HEADER_SIZE = 8;
 
+    static final int MAGIC_LOW_OFFSET = 0;
+    static final int MAGIC_HIGH_OFFSET = 1;
+    static final int VERSION_OFFSET = 2;
+    static final int TYPE_OFFSET = 3;
+    static final int SEQUENCE_OFFSET = 4;
+    static final int CLIENT_ID_OFFSET = 6;
+    static final int DESTINATION_ID_OFFSET = 7;
+
     public PacketHeader {
         if (magic != MAGIC) {
             throw new IllegalArgumentException(
@@ -46,15 +54,39 @@ public record PacketHeader(
      * Serializes the header to bytes (little-endian).
      */
     public byte[] toBytes() {
-        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+        byte[] bytes = new byte[HEADER_SIZE];
+        writeTo(ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    /**
+     * Writes the header at the buffer's position (little-endian) and advances the
+     * position by {@link #HEADER_SIZE}. The buffer's byte order is left unchanged.
+     */
+    public void writeTo(ByteBuffer buffer) {
+        write(buffer, version, packetType, sequence, clientId, destinationId);
+    }
+
+    /**
+     * Writes a header with the default magic and version at the buffer's position
+     * (little-endian) and advances the position by {@link #HEADER_SIZE}, without
+     * creating a header object. The buffer's byte order is left unchanged.
+     */
+    public static void write(ByteBuffer buffer, byte packetType, short sequence, byte clientId, byte destinationId) {
+        write(buffer, VERSION, packetType, sequence, clientId, destinationId);
+    }
+
+    private static void write(ByteBuffer buffer, byte version, byte packetType, short sequence,
+                              byte clientId, byte destinationId) {
+        ByteOrder order = buffer.order();
         buffer.order(ByteOrder.LITTLE_ENDIAN);
-        buffer.putShort(magic);
+        buffer.putShort(MAGIC);
         buffer.put(version);
         buffer.put(packetType);
         buffer.putShort(sequence);
         buffer.put(clientId);
         buffer.put(destinationId);
-        return buffer.array();
+        buffer.order(order);
     }
 
     /**
@@ -76,6 +108,93 @@ public record PacketHeader(
         );
     }
 
+    /**
+     * Checks the magic number of encoded packet bytes in place, without decoding the header.
+     * Returns false if the bytes are too short to hold a header.
+     */
+    public static boolean hasValidMagic(byte[] bytes) {
+        return bytes.length >= HEADER_SIZE
+            && bytes[MAGIC_LOW_OFFSET] == (byte) MAGIC
+            && bytes[MAGIC_HIGH_OFFSET] == (byte) (MAGIC >> 8);
+    }
+
+    /**
+     * Reads the packet type from encoded packet bytes in place.
+     * The caller must ensure the bytes hold at least {@link #HEADER_SIZE} bytes.
+     */
+    public static byte peekPacketType(byte[] bytes) {
+        return bytes[TYPE_OFFSET];
+    }
+
+    /**
+     * Reads the sequence number from encoded packet bytes in place (little-endian).
+     * The caller must ensure the bytes hold at least {@link #HEADER_SIZE} bytes.
+     */
+    public static short peekSequence(byte[] bytes) {
+        return (short) ((bytes[SEQUENCE_OFFSET] & 0xFF) | (bytes[SEQUENCE_OFFSET + 1] << 8));
+    }
+
+    /**
+     * Reads the sender client ID from encoded packet bytes in place.
+     * The caller must ensure the bytes hold at least {@link #HEADER_SIZE} bytes.
+     */
+    public static byte peekClientId(byte[] bytes) {
+        return bytes[CLIENT_ID_OFFSET];
+    }
+
+    /**
+     * Reads the destination ID from encoded packet bytes in place.
+     * The caller must ensure the bytes hold at least {@link #HEADER_SIZE} bytes.
+     */
+    public static byte peekDestinationId(byte[] bytes) {
+        return bytes[DESTINATION_ID_OFFSET];
+    }
+
+    /**
+     * Checks the magic number of an encoded packet in a buffer, relative to the
+     * buffer's position, without changing the position.
+     * Returns false if fewer than {@link #HEADER_SIZE} bytes remain.
+     */
+    public static boolean hasValidMagic(ByteBuffer buffer) {
+        int base = buffer.position();
+        return buffer.remaining() >= HEADER_SIZE
+            && buffer.get(base + MAGIC_LOW_OFFSET) == (byte) MAGIC
+            && buffer.get(base + MAGIC_HIGH_OFFSET) == (byte) (MAGIC >> 8);
+    }
+
+    /**
+     * Reads the packet type of an encoded packet in a buffer, relative to the
+     * buffer's position, without changing the position.
+     */
+    public static byte peekPacketType(ByteBuffer buffer) {
+        return buffer.get(buffer.position() + TYPE_OFFSET);
+    }
+
+    /**
+     * Reads the sequence number of an encoded packet in a buffer (little-endian),
+     * relative to the buffer's position, without changing the position.
+     */
+    public static short peekSequence(ByteBuffer buffer) {
+        int base = buffer.position() + SEQUENCE_OFFSET;
+        return (short) ((buffer.get(base) & 0xFF) | (buffer.get(base + 1) << 8));
+    }
+
+    /**
+     * Reads the sender client ID of an encoded packet in a buffer, relative to the
+     * buffer's position, without changing the position.
+     */
+    public static byte peekClientId(ByteBuffer buffer) {
+        return buffer.get(buffer.position() + CLIENT_ID_OFFSET);
+    }
+
+    /**
+     * Reads the destination ID of an encoded packet in a buffer, relative to the
+     * buffer's position, without changing the position.
+     */
+    public static byte peekDestinationId(ByteBuffer buffer) {
+        return buffer.get(buffer.position() + DESTINATION_ID_OFFSET);
+    }
+
     @Override
     public String toString() {
         return String.format(
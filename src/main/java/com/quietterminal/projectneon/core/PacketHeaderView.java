@@ -0,0 +1,141 @@
+package com.quietterminal.projectneon.core;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reusable flyweight over the 8-byte header of an encoded packet.
+ *
+ * <p>Unlike {@link PacketHeader}, which is an immutable value decoded into its own
+ * object, a view reads and writes header fields directly in a buffer using absolute
+ * indexes. One view can be pointed at packet after packet with {@link #wrap} without
+ * allocating, and never changes the buffer's position, limit or byte order.
+ *
+ * <p>Usage:
+ * <pre>
+ * PacketHeaderView view = new PacketHeaderView();
+ * view.wrap(receiveBuffer);
+ * if (view.isValid() &amp;&amp; view.destinationId() == 0) {
+ *     view.setClientId(senderId);
+ * }
+ * </pre>
+ *
+ * <p>Views are not thread-safe; keep one per thread.
+ *
+ * @since 1.3
+ */
+public final class PacketHeaderView {
+    private ByteBuffer buffer;
+    private int offset;
+
+    /**
+     * Points the view at the header starting at the buffer's current position.
+     *
+     * @return this view
+     */
+    public PacketHeaderView wrap(ByteBuffer buffer) {
+        return wrap(buffer, buffer.position());
+    }
+
+    /**
+     * Points the view at the header starting at an absolute index in the buffer.
+     *
+     * @return this view
+     * @throws IllegalArgumentException if fewer than {@link PacketHeader#HEADER_SIZE} bytes follow the index
+     */
+    public PacketHeaderView wrap(ByteBuffer buffer, int offset) {
+        if (offset < 0 || buffer.limit() - offset < PacketHeader.HEADER_SIZE) {
+            throw new IllegalArgumentException("Insufficient bytes for packet header");
+        }
+        this.buffer = buffer;
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * Checks that the viewed bytes start with the Neon magic number.
+     */
+    public boolean isValid() {
+        return magic() == PacketHeader.MAGIC;
+    }
+
+    public short magic() {
+        return getShort(PacketHeader.MAGIC_LOW_OFFSET);
+    }
+
+    public byte version() {
+        return buffer.get(offset + PacketHeader.VERSION_OFFSET);
+    }
+
+    public byte packetType() {
+        return buffer.get(offset + PacketHeader.TYPE_OFFSET);
+    }
+
+    public short sequence() {
+        return getShort(PacketHeader.SEQUENCE_OFFSET);
+    }
+
+    public byte clientId() {
+        return buffer.get(offset + PacketHeader.CLIENT_ID_OFFSET);
+    }
+
+    public byte destinationId() {
+        return buffer.get(offset + PacketHeader.DESTINATION_ID_OFFSET);
+    }
+
+    public PacketHeaderView setPacketType(byte packetType) {
+        buffer.put(offset + PacketHeader.TYPE_OFFSET, packetType);
+        return this;
+    }
+
+    public PacketHeaderView setSequence(short sequence) {
+        buffer.put(offset + PacketHeader.SEQUENCE_OFFSET, (byte) sequence);
+        buffer.put(offset + PacketHeader.SEQUENCE_OFFSET + 1, (byte) (sequence >> 8));
+        return this;
+    }
+
+    public PacketHeaderView setClientId(byte clientId) {
+        buffer.put(offset + PacketHeader.CLIENT_ID_OFFSET, clientId);
+        return this;
+    }
+
+    public PacketHeaderView setDestinationId(byte destinationId) {
+        buffer.put(offset + PacketHeader.DESTINATION_ID_OFFSET, destinationId);
+        return this;
+    }
+
+    /**
+     * Writes a complete header with the default magic and version into the viewed bytes.
+     *
+     * @return this view
+     */
+    public PacketHeaderView set(byte packetType, short sequence, byte clientId, byte destinationId) {
+        buffer.put(offset + PacketHeader.MAGIC_LOW_OFFSET, (byte) PacketHeader.MAGIC);
+        buffer.put(offset + PacketHeader.MAGIC_HIGH_OFFSET, (byte) (PacketHeader.MAGIC >> 8));
+        buffer.put(offset + PacketHeader.VERSION_OFFSET, PacketHeader.VERSION);
+        setPacketType(packetType);
+        setSequence(sequence);
+        setClientId(clientId);
+        return setDestinationId(destinationId);
+    }
+
+    /**
+     * Copies the viewed fields into an immutable header.
+     *
+     * @throws IllegalArgumentException if the magic number is invalid
+     */
+    public PacketHeader toHeader() {
+        return new PacketHeader(magic(), version(), packetType(), sequence(), clientId(), destinationId());
+    }
+
+    private short getShort(int index) {
+        return (short) ((buffer.get(offset + index) & 0xFF) | (buffer.get(offset + index + 1) << 8));
+    }
+
+    @Override
+    public String toString() {
+        if (buffer == null) {
+            return "PacketHeaderView[unbound]";
+        }
+        return isValid() ? toHeader().toString() : "PacketHeaderView[invalid magic]";
+    }
+}
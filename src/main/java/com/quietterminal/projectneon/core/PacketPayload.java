@@ -4,6 +4,7 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -20,6 +21,10 @@ import java.util.List;
  *   <li>Register the type using {@link PayloadRegistry#register(byte, PayloadDeserializer)}</li>
  * </ol>
  *
+ * <p>Payloads sent often should also override {@link #encodedSize()} and
+ * {@link #writeTo(ByteBuffer)}, so that packets can be encoded straight into a pooled
+ * send buffer without building intermediate arrays. The built-in payloads do.
+ *
  * @see PayloadRegistry
  */
 public interface PacketPayload {
@@ -31,6 +36,44 @@ public interface PacketPayload {
 
     byte[] toBytes();
 
+    /**
+     * Gets the number of bytes {@link #writeTo(ByteBuffer)} will write.
+     * The default encodes the payload with {@link #toBytes()} to find out.
+     */
+    default int encodedSize() {
+        return toBytes().length;
+    }
+
+    /**
+     * Writes the encoded payload at the buffer's position and advances the position.
+     * Fields are always written little-endian; the buffer's byte order is left unchanged.
+     * The default copies the result of {@link #toBytes()}.
+     *
+     * @throws java.nio.BufferOverflowException if fewer than {@link #encodedSize()} bytes remain
+     */
+    default void writeTo(ByteBuffer buffer) {
+        buffer.put(toBytes());
+    }
+
+    /**
+     * Encodes a payload into a new array of exactly {@link #encodedSize()} bytes
+     * using its {@link #writeTo(ByteBuffer)}.
+     */
+    static byte[] encode(PacketPayload payload) {
+        byte[] bytes = new byte[payload.encodedSize()];
+        payload.writeTo(ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    /**
+     * Switches a buffer to little-endian for writing, returning its previous order.
+     */
+    private static ByteOrder littleEndian(ByteBuffer buffer) {
+        ByteOrder previous = buffer.order();
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return previous;
+    }
+
     /**
      * Sanitizes a string by removing control characters and trimming whitespace.
      * Control characters (0x00-0x1F and 0x7F-0x9F) can cause issues in logs and displays.
@@ -48,15 +91,24 @@ public interface PacketPayload {
 
         @Override
         public byte[] toBytes() {
+            return PacketPayload.encode(this);
+        }
+
+        @Override
+        public int encodedSize() {
+            return 1 + 4 + desiredName.getBytes(StandardCharsets.UTF_8).length + 4 + 4;
+        }
+
+        @Override
+        public void writeTo(ByteBuffer buffer) {
             byte[] nameBytes = desiredName.getBytes(StandardCharsets.UTF_8);
-            ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + nameBytes.length + 4 + 4);
-            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            ByteOrder order = littleEndian(buffer);
             buffer.put(clientVersion);
             buffer.putInt(nameBytes.length);
             buffer.put(nameBytes);
             buffer.putInt(targetSessionId);
             buffer.putInt(gameIdentifier);
-            return buffer.array();
+            buffer.order(order);
         }
 
         public static ConnectRequest fromBytes(byte[] bytes) {
@@ -98,12 +150,21 @@ public interface PacketPayload {
     record ConnectAccept(byte assignedClientId, int sessionId, long sessionToken) implements PacketPayload {
         @Override
         public byte[] toBytes() {
-            ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + 8);
-            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return PacketPayload.encode(this);
+        }
+
+        @Override
+        public int encodedSize() {
+            return 1 + 4 + 8;
+        }
+
+        @Override
+        public void writeTo(ByteBuffer buffer) {
+            ByteOrder order = littleEndian(buffer);
             buffer.put(assignedClientId);
             buffer.putInt(sessionId);
             buffer.putLong(sessionToken);
-            return buffer.array();
+            buffer.order(order);
         }
 
         public static ConnectAccept fromBytes(byte[] bytes) {
@@ -125,12 +186,21 @@ public interface PacketPayload {
     record ConnectDeny(String reason) implements PacketPayload {
         @Override
         public byte[] toBytes() {
+            return PacketPayload.encode(this);
+        }
+
+        @Override
+        public int encodedSize() {
+            return 4 + reason.getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        @Override
+        public void writeTo(ByteBuffer buffer) {
             byte[] reasonBytes = reason.getBytes(StandardCharsets.UTF_8);
-            ByteBuffer buffer = ByteBuffer.allocate(4 + reasonBytes.length);
-            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            ByteOrder order = littleEndian(buffer);
             buffer.putInt(reasonBytes.length);
             buffer.put(reasonBytes);
-            return buffer.array();
+            buffer.order(order);
         }
 
         public static ConnectDeny fromBytes(byte[] bytes) {
@@ -156,12 +226,21 @@ public interface PacketPayload {
     record SessionConfig(byte version, short tickRate, short maxPacketSize) implements PacketPayload {
         @Override
         public byte[] toBytes() {
-            ByteBuffer buffer = ByteBuffer.allocate(1 + 2 + 2);
-            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return PacketPayload.encode(this);
+        }
+
+        @Override
+        public int encodedSize() {
+            return 1 + 2 + 2;
+        }
+
+        @Override
+        public void writeTo(ByteBuffer buffer) {
+            ByteOrder order = littleEndian(buffer);
             buffer.put(version);
             buffer.putShort(tickRate);
             buffer.putShort(maxPacketSize);
-            return buffer.array();
+            buffer.order(order);
         }
 
         public static SessionConfig fromBytes(byte[] bytes) {
@@ -179,36 +258,50 @@ public interface PacketPayload {
 
     record PacketTypeEntry(byte packetId, String name, String description) {
         public byte[] toBytes() {
+            byte[] bytes = new byte[encodedSize()];
+            writeTo(ByteBuffer.wrap(bytes));
+            return bytes;
+        }
+
+        public int encodedSize() {
+            return 1 + 1 + name.getBytes(StandardCharsets.UTF_8).length
+                + 1 + description.getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        public void writeTo(ByteBuffer buffer) {
             byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
             byte[] descBytes = description.getBytes(StandardCharsets.UTF_8);
-            ByteBuffer buffer = ByteBuffer.allocate(1 + 1 + nameBytes.length + 1 + descBytes.length);
-            buffer.order(ByteOrder.LITTLE_ENDIAN);
             buffer.put(packetId);
             buffer.put((byte) nameBytes.length);
             buffer.put(nameBytes);
             buffer.put((byte) descBytes.length);
             buffer.put(descBytes);
-            return buffer.array();
         }
     }
 
     record PacketTypeRegistry(List<PacketTypeEntry> entries) implements PacketPayload {
         @Override
         public byte[] toBytes() {
-            List<byte[]> entryBytes = new ArrayList<>();
+            return PacketPayload.encode(this);
+        }
+
+        @Override
+        public int encodedSize() {
             int totalSize = 4; // for entry count
             for (PacketTypeEntry entry : entries) {
-                byte[] eb = entry.toBytes();
-                entryBytes.add(eb);
-                totalSize += eb.length;
+                totalSize += entry.encodedSize();
             }
-            ByteBuffer buffer = ByteBuffer.allocate(totalSize);
-            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return totalSize;
+        }
+
+        @Override
+        public void writeTo(ByteBuffer buffer) {
+            ByteOrder order = littleEndian(buffer);
             buffer.putInt(entries.size());
-            for (byte[] eb : entryBytes) {
-                buffer.put(eb);
+            buffer.order(order);
+            for (PacketTypeEntry entry : entries) {
+                entry.writeTo(buffer);
             }
-            return buffer.array();
         }
 
         public static PacketTypeRegistry fromBytes(byte[] bytes) {
@@ -262,10 +355,19 @@ public interface PacketPayload {
     record Ping(long timestamp) implements PacketPayload {
         @Override
         public byte[] toBytes() {
-            ByteBuffer buffer = ByteBuffer.allocate(8);
-            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return PacketPayload.encode(this);
+        }
+
+        @Override
+        public int encodedSize() {
+            return 8;
+        }
+
+        @Override
+        public void writeTo(ByteBuffer buffer) {
+            ByteOrder order = littleEndian(buffer);
             buffer.putLong(timestamp);
-            return buffer.array();
+            buffer.order(order);
         }
 
         public static Ping fromBytes(byte[] bytes) {
@@ -282,10 +384,19 @@ public interface PacketPayload {
     record Pong(long originalTimestamp) implements PacketPayload {
         @Override
         public byte[] toBytes() {
-            ByteBuffer buffer = ByteBuffer.allocate(8);
-            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return PacketPayload.encode(this);
+        }
+
+        @Override
+        public int encodedSize() {
+            return 8;
+        }
+
+        @Override
+        public void writeTo(ByteBuffer buffer) {
+            ByteOrder order = littleEndian(buffer);
             buffer.putLong(originalTimestamp);
-            return buffer.array();
+            buffer.order(order);
         }
 
         public static Pong fromBytes(byte[] bytes) {
@@ -305,21 +416,43 @@ public interface PacketPayload {
             return new byte[0];
         }
 
+        @Override
+        public int encodedSize() {
+            return 0;
+        }
+
+        @Override
+        public void writeTo(ByteBuffer buffer) {
+        }
+
         public static DisconnectNotice fromBytes(byte[] bytes) {
             return new DisconnectNotice();
         }
     }
 
+    /**
+     * Acknowledgement listing each sequence. Still decoded for older peers; senders in
+     * this library use the smaller {@link SelectiveAck}.
+     */
     record Ack(List<Short> acknowledgedSequences) implements PacketPayload {
         @Override
         public byte[] toBytes() {
-            ByteBuffer buffer = ByteBuffer.allocate(4 + acknowledgedSequences.size() * 2);
-            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return PacketPayload.encode(this);
+        }
+
+        @Override
+        public int encodedSize() {
+            return 4 + acknowledgedSequences.size() * 2;
+        }
+
+        @Override
+        public void writeTo(ByteBuffer buffer) {
+            ByteOrder order = littleEndian(buffer);
             buffer.putInt(acknowledgedSequences.size());
-            for (Short seq : acknowledgedSequences) {
-                buffer.putShort(seq);
+            for (int i = 0; i < acknowledgedSequences.size(); i++) {
+                buffer.putShort(acknowledgedSequences.get(i));
             }
-            return buffer.array();
+            buffer.order(order);
         }
 
         public static Ack fromBytes(byte[] bytes) {
@@ -343,15 +476,283 @@ public interface PacketPayload {
         }
     }
 
-    record ReconnectRequest(long sessionToken, int targetSessionId, byte previousClientId) implements PacketPayload {
+    /**
+     * Compact acknowledgement: the latest sequence received plus a bitmap of the
+     * {@value #WINDOW} sequences before it, where bit {@code i} set means sequence
+     * {@code latest - 1 - i} was received. It always encodes in 10 bytes however many
+     * sequences it covers, and is read in primitive form without boxing.
+     *
+     * <p>Sequence arithmetic wraps, so an ACK for sequence 2 can cover 65534 and 65535.
+     *
+     * @since 1.3
+     */
+    record SelectiveAck(short latest, long receivedMask) implements PacketPayload {
+        /**
+         * Number of sequences before {@code latest} the bitmap can cover.
+         */
+        public static final int WINDOW = 64;
+
+        /**
+         * Receives acknowledged sequences from {@link #forEach(SequenceConsumer)}.
+         */
+        @FunctionalInterface
+        public interface SequenceConsumer {
+            void accept(short sequence);
+        }
+
+        /**
+         * Creates an ACK covering a single sequence.
+         */
+        public static SelectiveAck of(short sequence) {
+            return new SelectiveAck(sequence, 0L);
+        }
+
+        /**
+         * Returns an ACK that also covers the given sequence.
+         *
+         * @return the extended ACK, this ACK if it already covers the sequence, or null if
+         *     the sequence is too far behind {@code latest}, or so far ahead that covered
+         *     sequences would fall out of the bitmap
+         */
+        public SelectiveAck with(short sequence) {
+            int behind = (short) (latest - sequence);
+            if (behind >= 0) {
+                if (covers(sequence)) {
+                    return this;
+                }
+                return behind <= WINDOW ? new SelectiveAck(latest, receivedMask | (1L << (behind - 1))) : null;
+            }
+            int ahead = -behind;
+            if (ahead > WINDOW || (receivedMask >>> (WINDOW - ahead)) != 0) {
+                return null;
+            }
+            // When ahead == WINDOW the mask is known to be empty, so the wrapped shift is harmless.
+            return new SelectiveAck(sequence, (receivedMask << ahead) | (1L << (ahead - 1)));
+        }
+
+        /**
+         * Checks whether this ACK covers a sequence.
+         */
+        public boolean covers(short sequence) {
+            int behind = (short) (latest - sequence);
+            if (behind == 0) {
+                return true;
+            }
+            return behind > 0 && behind <= WINDOW && ((receivedMask >>> (behind - 1)) & 1L) != 0;
+        }
+
+        /**
+         * Gets the number of sequences this ACK covers.
+         */
+        public int count() {
+            return 1 + Long.bitCount(receivedMask);
+        }
+
+        /**
+         * Gets the sequence a bitmap bit stands for.
+         *
+         * @param bit bit index, from 0 to {@value #WINDOW} - 1
+         */
+        public short sequenceAt(int bit) {
+            return (short) (latest - 1 - bit);
+        }
+
+        /**
+         * Calls the consumer with {@code latest} and then each sequence set in the bitmap,
+         * newest first.
+         */
+        public void forEach(SequenceConsumer consumer) {
+            consumer.accept(latest);
+            for (long mask = receivedMask; mask != 0; mask &= mask - 1) {
+                consumer.accept(sequenceAt(Long.numberOfTrailingZeros(mask)));
+            }
+        }
+
+        @Override
+        public byte[] toBytes() {
+            return PacketPayload.encode(this);
+        }
+
+        @Override
+        public int encodedSize() {
+            return 2 + 8;
+        }
+
+        @Override
+        public void writeTo(ByteBuffer buffer) {
+            ByteOrder order = littleEndian(buffer);
+            buffer.putShort(latest);
+            buffer.putLong(receivedMask);
+            buffer.order(order);
+        }
+
+        public static SelectiveAck fromBytes(byte[] bytes) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.remaining() < 10) {
+                throw new IllegalArgumentException("Buffer underflow: not enough bytes for SelectiveAck (expected 10 bytes)");
+            }
+            return new SelectiveAck(buffer.getShort(), buffer.getLong());
+        }
+    }
+
+    /**
+     * Negative acknowledgement: the latest sequence received plus a bitmap of the
+     * {@value SelectiveAck#WINDOW} sequences before it, where bit {@code i} set means
+     * sequence {@code latest - 1 - i} has not arrived. Lets a receiver ask for holes to
+     * be resent without waiting for the sender's retransmission timeout.
+     *
+     * @since 1.3
+     */
+    record Nack(short latest, long missingMask) implements PacketPayload {
+
+        /**
+         * Checks whether this NACK reports a sequence as missing.
+         */
+        public boolean isMissing(short sequence) {
+            int behind = (short) (latest - sequence);
+            return behind > 0 && behind <= SelectiveAck.WINDOW && ((missingMask >>> (behind - 1)) & 1L) != 0;
+        }
+
+        /**
+         * Gets the number of sequences reported missing.
+         */
+        public int count() {
+            return Long.bitCount(missingMask);
+        }
+
+        /**
+         * Calls the consumer with each missing sequence, newest first.
+         */
+        public void forEach(SelectiveAck.SequenceConsumer consumer) {
+            for (long mask = missingMask; mask != 0; mask &= mask - 1) {
+                consumer.accept((short) (latest - 1 - Long.numberOfTrailingZeros(mask)));
+            }
+        }
+
         @Override
         public byte[] toBytes() {
-            ByteBuffer buffer = ByteBuffer.allocate(8 + 4 + 1);
+            return PacketPayload.encode(this);
+        }
+
+        @Override
+        public int encodedSize() {
+            return 2 + 8;
+        }
+
+        @Override
+        public void writeTo(ByteBuffer buffer) {
+            ByteOrder order = littleEndian(buffer);
+            buffer.putShort(latest);
+            buffer.putLong(missingMask);
+            buffer.order(order);
+        }
+
+        public static Nack fromBytes(byte[] bytes) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
             buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.remaining() < 10) {
+                throw new IllegalArgumentException("Buffer underflow: not enough bytes for Nack (expected 10 bytes)");
+            }
+            return new Nack(buffer.getShort(), buffer.getLong());
+        }
+    }
+
+    /**
+     * A game packet carrying a selective ACK for its receiver, so ACK state rides on
+     * reverse traffic instead of travelling in a packet of its own. Encoded as the 10-byte
+     * ACK, the game packet's type and then the game payload; the header keeps the game
+     * packet's sequence, sender and destination. The game payload is held as decoded and
+     * written straight into the send buffer, so wrapping a packet copies nothing.
+     *
+     * @since 1.3
+     */
+    record PiggybackAck(SelectiveAck ack, byte packetType, PacketPayload payload) implements PacketPayload {
+        private static final int PREFIX_SIZE = 2 + 8 + 1;
+
+        public PiggybackAck {
+            requireGameType(packetType);
+        }
+
+        /**
+         * Attaches an ACK to a game packet.
+         */
+        public static NeonPacket wrap(NeonPacket packet, SelectiveAck ack) {
+            PacketHeader header = packet.header();
+            PacketHeader wrapped = new PacketHeader(header.magic(), header.version(), PacketType.PIGGYBACK_ACK.getValue(),
+                header.sequence(), header.clientId(), header.destinationId());
+            return new NeonPacket(wrapped, new PiggybackAck(ack, header.packetType(), packet.payload()));
+        }
+
+        /**
+         * Rebuilds the game packet as it was before the ACK was attached.
+         *
+         * @param header the header of the received piggyback packet
+         */
+        public NeonPacket unwrap(PacketHeader header) {
+            PacketHeader inner = new PacketHeader(header.magic(), header.version(), packetType,
+                header.sequence(), header.clientId(), header.destinationId());
+            return new NeonPacket(inner, payload);
+        }
+
+        @Override
+        public byte[] toBytes() {
+            return PacketPayload.encode(this);
+        }
+
+        @Override
+        public int encodedSize() {
+            return PREFIX_SIZE + payload.encodedSize();
+        }
+
+        @Override
+        public void writeTo(ByteBuffer buffer) {
+            ack.writeTo(buffer);
+            buffer.put(packetType);
+            payload.writeTo(buffer);
+        }
+
+        /**
+         * Decodes a piggyback payload, decoding the game payload with any deserializer
+         * registered for its type.
+         */
+        public static PiggybackAck fromBytes(byte[] bytes) {
+            if (bytes.length < PREFIX_SIZE) {
+                throw new IllegalArgumentException("Buffer underflow: not enough bytes for PiggybackAck (expected at least 11 bytes)");
+            }
+            SelectiveAck ack = SelectiveAck.fromBytes(bytes);
+            byte packetType = requireGameType(bytes[PREFIX_SIZE - 1]);
+            byte[] payloadBytes = Arrays.copyOfRange(bytes, PREFIX_SIZE, bytes.length);
+            return new PiggybackAck(ack, packetType, PayloadRegistry.dispatch(packetType).fromBytes(payloadBytes));
+        }
+
+        private static byte requireGameType(byte packetType) {
+            if (PacketType.isCoreType(packetType)) {
+                throw new IllegalArgumentException("Only game packets carry piggybacked ACKs, got type: 0x"
+                    + Integer.toHexString(packetType & 0xFF));
+            }
+            return packetType;
+        }
+    }
+
+    record ReconnectRequest(long sessionToken, int targetSessionId, byte previousClientId) implements PacketPayload {
+        @Override
+        public byte[] toBytes() {
+            return PacketPayload.encode(this);
+        }
+
+        @Override
+        public int encodedSize() {
+            return 8 + 4 + 1;
+        }
+
+        @Override
+        public void writeTo(ByteBuffer buffer) {
+            ByteOrder order = littleEndian(buffer);
             buffer.putLong(sessionToken);
             buffer.putInt(targetSessionId);
             buffer.put(previousClientId);
-            return buffer.array();
+            buffer.order(order);
         }
 
         public static ReconnectRequest fromBytes(byte[] bytes) {
@@ -370,12 +771,56 @@ public interface PacketPayload {
         }
     }
 
+    /**
+     * A payload that reads its bytes out of a {@link PayloadSlice} it holds a reference
+     * to. {@link NeonPacket#release()} drops that reference once the packet is handled.
+     *
+     * @since 1.3
+     */
+    interface SliceBacked extends PacketPayload {
+        PayloadSlice slice();
+
+        @Override
+        default byte[] toBytes() {
+            return slice().toByteArray();
+        }
+
+        @Override
+        default int encodedSize() {
+            return slice().length();
+        }
+
+        @Override
+        default void writeTo(ByteBuffer buffer) {
+            buffer.put(slice().buffer().duplicate());
+        }
+    }
+
+    /**
+     * Game packet bytes left in the pooled receive buffer instead of copied out, as
+     * produced by {@link NeonPacket#fromLease(BufferLease)}.
+     *
+     * @since 1.3
+     */
+    record GamePacketSlice(PayloadSlice slice) implements SliceBacked {
+    }
+
     record GamePacket(byte[] payload) implements PacketPayload {
         @Override
         public byte[] toBytes() {
             return payload;
         }
 
+        @Override
+        public int encodedSize() {
+            return payload.length;
+        }
+
+        @Override
+        public void writeTo(ByteBuffer buffer) {
+            buffer.put(payload);
+        }
+
         public static GamePacket fromBytes(byte[] bytes) {
             return new GamePacket(bytes);
         }
@@ -11,6 +11,9 @@ public enum PacketType {
     CONNECT_DENY((byte) 0x03),
     SESSION_CONFIG((byte) 0x04),
     PACKET_TYPE_REGISTRY((byte) 0x05),
+    PIGGYBACK_ACK((byte) 0x08),
+    NACK((byte) 0x09),
+    SELECTIVE_ACK((byte) 0x0A),
     PING((byte) 0x0B),
     PONG((byte) 0x0C),
     DISCONNECT_NOTICE((byte) 0x0D),
@@ -35,6 +38,9 @@ public enum PacketType {
             case 0x03 -> CONNECT_DENY;
             case 0x04 -> SESSION_CONFIG;
             case 0x05 -> PACKET_TYPE_REGISTRY;
+            case 0x08 -> PIGGYBACK_ACK;
+            case 0x09 -> NACK;
+            case 0x0A -> SELECTIVE_ACK;
             case 0x0B -> PING;
             case 0x0C -> PONG;
             case 0x0D -> DISCONNECT_NOTICE;
@@ -50,6 +56,14 @@ public enum PacketType {
     }
 
     public boolean isCorePacket() {
+        return isCoreType(value);
+    }
+
+    /**
+     * Checks whether a raw packet type byte is in the core range (0x01-0x0F),
+     * without resolving it to an enum constant.
+     */
+    public static boolean isCoreType(byte value) {
         return (value & 0xFF) < 0x10;
     }
 }
@@ -19,4 +19,22 @@ public interface PayloadDeserializer<T extends PacketPayload> {
      * @throws IllegalArgumentException if the bytes are malformed or invalid
      */
     T fromBytes(byte[] bytes);
+
+    /**
+     * Deserializes a payload directly from the receive buffer.
+     *
+     * <p>The slice is only borrowed for the duration of the call. A payload that keeps
+     * a reference to the slice instead of copying out of it must {@link PayloadSlice#retain()
+     * retain} it and implement {@link PacketPayload.SliceBacked} so the reference is
+     * released with the packet. The default implementation copies the bytes and
+     * delegates to {@link #fromBytes(byte[])}.
+     *
+     * @param slice The serialized payload bytes
+     * @return The deserialized payload
+     * @throws IllegalArgumentException if the bytes are malformed or invalid
+     * @since 1.3
+     */
+    default T fromSlice(PayloadSlice slice) {
+        return fromBytes(slice.toByteArray());
+    }
 }
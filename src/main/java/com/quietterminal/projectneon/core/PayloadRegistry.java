@@ -1,8 +1,7 @@
 package com.quietterminal.projectneon.core;
 
-import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Registry for packet payload deserializers.
@@ -30,10 +29,20 @@ import java.util.concurrent.ConcurrentHashMap;
  * // Register it
  * PayloadRegistry.register((byte) 0x20, PlayerPosition::fromBytes);
  * }</pre>
+ *
+ * <p>Decoding looks deserializers up in a 256-slot dispatch table indexed by the
+ * packet type byte, which holds the built-in core deserializers, the registered
+ * custom ones and {@link PacketPayload.GamePacket} for every other game type. The
+ * table is rebuilt copy-on-write on each change, so the per-packet path is one array
+ * load with no boxing or map lookup. Call {@link #freeze()} once startup registration
+ * is done to rule out further changes.
  */
 public final class PayloadRegistry {
 
-    private static final Map<Byte, PayloadDeserializer<?>> customDeserializers = new ConcurrentHashMap<>();
+    private static final int TABLE_SIZE = 256;
+    private static final PayloadDeserializer<?>[] BUILT_IN = builtInDeserializers();
+
+    private static volatile Tables tables = new Tables(new PayloadDeserializer<?>[TABLE_SIZE], BUILT_IN, 0, false);
 
     private PayloadRegistry() {
         /* No instantiation */
@@ -45,6 +54,7 @@ public final class PayloadRegistry {
      * @param packetType The packet type byte (should be >= 0x10 for game packets)
      * @param deserializer The deserializer function
      * @throws IllegalArgumentException if the packet type is a reserved core type (under 0x10)
+     * @throws IllegalStateException if the registry has been frozen
      */
     public static void register(byte packetType, PayloadDeserializer<?> deserializer) {
         if ((packetType & 0xFF) < 0x10) {
@@ -52,7 +62,8 @@ public final class PayloadRegistry {
                 "Cannot register custom deserializer for core packet type 0x" +
                 Integer.toHexString(packetType & 0xFF) + " (must be >= 0x10)");
         }
-        customDeserializers.put(packetType, deserializer);
+        Objects.requireNonNull(deserializer, "deserializer cannot be null");
+        update(packetType, deserializer);
     }
 
     /**
@@ -60,9 +71,10 @@ public final class PayloadRegistry {
      *
      * @param packetType The packet type to unregister
      * @return true if a deserializer was removed, false if none was registered
+     * @throws IllegalStateException if the registry has been frozen
      */
     public static boolean unregister(byte packetType) {
-        return customDeserializers.remove(packetType) != null;
+        return update(packetType, null) != null;
     }
 
     /**
@@ -72,7 +84,7 @@ public final class PayloadRegistry {
      * @return The deserializer, or empty if not registered
      */
     public static Optional<PayloadDeserializer<?>> getDeserializer(byte packetType) {
-        return Optional.ofNullable(customDeserializers.get(packetType));
+        return Optional.ofNullable(customDeserializer(packetType));
     }
 
     /**
@@ -82,14 +94,15 @@ public final class PayloadRegistry {
      * @return true if a custom deserializer is registered
      */
     public static boolean isRegistered(byte packetType) {
-        return customDeserializers.containsKey(packetType);
+        return customDeserializer(packetType) != null;
     }
 
     /**
-     * Clears all registered custom deserializers.
+     * Clears all registered custom deserializers and lifts any freeze, restoring the
+     * registry to its initial state.
      */
-    public static void clearAll() {
-        customDeserializers.clear();
+    public static synchronized void clearAll() {
+        tables = new Tables(new PayloadDeserializer<?>[TABLE_SIZE], BUILT_IN, 0, false);
     }
 
     /**
@@ -98,6 +111,91 @@ public final class PayloadRegistry {
      * @return the count of registered deserializers
      */
     public static int registeredCount() {
-        return customDeserializers.size();
+        return tables.count();
+    }
+
+    /**
+     * Freezes the registry. The dispatch table never changes afterwards, and any
+     * attempt to register or unregister a deserializer throws. Calling it again has no
+     * effect.
+     *
+     * @since 1.3
+     */
+    public static synchronized void freeze() {
+        Tables current = tables;
+        if (!current.frozen()) {
+            tables = new Tables(current.custom(), current.dispatch(), current.count(), true);
+        }
+    }
+
+    /**
+     * Checks whether the registry has been frozen.
+     *
+     * @since 1.3
+     */
+    public static boolean isFrozen() {
+        return tables.frozen();
+    }
+
+    /**
+     * Gets the registered custom deserializer for a packet type, or null.
+     */
+    static PayloadDeserializer<?> customDeserializer(byte packetType) {
+        return tables.custom()[packetType & 0xFF];
     }
+
+    /**
+     * Gets the deserializer to decode a packet type with, core or custom, or null if the
+     * type is an unassigned core type.
+     */
+    static PayloadDeserializer<?> dispatch(byte packetType) {
+        return tables.dispatch()[packetType & 0xFF];
+    }
+
+    private static synchronized PayloadDeserializer<?> update(byte packetType, PayloadDeserializer<?> deserializer) {
+        Tables current = tables;
+        if (current.frozen()) {
+            throw new IllegalStateException("Payload registry is frozen");
+        }
+
+        int index = packetType & 0xFF;
+        PayloadDeserializer<?> previous = current.custom()[index];
+        if (previous == deserializer) {
+            return previous;
+        }
+
+        PayloadDeserializer<?>[] custom = current.custom().clone();
+        PayloadDeserializer<?>[] dispatch = current.dispatch().clone();
+        custom[index] = deserializer;
+        dispatch[index] = deserializer != null ? deserializer : BUILT_IN[index];
+        int count = current.count() + (previous == null ? 1 : 0) - (deserializer == null ? 1 : 0);
+        tables = new Tables(custom, dispatch, count, false);
+        return previous;
+    }
+
+    private static PayloadDeserializer<?>[] builtInDeserializers() {
+        PayloadDeserializer<?>[] table = new PayloadDeserializer<?>[TABLE_SIZE];
+        table[PacketType.CONNECT_REQUEST.getValue()] = PacketPayload.ConnectRequest::fromBytes;
+        table[PacketType.CONNECT_ACCEPT.getValue()] = PacketPayload.ConnectAccept::fromBytes;
+        table[PacketType.CONNECT_DENY.getValue()] = PacketPayload.ConnectDeny::fromBytes;
+        table[PacketType.SESSION_CONFIG.getValue()] = PacketPayload.SessionConfig::fromBytes;
+        table[PacketType.PACKET_TYPE_REGISTRY.getValue()] = PacketPayload.PacketTypeRegistry::fromBytes;
+        table[PacketType.PING.getValue()] = PacketPayload.Ping::fromBytes;
+        table[PacketType.PONG.getValue()] = PacketPayload.Pong::fromBytes;
+        table[PacketType.DISCONNECT_NOTICE.getValue()] = PacketPayload.DisconnectNotice::fromBytes;
+        table[PacketType.ACK.getValue()] = PacketPayload.Ack::fromBytes;
+        table[PacketType.SELECTIVE_ACK.getValue()] = PacketPayload.SelectiveAck::fromBytes;
+        table[PacketType.NACK.getValue()] = PacketPayload.Nack::fromBytes;
+        table[PacketType.PIGGYBACK_ACK.getValue()] = PacketPayload.PiggybackAck::fromBytes;
+        table[PacketType.RECONNECT_REQUEST.getValue()] = PacketPayload.ReconnectRequest::fromBytes;
+        for (int i = 0x10; i < TABLE_SIZE; i++) {
+            table[i] = PacketPayload.GamePacket::fromBytes;
+        }
+        return table;
+    }
+
+    /**
+     * One immutable generation of the registry. Arrays are never written after publication.
+     */
+    private record Tables(PayloadDeserializer<?>[] custom, PayloadDeserializer<?>[] dispatch, int count, boolean frozen) {}
 }
@@ -0,0 +1,167 @@
+package com.quietterminal.projectneon.core;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A reference-counted window onto the payload bytes of a received datagram.
+ *
+ * <p>A slice lets a payload be decoded straight out of the pooled receive buffer
+ * instead of being copied into its own array. The slice starts with one reference,
+ * owned by whoever created it. Code that wants to keep the bytes beyond the call that
+ * handed it the slice must {@link #retain()} it, and every reference must be matched
+ * by one {@link #release()}. When the last reference is released the underlying
+ * {@link BufferLease} is released and the buffer goes back to its pool, after which
+ * the bytes may be overwritten by the next receive.
+ *
+ * <p>Example usage:
+ * <pre>{@code
+ * client.setGamePacketCallback((type, sender, slice) -> {
+ *     ByteBuffer bytes = slice.buffer();
+ *     float x = bytes.getFloat(0);
+ *     // Call slice.retain() to keep the bytes after returning
+ * });
+ * }</pre>
+ *
+ * <p>Reference counting is thread-safe, so a retained slice may be handed to and
+ * released on another thread.
+ *
+ * @since 1.3
+ */
+public final class PayloadSlice implements AutoCloseable {
+    private final BufferLease lease;
+    private final ByteBuffer view;
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private PayloadSlice(BufferLease lease, int offset, int length) {
+        this.lease = lease;
+        this.view = lease.buffer().slice(offset, length).asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Creates a slice that takes ownership of a lease.
+     *
+     * @param lease The lease holding the datagram
+     * @param offset Offset of the payload within the leased buffer
+     * @param length Payload length in bytes
+     * @throws IndexOutOfBoundsException if the range lies outside the datagram
+     */
+    public static PayloadSlice of(BufferLease lease, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > lease.length()) {
+            throw new IndexOutOfBoundsException("Slice [" + offset + ", " + (offset + length)
+                + ") outside datagram of " + lease.length() + " bytes");
+        }
+        return new PayloadSlice(lease, offset, length);
+    }
+
+    /**
+     * Creates a slice over a plain array that is not backed by any pool.
+     */
+    public static PayloadSlice wrap(byte[] bytes) {
+        return new PayloadSlice(BufferLease.wrap(bytes, null), 0, bytes.length);
+    }
+
+    /**
+     * Gets a read-only little-endian view of the payload, positioned at zero with its
+     * limit at the payload length. The view's position is shared, so callers that read
+     * it relatively should {@link ByteBuffer#duplicate() duplicate} it first.
+     *
+     * @throws IllegalStateException if the slice has been fully released
+     */
+    public ByteBuffer buffer() {
+        ensureLive();
+        return view;
+    }
+
+    /**
+     * Gets the payload length in bytes.
+     */
+    public int length() {
+        return view.capacity();
+    }
+
+    /**
+     * Gets a single payload byte.
+     *
+     * @throws IllegalStateException if the slice has been fully released
+     */
+    public byte get(int index) {
+        ensureLive();
+        return view.get(index);
+    }
+
+    /**
+     * Copies the payload into a new array, for callers that need to keep the bytes
+     * without holding on to the pooled buffer.
+     */
+    public byte[] toByteArray() {
+        ensureLive();
+        byte[] bytes = new byte[view.capacity()];
+        view.get(0, bytes);
+        return bytes;
+    }
+
+    /**
+     * Adds a reference.
+     *
+     * @return this slice
+     * @throws IllegalStateException if the slice has been fully released
+     */
+    public PayloadSlice retain() {
+        while (true) {
+            int count = references.get();
+            if (count <= 0) {
+                throw new IllegalStateException("Payload slice already released");
+            }
+            if (references.compareAndSet(count, count + 1)) {
+                return this;
+            }
+        }
+    }
+
+    /**
+     * Drops a reference, returning the buffer to its pool when none are left.
+     *
+     * @return true if this call released the buffer
+     * @throws IllegalStateException if the slice has already been fully released
+     */
+    public boolean release() {
+        int count = references.decrementAndGet();
+        if (count > 0) {
+            return false;
+        }
+        if (count < 0) {
+            references.incrementAndGet();
+            throw new IllegalStateException("Payload slice already released");
+        }
+        lease.release();
+        return true;
+    }
+
+    /**
+     * Gets the current reference count.
+     */
+    public int referenceCount() {
+        return Math.max(references.get(), 0);
+    }
+
+    /**
+     * Drops the caller's reference, as {@link #release()}.
+     */
+    @Override
+    public void close() {
+        release();
+    }
+
+    private void ensureLive() {
+        if (references.get() <= 0) {
+            throw new IllegalStateException("Payload slice already released");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PayloadSlice[length=" + view.capacity() + ", refs=" + referenceCount() + "]";
+    }
+}
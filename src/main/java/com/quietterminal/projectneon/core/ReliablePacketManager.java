@@ -24,6 +24,38 @@ import java.util.logging.Logger;
  * // In your game loop
  * reliableManager.processRetransmissions();
  * }</pre>
+ *
+ * <p>Retransmission timeouts adapt per destination: ACKs for packets sent once feed an
+ * {@link RttEstimator}, and unacknowledged packets are resent after the estimated
+ * timeout, doubled for every retry. {@link #setTimeout(int)} sets the timeout used
+ * before a destination's first sample.
+ *
+ * <p>Received sequences are compared with serial-number arithmetic, so duplicate
+ * detection keeps working after the 16-bit sequence wraps. Each sender gets a
+ * {@link SequenceWindow} for {@link #handleReceivedReliable(byte, short)}, sized by
+ * {@link NeonConfig#getReliableReplayWindow()}. Transport sequences are shared by all
+ * destinations, so they cannot order one peer's packets; use a
+ * {@link Channel.Mode#RELIABLE_ORDERED} channel of a {@link ChannelManager} for in-order
+ * delivery.
+ *
+ * <p>Lost packets can be resent before their timeout. When
+ * {@link #handleAck(byte, PacketPayload.SelectiveAck)} sees
+ * {@link NeonConfig#getReliableFastRetransmitThreshold()} ACKs from a peer that cover
+ * later sequences but skip a packet sent once, that packet is resent at once. A receiver
+ * can also report holes with {@link #sendNack(byte)}; the sender resends them in
+ * {@link #handleNack(byte, PacketPayload.Nack)}.
+ *
+ * <p>With {@link NeonConfig#getCongestionAlgorithm()} set, sends are limited per
+ * connection. A {@link CongestionController} fed by ACKs and losses caps the reliable
+ * packets in flight, and a {@link Pacer} spreads all sends, retransmissions included,
+ * evenly over the round trip. Packets that cannot go out yet are queued and sent from
+ * {@link #processRetransmissions()} or the next send, unreliable ones first.
+ *
+ * <p>ACKs for received packets go through an {@link AckScheduler}: they are delayed
+ * briefly, coalesced per sender and attached to outgoing game packets to that sender when
+ * there are any. Pass received packets through {@link #unwrap(NeonPacket)} to apply
+ * piggybacked ACKs, and call {@link #processRetransmissions()} regularly so delayed ACKs
+ * are sent on time.
  */
 public class ReliablePacketManager {
     private static final Logger logger;
@@ -38,11 +70,18 @@ public class ReliablePacketManager {
     private final byte clientId;
     private short nextReliableSequence = 0;
 
-    @SuppressWarnings("unused")
     private final NeonConfig config;
 
-    private final Map<Short, PendingReliablePacket> pendingPackets = new ConcurrentHashMap<>();
-    private final Map<Byte, Short> lastReceivedSequence = new ConcurrentHashMap<>();
+    private final RetransmitWindow window = new RetransmitWindow(System.currentTimeMillis());
+    private final Map<Byte, RttEstimator> estimators = new ConcurrentHashMap<>();
+    private final Map<Byte, SequenceWindow> replayWindows = new ConcurrentHashMap<>();
+
+    private final CongestionController congestion;
+    private final Pacer pacer;
+    private final RttEstimator pathRtt;
+    private final Deque<NeonPacket> unsentReliable = new ArrayDeque<>();
+    private final Deque<NeonPacket> unsentUnreliable = new ArrayDeque<>();
+    private final AckScheduler acks;
 
     private int timeoutMs;
     private int maxRetries;
@@ -76,10 +115,15 @@ public class ReliablePacketManager {
         this.config = config;
         this.timeoutMs = config.getReliablePacketTimeoutMs();
         this.maxRetries = config.getReliablePacketMaxRetries();
+        this.congestion = CongestionController.create(config);
+        this.pacer = congestion != null ? new Pacer(config.getCongestionPacingBurst(), System.nanoTime()) : null;
+        this.pathRtt = congestion != null ? RttEstimator.fromConfig(config, timeoutMs) : null;
+        this.acks = new AckScheduler(socket, relayAddr, clientId, config, estimators::get);
     }
 
     /**
-     * Sends a reliable game packet that will be retransmitted until acknowledged.
+     * Sends a reliable game packet that will be retransmitted until acknowledged. With
+     * congestion control on, the packet may be queued until the window and pacer allow it.
      *
      * @param payload The game data to send
      * @param destinationId The destination client ID
@@ -94,15 +138,68 @@ public class ReliablePacketManager {
             PacketType.GAME_PACKET, sequence, clientId, destinationId, gamePacket
         );
 
-        socket.sendPacket(packet, relayAddr);
-
-        pendingPackets.put(sequence, new PendingReliablePacket(
-            packet, System.currentTimeMillis(), 0
-        ));
+        if (congestion == null) {
+            transmit(packet);
+            track(packet);
+        } else {
+            synchronized (unsentReliable) {
+                unsentReliable.addLast(packet);
+            }
+            flushUnsent();
+        }
 
         return sequence;
     }
 
+    /**
+     * Sends a packet that is not tracked for acknowledgment, through the pacer when
+     * congestion control is on.
+     */
+    void sendUnreliable(NeonPacket packet) throws IOException {
+        if (congestion == null) {
+            transmit(packet);
+            return;
+        }
+        synchronized (unsentReliable) {
+            unsentUnreliable.addLast(packet);
+        }
+        flushUnsent();
+    }
+
+    private void transmit(NeonPacket packet) throws IOException {
+        socket.sendPacket(acks.piggyback(packet), relayAddr);
+    }
+
+    private void track(NeonPacket packet) {
+        long now = System.currentTimeMillis();
+        window.track(packet.header().sequence(), packet, now,
+            now + getRttEstimator(packet.header().destinationId()).timeoutFor(0));
+    }
+
+    /**
+     * Sends queued packets while the pacer and, for reliable packets, the congestion
+     * window allow.
+     */
+    private void flushUnsent() throws IOException {
+        if (congestion == null) {
+            return;
+        }
+        synchronized (unsentReliable) {
+            long nowNanos = System.nanoTime();
+            NeonPacket next;
+            while ((next = unsentUnreliable.peekFirst()) != null && pacer.tryAcquire(nowNanos)) {
+                transmit(next);
+                unsentUnreliable.removeFirst();
+            }
+            while ((next = unsentReliable.peekFirst()) != null
+                    && window.size() < congestion.window() && pacer.tryAcquire(nowNanos)) {
+                transmit(next);
+                unsentReliable.removeFirst();
+                track(next);
+            }
+        }
+    }
+
     /**
      * Processes ACKs and retransmits packets that haven't been acknowledged.
      * Should be called regularly (e.g., in the game loop).
@@ -111,26 +208,53 @@ public class ReliablePacketManager {
      */
     public void processRetransmissions() throws IOException {
         long now = System.currentTimeMillis();
-        List<Short> toRemove = new ArrayList<>();
-
-        for (Map.Entry<Short, PendingReliablePacket> entry : pendingPackets.entrySet()) {
-            PendingReliablePacket pending = entry.getValue();
-
-            if (now - pending.lastSentTime() >= timeoutMs) {
-                if (pending.retryCount() >= maxRetries) {
-                    logger.log(Level.WARNING, "Reliable packet {0} failed after {1} retries",
-                        new Object[]{entry.getKey(), maxRetries});
-                    toRemove.add(entry.getKey());
-                } else {
-                    socket.sendPacket(pending.packet(), relayAddr);
-                    pendingPackets.put(entry.getKey(), new PendingReliablePacket(
-                        pending.packet(), now, pending.retryCount() + 1
-                    ));
+        List<RetransmitWindow.Slot> due = new ArrayList<>();
+        window.advance(now, due::add);
+
+        int i = 0;
+        boolean lost = false;
+        try {
+            for (; i < due.size(); i++) {
+                RetransmitWindow.Slot slot = due.get(i);
+                if (slot.retryCount >= maxRetries) {
+                    if (window.remove(slot.sequence) != null) {
+                        logger.log(Level.WARNING, "Reliable packet {0} failed after {1} retries",
+                            new Object[]{slot.sequence, maxRetries});
+                        lost = true;
+                    }
+                } else if (resend(slot, now)) {
+                    lost = true;
                 }
             }
+        } catch (IOException e) {
+            for (; i < due.size(); i++) {
+                window.reschedule(due.get(i), now + RetransmitWindow.TICK_MS);
+            }
+            throw e;
+        } finally {
+            if (lost) {
+                onLoss(now);
+            }
         }
+        flushUnsent();
+        acks.flushDue();
+    }
 
-        toRemove.forEach(pendingPackets::remove);
+    /**
+     * Applies the ACK piggybacked on a received packet, if any, and returns the game
+     * packet it carried. Other packets are returned unchanged.
+     *
+     * @param packet The received packet
+     * @return The packet to handle
+     * @throws IOException if the ACK triggers a retransmission that fails
+     * @since 1.3
+     */
+    public NeonPacket unwrap(NeonPacket packet) throws IOException {
+        if (packet.payload() instanceof PacketPayload.PiggybackAck piggyback) {
+            handleAck(packet.header().clientId(), piggyback.ack());
+            return piggyback.unwrap(packet.header());
+        }
+        return packet;
     }
 
     /**
@@ -141,49 +265,219 @@ public class ReliablePacketManager {
      */
     public void handleAck(List<Short> acknowledgedSequences) {
         for (Short seq : acknowledgedSequences) {
-            if (pendingPackets.remove(seq) != null) {
-                logger.log(Level.FINE, "Reliable packet {0} acknowledged", seq);
+            acknowledge(seq);
+        }
+    }
+
+    /**
+     * Handles a selective ACK for reliable delivery, walking its bitmap once.
+     *
+     * @param ack The received selective ACK
+     * @since 1.3
+     */
+    public void handleAck(PacketPayload.SelectiveAck ack) {
+        if (window.size() == 0) {
+            return;
+        }
+        ack.forEach(this::acknowledge);
+    }
+
+    /**
+     * Handles a selective ACK from a peer and resends packets to that peer that have
+     * been skipped over by enough ACKs to be presumed lost.
+     *
+     * @param fromClientId The client ID the ACK came from
+     * @param ack The received selective ACK
+     * @throws IOException if a retransmission fails
+     * @since 1.3
+     */
+    public void handleAck(byte fromClientId, PacketPayload.SelectiveAck ack) throws IOException {
+        handleAck(ack);
+        int threshold = config.getReliableFastRetransmitThreshold();
+        if (threshold == 0) {
+            return;
+        }
+        List<RetransmitWindow.Slot> lost = new ArrayList<>();
+        window.gaps(fromClientId, ack, threshold, lost::add);
+        long now = System.currentTimeMillis();
+        boolean resent = false;
+        for (RetransmitWindow.Slot slot : lost) {
+            logger.log(Level.FINE, "Reliable packet {0} skipped by {1} ACKs, retransmitting early",
+                new Object[]{slot.sequence, threshold});
+            resent |= resend(slot, now);
+        }
+        if (resent) {
+            onLoss(now);
+        }
+        flushUnsent();
+    }
+
+    /**
+     * Resends the packets a peer reports missing. Packets sent to the peer less than one
+     * smoothed RTT ago are skipped, since that copy cannot have arrived yet.
+     *
+     * @param fromClientId The client ID the NACK came from
+     * @param nack The received NACK
+     * @return The number of packets resent; packets the pacer defers are not counted
+     * @throws IOException if a retransmission fails
+     * @since 1.3
+     */
+    public int handleNack(byte fromClientId, PacketPayload.Nack nack) throws IOException {
+        long now = System.currentTimeMillis();
+        long minAge = Math.max(getRttEstimator(fromClientId).srttMs(), 0);
+        List<RetransmitWindow.Slot> missing = new ArrayList<>();
+        nack.forEach(sequence -> {
+            RetransmitWindow.Slot slot = window.get(sequence);
+            if (slot != null && slot.packet.header().destinationId() == fromClientId && now - slot.sentTime >= minAge) {
+                missing.add(slot);
             }
+        });
+        int resent = 0;
+        for (RetransmitWindow.Slot slot : missing) {
+            if (resend(slot, now)) {
+                resent++;
+            }
+        }
+        if (resent > 0) {
+            onLoss(now);
         }
+        return resent;
+    }
+
+    /**
+     * Resends a pending packet, or defers it by one tick if the pacer has no room.
+     *
+     * @return true if the packet was sent, false if it was deferred
+     */
+    private boolean resend(RetransmitWindow.Slot slot, long now) throws IOException {
+        if (pacer != null && !pacer.tryAcquire(System.nanoTime())) {
+            window.reschedule(slot, now + RetransmitWindow.TICK_MS);
+            return false;
+        }
+        transmit(slot.packet);
+        window.resent(slot, now, now + estimatorFor(slot).timeoutFor(slot.retryCount + 1));
+        return true;
+    }
+
+    private void acknowledge(short sequence) {
+        RetransmitWindow.Slot acked = window.remove(sequence);
+        if (acked != null) {
+            logger.log(Level.FINE, "Reliable packet {0} acknowledged", sequence);
+            long now = System.currentTimeMillis();
+            long rtt = acked.retryCount == 0 ? now - acked.sentTime : -1;
+            if (rtt >= 0) {
+                estimatorFor(acked).sample(rtt);
+            }
+            if (congestion != null) {
+                if (rtt >= 0) {
+                    pathRtt.sample(rtt);
+                }
+                congestion.onAck(rtt, now);
+                pacer.setRate(congestion.window(), pathRtt.srttMs());
+            }
+        }
+    }
+
+    private void onLoss(long now) {
+        if (congestion != null) {
+            congestion.onLoss(now, Math.max(pathRtt.srttMs(), 0));
+            pacer.setRate(congestion.window(), pathRtt.srttMs());
+        }
+    }
+
+    /**
+     * Gets the round-trip estimator for a destination, creating it on first use.
+     *
+     * @param destinationId The destination client ID
+     * @return The destination's estimator
+     * @since 1.3
+     */
+    public RttEstimator getRttEstimator(byte destinationId) {
+        return estimators.computeIfAbsent(destinationId, id -> RttEstimator.fromConfig(config, timeoutMs));
+    }
+
+    private RttEstimator estimatorFor(RetransmitWindow.Slot slot) {
+        return getRttEstimator(slot.packet.header().destinationId());
     }
 
     /**
      * Checks if a received packet is a duplicate based on sequence number.
      * Also sends an ACK for the received packet.
      *
+     * <p>Packets that arrive out of order are accepted once. The sender's window opens at
+     * the first sequence received; sequences before it, or older than the replay window,
+     * are reported as duplicates.
+     *
      * @param fromClientId The sender's client ID
      * @param sequence The packet sequence number
      * @return true if this is a duplicate packet that should be ignored
      * @throws IOException if sending ACK fails
      */
     public boolean handleReceivedReliable(byte fromClientId, short sequence) throws IOException {
-        Short lastSeq = lastReceivedSequence.get(fromClientId);
+        sendAckFor(fromClientId, sequence);
+        return !markReceived(fromClientId, sequence);
+    }
 
-        sendAckFor(sequence);
+    /**
+     * Records a received sequence in the sender's replay window.
+     *
+     * @return true if the sequence is new
+     */
+    boolean markReceived(byte fromClientId, short sequence) {
+        return replayWindows
+            .computeIfAbsent(fromClientId, id -> new SequenceWindow(config.getReliableReplayWindow()))
+            .accept(sequence);
+    }
 
-        if (lastSeq != null && sequence <= lastSeq) {
-            return true;
+    /**
+     * Sends a NACK to a peer listing the holes in the sequences received from it, if there
+     * are any. Call it periodically, for example once per RTT, while holes remain.
+     *
+     * @param peerId The client ID whose packets are missing
+     * @return true if a NACK was sent
+     * @throws IOException if sending fails
+     * @since 1.3
+     */
+    public boolean sendNack(byte peerId) throws IOException {
+        SequenceWindow received = replayWindows.get(peerId);
+        if (received == null) {
+            return false;
+        }
+        PacketPayload.Nack nack;
+        synchronized (received) {
+            long missing = received.missingMask();
+            if (missing == 0) {
+                return false;
+            }
+            nack = new PacketPayload.Nack(received.newest(), missing);
         }
+        socket.sendPacket(NeonPacket.create(PacketType.NACK, (short) 0, clientId, peerId, nack), relayAddr);
+        return true;
+    }
 
-        lastReceivedSequence.put(fromClientId, sequence);
-        return false;
+    void sendAckFor(byte peerId, short sequence) throws IOException {
+        acks.queue(peerId, sequence);
+        acks.flushDue();
     }
 
-    private void sendAckFor(short sequence) throws IOException {
-        PacketPayload.Ack ack = new PacketPayload.Ack(List.of(sequence));
-        NeonPacket packet = NeonPacket.create(
-            PacketType.ACK, (short) 0, clientId, (byte) 0, ack
-        );
-        socket.sendPacket(packet, relayAddr);
+    /**
+     * Gets the scheduler that delays, coalesces and piggybacks this manager's ACKs.
+     *
+     * @since 1.3
+     */
+    public AckScheduler getAckScheduler() {
+        return acks;
     }
 
     /**
-     * Sets the timeout for retransmissions.
+     * Sets the timeout for retransmissions to a destination with no RTT samples yet.
+     * Discards the estimates gathered so far.
      *
      * @param timeoutMs Timeout in milliseconds
      */
     public void setTimeout(int timeoutMs) {
         this.timeoutMs = timeoutMs;
+        estimators.clear();
     }
 
     /**
@@ -196,20 +490,33 @@ public class ReliablePacketManager {
     }
 
     /**
-     * Returns the number of packets pending acknowledgment.
+     * Returns the number of packets queued by congestion control and not yet sent.
      *
-     * @return Pending packet count
+     * @return Queued packet count
+     * @since 1.3
      */
-    public int getPendingCount() {
-        return pendingPackets.size();
+    public int getQueuedCount() {
+        synchronized (unsentReliable) {
+            return unsentReliable.size() + unsentUnreliable.size();
+        }
+    }
+
+    /**
+     * Gets this connection's congestion controller.
+     *
+     * @return The controller, or empty if congestion control is off
+     * @since 1.3
+     */
+    public Optional<CongestionController> getCongestionController() {
+        return Optional.ofNullable(congestion);
     }
 
     /**
-     * Tracks a packet awaiting acknowledgment.
+     * Returns the number of packets pending acknowledgment.
+     *
+     * @return Pending packet count
      */
-    private record PendingReliablePacket(
-        NeonPacket packet,
-        long lastSentTime,
-        int retryCount
-    ) {}
+    public int getPendingCount() {
+        return window.size();
+    }
 }
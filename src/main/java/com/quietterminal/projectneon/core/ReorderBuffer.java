@@ -0,0 +1,117 @@
+package com.quietterminal.projectneon.core;
+
+import java.util.function.Consumer;
+
+/**
+ * Delivers items from one sender in sequence order.
+ *
+ * <p>The buffer expects sequences starting from a given first sequence. An item with the
+ * expected sequence is delivered at once, followed by any buffered items that were
+ * waiting behind it. An item that arrives early is held in a slot indexed by its
+ * sequence until the gap before it is filled, as long as it is less than
+ * {@link #depth()} ahead of the expected sequence. Sequences are compared with
+ * serial-number arithmetic, so ordering holds across wraparound.
+ *
+ * <p>Methods are thread-safe. The delivery consumer is called while the buffer is
+ * locked, in sequence order.
+ *
+ * @param <T> the buffered item type
+ * @since 1.3
+ */
+public final class ReorderBuffer<T> {
+
+    /**
+     * Outcome of offering an item.
+     */
+    public enum Result {
+        /** The item was the expected one and was delivered, possibly with buffered items. */
+        DELIVERED,
+        /** The item arrived early and was buffered. */
+        BUFFERED,
+        /** The item was already delivered or is already buffered. */
+        DUPLICATE,
+        /** The item is too far ahead to buffer and was dropped. */
+        OVERFLOW
+    }
+
+    private final Object[] slots;
+    private final int mask;
+    private short expected;
+    private int buffered;
+
+    /**
+     * Creates a reorder buffer.
+     *
+     * @param firstSequence the first sequence to deliver
+     * @param depth how far ahead items may be buffered, rounded up to a power of two
+     */
+    public ReorderBuffer(short firstSequence, int depth) {
+        if (depth <= 0 || depth > (1 << 15)) {
+            throw new IllegalArgumentException("depth must be between 1 and 32768");
+        }
+        int capacity = Integer.highestOneBit(depth) == depth ? depth : Integer.highestOneBit(depth) << 1;
+        this.slots = new Object[capacity];
+        this.mask = capacity - 1;
+        this.expected = firstSequence;
+    }
+
+    /**
+     * Offers a received item.
+     *
+     * @param sequence the item's sequence
+     * @param item the item
+     * @param deliver receives items in sequence order
+     * @return what happened to the item
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized Result offer(short sequence, T item, Consumer<? super T> deliver) {
+        int ahead = SequenceWindow.distance(expected, sequence);
+        if (ahead < 0) {
+            return Result.DUPLICATE;
+        }
+        if (ahead > mask) {
+            return Result.OVERFLOW;
+        }
+        if (ahead > 0) {
+            int index = sequence & mask;
+            if (slots[index] != null) {
+                return Result.DUPLICATE;
+            }
+            slots[index] = item;
+            buffered++;
+            return Result.BUFFERED;
+        }
+
+        deliver.accept(item);
+        expected++;
+        Object next;
+        while ((next = slots[expected & mask]) != null) {
+            slots[expected & mask] = null;
+            buffered--;
+            deliver.accept((T) next);
+            expected++;
+        }
+        return Result.DELIVERED;
+    }
+
+    /**
+     * Gets the next sequence to be delivered.
+     */
+    public synchronized short expected() {
+        return expected;
+    }
+
+    /**
+     * Gets the number of items waiting for an earlier sequence.
+     */
+    public synchronized int bufferedCount() {
+        return buffered;
+    }
+
+    /**
+     * Gets how far ahead of the expected sequence items may be buffered.
+     */
+    public int depth() {
+        return mask + 1;
+    }
+}
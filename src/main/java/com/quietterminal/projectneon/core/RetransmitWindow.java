@@ -0,0 +1,225 @@
+package com.quietterminal.projectneon.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Packets awaiting acknowledgment, shared by {@link AckStateMachine} and
+ * {@link ReliablePacketManager}.
+ *
+ * <p>Pending packets live in mutable {@link Slot}s in a ring indexed by the low bits of
+ * their sequence number, so tracking, acknowledging and resending a packet neither boxes
+ * the sequence nor replaces an immutable record. The ring starts small and doubles
+ * whenever two in-flight sequences land on the same index, up to one slot per possible
+ * sequence.
+ *
+ * <p>Retransmission deadlines are kept in a {@link TimingWheel}, so {@link #advance}
+ * only visits packets that are due instead of scanning the whole window. Wheel entries
+ * are never cancelled: an entry for a slot that has since been acknowledged or resent
+ * is skipped when it fires, because the slot is no longer live or its deadline has moved.
+ *
+ * <p>{@link #gaps} counts, per packet, the ACKs that reported a later sequence but not
+ * the packet itself, so callers can retransmit a lost packet before its timeout. The
+ * window tracks its oldest and newest pending sequences, so this only visits the serial
+ * range between them that the ACK reaches, however large the ring has grown.
+ */
+final class RetransmitWindow {
+    static final long TICK_MS = 10;
+    private static final int WHEEL_SIZE = 512;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int MAX_CAPACITY = 1 << 16;
+
+    /**
+     * One packet awaiting acknowledgment. Fields are only changed under the window's lock.
+     */
+    static final class Slot {
+        final short sequence;
+        final NeonPacket packet;
+        long sentTime;
+        int retryCount;
+        long deadline;
+        int missCount;
+        boolean live = true;
+
+        Slot(short sequence, NeonPacket packet, long sentTime) {
+            this.sequence = sequence;
+            this.packet = packet;
+            this.sentTime = sentTime;
+        }
+    }
+
+    private final TimingWheel<Slot> deadlines;
+    private Slot[] slots = new Slot[INITIAL_CAPACITY];
+    private int size;
+    private short oldest;
+    private short newest;
+
+    RetransmitWindow(long nowMs) {
+        this.deadlines = new TimingWheel<>(TICK_MS, WHEEL_SIZE, nowMs);
+    }
+
+    /**
+     * Tracks a packet, replacing any packet pending with the same sequence.
+     */
+    synchronized Slot track(short sequence, NeonPacket packet, long sentTime, long deadline) {
+        int index = indexOf(sequence);
+        while (slots[index] != null && slots[index].sequence != sequence) {
+            grow();
+            index = indexOf(sequence);
+        }
+        Slot previous = slots[index];
+        if (previous != null) {
+            previous.live = false;
+        } else if (size++ == 0) {
+            oldest = sequence;
+            newest = sequence;
+        } else if (SequenceWindow.isNewer(oldest, sequence)) {
+            oldest = sequence;
+        } else if (SequenceWindow.isNewer(sequence, newest)) {
+            newest = sequence;
+        }
+        Slot slot = new Slot(sequence, packet, sentTime);
+        slots[index] = slot;
+        schedule(slot, deadline);
+        return slot;
+    }
+
+    synchronized Slot get(short sequence) {
+        Slot slot = slots[indexOf(sequence)];
+        return slot != null && slot.sequence == sequence ? slot : null;
+    }
+
+    /**
+     * Stops tracking a sequence.
+     *
+     * @return the removed slot, or null if the sequence was not pending
+     */
+    synchronized Slot remove(short sequence) {
+        int index = indexOf(sequence);
+        Slot slot = slots[index];
+        if (slot == null || slot.sequence != sequence) {
+            return null;
+        }
+        slots[index] = null;
+        slot.live = false;
+        if (--size > 0 && sequence == oldest) {
+            do {
+                oldest++;
+            } while (get(oldest) == null);
+        }
+        return slot;
+    }
+
+    /**
+     * Records a resend of a pending packet and sets its next deadline.
+     */
+    synchronized void resent(Slot slot, long sentTime, long deadline) {
+        if (!slot.live) {
+            return;
+        }
+        slot.sentTime = sentTime;
+        slot.retryCount++;
+        schedule(slot, deadline);
+    }
+
+    /**
+     * Moves the deadline of a pending packet.
+     */
+    synchronized void reschedule(Slot slot, long deadline) {
+        if (slot.live) {
+            schedule(slot, deadline);
+        }
+    }
+
+    /**
+     * Passes every live packet whose deadline has been reached to the consumer.
+     *
+     * @return the number of due packets
+     */
+    int advance(long nowMs, Consumer<Slot> due) {
+        int[] count = {0};
+        deadlines.advance(nowMs, slot -> {
+            boolean isDue;
+            synchronized (this) {
+                isDue = slot.live && slot.deadline <= nowMs;
+            }
+            if (isDue) {
+                count[0]++;
+                due.accept(slot);
+            }
+        });
+        return count[0];
+    }
+
+    /**
+     * Counts an ACK from a peer against that peer's packets that were sent once and are
+     * older than the ACK's latest sequence but not covered by it. Only pending sequences
+     * from the oldest up to the ACK's latest are visited.
+     *
+     * @param threshold number of such ACKs after which a packet is reported
+     * @param lost receives each packet the ACK takes to the threshold
+     */
+    synchronized void gaps(byte peerId, PacketPayload.SelectiveAck ack, int threshold, Consumer<Slot> lost) {
+        if (size == 0) {
+            return;
+        }
+        int span = Math.min(SequenceWindow.distance(oldest, ack.latest()), SequenceWindow.distance(oldest, newest) + 1);
+        for (int i = 0; i < span; i++) {
+            Slot slot = get((short) (oldest + i));
+            if (slot != null && slot.retryCount == 0
+                    && slot.packet.header().destinationId() == peerId
+                    && !ack.covers(slot.sequence)
+                    && ++slot.missCount == threshold) {
+                lost.accept(slot);
+            }
+        }
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized List<Slot> snapshot() {
+        List<Slot> live = new ArrayList<>(size);
+        for (Slot slot : slots) {
+            if (slot != null) {
+                live.add(slot);
+            }
+        }
+        return live;
+    }
+
+    synchronized void clear() {
+        for (Slot slot : slots) {
+            if (slot != null) {
+                slot.live = false;
+            }
+        }
+        slots = new Slot[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    private void schedule(Slot slot, long deadline) {
+        slot.deadline = deadline;
+        deadlines.schedule(slot, deadline);
+    }
+
+    private int indexOf(short sequence) {
+        return sequence & (slots.length - 1);
+    }
+
+    /**
+     * Doubles the ring. Sequences that differ in their low bits still differ after
+     * doubling, and at {@link #MAX_CAPACITY} every sequence has its own slot.
+     */
+    private void grow() {
+        Slot[] old = slots;
+        slots = new Slot[old.length << 1];
+        for (Slot slot : old) {
+            if (slot != null) {
+                slots[indexOf(slot.sequence)] = slot;
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.quietterminal.projectneon.core;
+
+/**
+ * Round-trip time estimator and retransmission timeout calculator for one peer,
+ * following RFC 6298.
+ *
+ * <p>Each ACK for a packet that was sent only once yields an RTT sample. The estimator
+ * keeps a smoothed RTT and RTT variance, and derives the retransmission timeout (RTO)
+ * as {@code SRTT + max(1 ms, 4 * RTTVAR)}, clamped to a configured range. Until the
+ * first sample the RTO is the configured initial timeout. Samples from retransmitted
+ * packets are ambiguous and must not be fed in (Karn's rule); callers pass the retry
+ * count to {@link #timeoutFor(int)} instead, which doubles the RTO for each retry.
+ *
+ * <p>Values are kept in fixed point (SRTT scaled by 8, RTTVAR by 4) so an update is a
+ * few shifts and adds. Methods are thread-safe.
+ *
+ * @since 1.3
+ */
+public final class RttEstimator {
+    private static final int MAX_BACKOFF_SHIFT = 16;
+
+    private final long minRtoMs;
+    private final long maxRtoMs;
+    private long scaledSrtt;
+    private long scaledRttvar;
+    private long rtoMs;
+    private boolean sampled;
+
+    /**
+     * Creates an estimator.
+     *
+     * @param initialRtoMs timeout to use before the first sample
+     * @param minRtoMs lower bound for the computed timeout
+     * @param maxRtoMs upper bound for the computed and backed-off timeout
+     */
+    public RttEstimator(long initialRtoMs, long minRtoMs, long maxRtoMs) {
+        if (minRtoMs <= 0) {
+            throw new IllegalArgumentException("minRtoMs must be positive");
+        }
+        if (maxRtoMs < minRtoMs) {
+            throw new IllegalArgumentException("maxRtoMs must be >= minRtoMs");
+        }
+        this.minRtoMs = minRtoMs;
+        this.maxRtoMs = maxRtoMs;
+        this.rtoMs = clamp(initialRtoMs);
+    }
+
+    /**
+     * Creates an estimator with the timeout bounds from a configuration.
+     *
+     * @param config the configuration supplying the minimum and maximum timeout
+     * @param initialRtoMs timeout to use before the first sample
+     */
+    public static RttEstimator fromConfig(NeonConfig config, long initialRtoMs) {
+        return new RttEstimator(initialRtoMs,
+            Math.min(config.getReliableMinTimeoutMs(), initialRtoMs), config.getReliableMaxTimeoutMs());
+    }
+
+    /**
+     * Records a round-trip time measured from a packet that was not retransmitted.
+     *
+     * @param rttMs the measured round-trip time; negative samples are ignored
+     */
+    public synchronized void sample(long rttMs) {
+        if (rttMs < 0) {
+            return;
+        }
+        if (!sampled) {
+            scaledSrtt = rttMs << 3;
+            scaledRttvar = rttMs << 1;
+            sampled = true;
+        } else {
+            long error = rttMs - (scaledSrtt >> 3);
+            scaledSrtt += error;
+            scaledRttvar += Math.abs(error) - (scaledRttvar >> 2);
+        }
+        rtoMs = clamp((scaledSrtt >> 3) + Math.max(1, scaledRttvar));
+    }
+
+    /**
+     * Gets the timeout for a packet that has been retransmitted {@code retryCount} times:
+     * the current RTO doubled once per retry, capped at the maximum.
+     */
+    public synchronized long timeoutFor(int retryCount) {
+        int shift = Math.min(Math.max(retryCount, 0), MAX_BACKOFF_SHIFT);
+        return Math.min(rtoMs << shift, maxRtoMs);
+    }
+
+    /**
+     * Gets the current retransmission timeout in milliseconds.
+     */
+    public synchronized long rtoMs() {
+        return rtoMs;
+    }
+
+    /**
+     * Gets the smoothed round-trip time in milliseconds, or -1 before the first sample.
+     */
+    public synchronized long srttMs() {
+        return sampled ? scaledSrtt >> 3 : -1;
+    }
+
+    /**
+     * Gets the round-trip time variance in milliseconds, or -1 before the first sample.
+     */
+    public synchronized long rttvarMs() {
+        return sampled ? scaledRttvar >> 2 : -1;
+    }
+
+    private long clamp(long value) {
+        return Math.max(minRtoMs, Math.min(maxRtoMs, value));
+    }
+}
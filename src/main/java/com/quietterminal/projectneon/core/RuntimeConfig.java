@@ -76,6 +76,7 @@ public final class RuntimeConfig {
         defaults.put("buffer.poolMaxSize", 64);
         defaults.put("buffer.minSize", 1024);
         defaults.put("buffer.enforce", true);
+        defaults.put("buffer.directBudgetBytes", 64L * 1024 * 1024);
 
         defaults.put("relay.port", 7777);
         defaults.put("relay.cleanupIntervalMs", 5000);
@@ -94,6 +95,7 @@ public final class RuntimeConfig {
         defaults.put("flood.threshold", 3);
         defaults.put("flood.windowMs", 10000);
         defaults.put("flood.throttlePenaltyDivisor", 2);
+        defaults.put("flood.denyDurationMs", 0);
         defaults.put("flood.tokenRefillIntervalMs", 1000);
 
         defaults.put("host.ackTimeoutMs", 2000);
@@ -115,6 +117,17 @@ public final class RuntimeConfig {
 
         defaults.put("reliable.packetTimeoutMs", 2000);
         defaults.put("reliable.packetMaxRetries", 5);
+        defaults.put("reliable.minTimeoutMs", 100);
+        defaults.put("reliable.maxTimeoutMs", 10000);
+        defaults.put("reliable.replayWindow", 256);
+        defaults.put("reliable.reorderDepth", 64);
+        defaults.put("reliable.fastRetransmitThreshold", 3);
+
+        defaults.put("congestion.algorithm", "NONE");
+        defaults.put("congestion.initialWindow", 10);
+        defaults.put("congestion.minWindow", 2);
+        defaults.put("congestion.targetDelayMs", 25);
+        defaults.put("congestion.pacingBurst", 4);
 
         defaults.put("batch.ackMaxSize", 10);
         defaults.put("batch.ackMaxDelayMs", 50);
@@ -125,6 +138,14 @@ public final class RuntimeConfig {
 
         defaults.put("event.useEventDrivenReceiver", false);
         defaults.put("event.loopSelectTimeoutMs", 100);
+        defaults.put("event.loopMaxBatchSize", 64);
+
+        defaults.put("relay.shardCount", 1);
+        defaults.put("relay.workerThreads", 0);
+        defaults.put("relay.workerQueueCapacity", 1024);
+        defaults.put("relay.parallelBroadcastThreshold", 0);
+        defaults.put("relay.sessionMaxPacketsPerSecond", 0);
+        defaults.put("relay.globalMaxPacketsPerSecond", 0);
     }
 
     /**
@@ -417,6 +438,7 @@ public final class RuntimeConfig {
         setInt("buffer.poolMaxSize", config.getBufferPoolMaxSize());
         setInt("buffer.minSize", config.getMinBufferSize());
         setBoolean("buffer.enforce", config.isEnforceBufferSize());
+        setLong("buffer.directBudgetBytes", config.getDirectBufferBudgetBytes());
 
         setInt("relay.port", config.getRelayPort());
         setInt("relay.cleanupIntervalMs", config.getRelayCleanupIntervalMs());
@@ -435,6 +457,7 @@ public final class RuntimeConfig {
         setInt("flood.threshold", config.getFloodThreshold());
         setInt("flood.windowMs", config.getFloodWindowMs());
         setInt("flood.throttlePenaltyDivisor", config.getThrottlePenaltyDivisor());
+        setInt("flood.denyDurationMs", config.getFloodDenyDurationMs());
         setInt("flood.tokenRefillIntervalMs", config.getTokenRefillIntervalMs());
 
         setInt("host.ackTimeoutMs", config.getHostAckTimeoutMs());
@@ -456,6 +479,17 @@ public final class RuntimeConfig {
 
         setInt("reliable.packetTimeoutMs", config.getReliablePacketTimeoutMs());
         setInt("reliable.packetMaxRetries", config.getReliablePacketMaxRetries());
+        setInt("reliable.minTimeoutMs", config.getReliableMinTimeoutMs());
+        setInt("reliable.maxTimeoutMs", config.getReliableMaxTimeoutMs());
+        setInt("reliable.replayWindow", config.getReliableReplayWindow());
+        setInt("reliable.reorderDepth", config.getReliableReorderDepth());
+        setInt("reliable.fastRetransmitThreshold", config.getReliableFastRetransmitThreshold());
+
+        setString("congestion.algorithm", config.getCongestionAlgorithm().name());
+        setInt("congestion.initialWindow", config.getCongestionInitialWindow());
+        setInt("congestion.minWindow", config.getCongestionMinWindow());
+        setInt("congestion.targetDelayMs", config.getCongestionTargetDelayMs());
+        setInt("congestion.pacingBurst", config.getCongestionPacingBurst());
 
         setInt("batch.ackMaxSize", config.getBatchAckMaxSize());
         setInt("batch.ackMaxDelayMs", config.getBatchAckMaxDelayMs());
@@ -466,6 +500,14 @@ public final class RuntimeConfig {
 
         setBoolean("event.useEventDrivenReceiver", config.isUseEventDrivenReceiver());
         setInt("event.loopSelectTimeoutMs", config.getEventLoopSelectTimeoutMs());
+        setInt("event.loopMaxBatchSize", config.getEventLoopMaxBatchSize());
+
+        setInt("relay.shardCount", config.getRelayShardCount());
+        setInt("relay.workerThreads", config.getRelayWorkerThreads());
+        setInt("relay.workerQueueCapacity", config.getRelayWorkerQueueCapacity());
+        setInt("relay.parallelBroadcastThreshold", config.getRelayParallelBroadcastThreshold());
+        setInt("relay.sessionMaxPacketsPerSecond", config.getRelaySessionMaxPacketsPerSecond());
+        setInt("relay.globalMaxPacketsPerSecond", config.getRelayGlobalMaxPacketsPerSecond());
     }
 
     /**
@@ -478,6 +520,7 @@ public final class RuntimeConfig {
             .bufferPoolMaxSize(getInt("buffer.poolMaxSize"))
             .minBufferSize(getInt("buffer.minSize"))
             .enforceBufferSize(getBoolean("buffer.enforce"))
+            .directBufferBudgetBytes(getLong("buffer.directBudgetBytes"))
             .relayPort(getInt("relay.port"))
             .relayCleanupIntervalMs(getInt("relay.cleanupIntervalMs"))
             .relayClientTimeoutMs(getInt("relay.clientTimeoutMs"))
@@ -493,6 +536,7 @@ public final class RuntimeConfig {
             .floodThreshold(getInt("flood.threshold"))
             .floodWindowMs(getInt("flood.windowMs"))
             .throttlePenaltyDivisor(getInt("flood.throttlePenaltyDivisor"))
+            .floodDenyDurationMs(getInt("flood.denyDurationMs"))
             .tokenRefillIntervalMs(getInt("flood.tokenRefillIntervalMs"))
             .hostAckTimeoutMs(getInt("host.ackTimeoutMs"))
             .hostMaxAckRetries(getInt("host.maxAckRetries"))
@@ -511,6 +555,17 @@ public final class RuntimeConfig {
             .clientDisconnectNoticeDelayMs(getInt("client.disconnectNoticeDelayMs"))
             .reliablePacketTimeoutMs(getInt("reliable.packetTimeoutMs"))
             .reliablePacketMaxRetries(getInt("reliable.packetMaxRetries"))
+            .reliableMinTimeoutMs(getInt("reliable.minTimeoutMs"))
+            .reliableMaxTimeoutMs(getInt("reliable.maxTimeoutMs"))
+            .reliableReplayWindow(getInt("reliable.replayWindow"))
+            .reliableReorderDepth(getInt("reliable.reorderDepth"))
+            .reliableFastRetransmitThreshold(getInt("reliable.fastRetransmitThreshold"))
+            .congestionAlgorithm(CongestionController.Algorithm.valueOf(
+                getString("congestion.algorithm").trim().toUpperCase(Locale.ROOT)))
+            .congestionInitialWindow(getInt("congestion.initialWindow"))
+            .congestionMinWindow(getInt("congestion.minWindow"))
+            .congestionTargetDelayMs(getInt("congestion.targetDelayMs"))
+            .congestionPacingBurst(getInt("congestion.pacingBurst"))
             .batchAckMaxSize(getInt("batch.ackMaxSize"))
             .batchAckMaxDelayMs(getInt("batch.ackMaxDelayMs"))
             .maxNameLength(getInt("protocol.maxNameLength"))
@@ -518,6 +573,13 @@ public final class RuntimeConfig {
             .maxPacketCount(getInt("protocol.maxPacketCount"))
             .useEventDrivenReceiver(getBoolean("event.useEventDrivenReceiver"))
             .eventLoopSelectTimeoutMs(getInt("event.loopSelectTimeoutMs"))
+            .eventLoopMaxBatchSize(getInt("event.loopMaxBatchSize"))
+            .relayShardCount(getInt("relay.shardCount"))
+            .relayWorkerThreads(getInt("relay.workerThreads"))
+            .relayWorkerQueueCapacity(getInt("relay.workerQueueCapacity"))
+            .relayParallelBroadcastThreshold(getInt("relay.parallelBroadcastThreshold"))
+            .relaySessionMaxPacketsPerSecond(getInt("relay.sessionMaxPacketsPerSecond"))
+            .relayGlobalMaxPacketsPerSecond(getInt("relay.globalMaxPacketsPerSecond"))
             .build();
     }
 
@@ -0,0 +1,140 @@
+package com.quietterminal.projectneon.core;
+
+import java.util.Arrays;
+
+/**
+ * Replay window over 16-bit sequence numbers from one sender.
+ *
+ * <p>Sequence numbers are compared with serial-number arithmetic (RFC 1982): a sequence
+ * is newer than another if it is less than half the sequence space ahead of it, so
+ * comparisons keep working after the counter wraps from 65535 to 0. The window
+ * remembers which of the last {@code size} sequences up to the newest one have been
+ * seen in a bitset indexed by sequence, so late out-of-order packets are accepted once
+ * and replays are rejected. Sequences older than the window are rejected as stale.
+ *
+ * <p>The window opens at the first sequence accepted; everything before it counts as
+ * already seen.
+ *
+ * @since 1.3
+ */
+public final class SequenceWindow {
+    private final long[] bits;
+    private final int mask;
+    private short newest;
+    private boolean started;
+
+    /**
+     * Creates a replay window.
+     *
+     * @param size number of sequences remembered, rounded up to a power of two of at least 64
+     */
+    public SequenceWindow(int size) {
+        if (size <= 0 || size > (1 << 15)) {
+            throw new IllegalArgumentException("size must be between 1 and 32768");
+        }
+        int capacity = Math.max(Long.SIZE, Integer.highestOneBit(size - 1) << 1);
+        this.bits = new long[capacity / Long.SIZE];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Gets how far {@code to} is ahead of {@code from} in serial-number arithmetic,
+     * from -32768 to 32767. Negative means {@code to} is older.
+     */
+    public static int distance(short from, short to) {
+        return (short) (to - from);
+    }
+
+    /**
+     * Checks whether {@code candidate} is newer than {@code reference}, allowing for wraparound.
+     */
+    public static boolean isNewer(short candidate, short reference) {
+        return distance(reference, candidate) > 0;
+    }
+
+    /**
+     * Records a received sequence.
+     *
+     * @return true if the sequence is new, false if it is a replay or older than the window
+     */
+    public synchronized boolean accept(short sequence) {
+        if (!started) {
+            started = true;
+            newest = sequence;
+            Arrays.fill(bits, -1L);
+            return true;
+        }
+
+        int ahead = distance(newest, sequence);
+        if (ahead > 0) {
+            if (ahead > mask) {
+                Arrays.fill(bits, 0L);
+            } else {
+                for (int i = 1; i <= ahead; i++) {
+                    clear((short) (newest + i));
+                }
+            }
+            newest = sequence;
+            set(sequence);
+            return true;
+        }
+        if (-ahead > mask || isSet(sequence)) {
+            return false;
+        }
+        set(sequence);
+        return true;
+    }
+
+    /**
+     * Gets the newest sequence accepted so far.
+     *
+     * @throws IllegalStateException if no sequence has been accepted yet
+     */
+    public synchronized short newest() {
+        if (!started) {
+            throw new IllegalStateException("No sequence received yet");
+        }
+        return newest;
+    }
+
+    /**
+     * Gets a bitmap of the {@value PacketPayload.SelectiveAck#WINDOW} sequences before
+     * {@link #newest()} that have not arrived, where bit {@code i} stands for
+     * {@code newest - 1 - i}, as carried by {@link PacketPayload.Nack}. Sequences from
+     * before the window opened never count as missing.
+     */
+    public synchronized long missingMask() {
+        if (!started) {
+            return 0L;
+        }
+        long missing = 0L;
+        for (int i = 0; i < PacketPayload.SelectiveAck.WINDOW; i++) {
+            if (!isSet((short) (newest - 1 - i))) {
+                missing |= 1L << i;
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Gets the number of sequences the window remembers.
+     */
+    public int size() {
+        return mask + 1;
+    }
+
+    private boolean isSet(short sequence) {
+        int index = sequence & mask;
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private void set(short sequence) {
+        int index = sequence & mask;
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private void clear(short sequence) {
+        int index = sequence & mask;
+        bits[index >>> 6] &= ~(1L << index);
+    }
+}
@@ -0,0 +1,127 @@
+package com.quietterminal.projectneon.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel for scheduling many coarse deadlines cheaply.
+ * Deadlines are rounded up to whole ticks and hashed into a fixed ring of buckets, so
+ * scheduling is O(1) and advancing the wheel only visits the buckets for the ticks that
+ * have passed. Deadlines further away than one rotation stay in their bucket and are
+ * skipped until their round comes up.
+ *
+ * <p>Entries cannot be cancelled. Callers that need to drop or push back a deadline
+ * check the item's current state when it expires, and ignore or reschedule it:
+ * <pre>
+ * TimingWheel&lt;Peer&gt; wheel = new TimingWheel&lt;&gt;(100, 512, System.currentTimeMillis());
+ * wheel.schedule(peer, peer.lastSeen() + timeoutMs);
+ *
+ * long now = System.currentTimeMillis();
+ * wheel.advance(now, peer -&gt; {
+ *     if (peer.lastSeen() + timeoutMs &gt; now) {
+ *         wheel.schedule(peer, peer.lastSeen() + timeoutMs);
+ *     } else {
+ *         remove(peer);
+ *     }
+ * });
+ * </pre>
+ *
+ * <p>This class is thread-safe. Expired items are handed to the consumer after the
+ * wheel's lock is released, so the consumer may schedule again.
+ *
+ * @param <T> the scheduled item type
+ * @since 1.3
+ */
+public final class TimingWheel<T> {
+    private final long tickMs;
+    private final int mask;
+    private final List<ArrayDeque<Entry<T>>> buckets;
+    private long currentTick;
+    private int size;
+
+    /**
+     * Creates a timing wheel.
+     *
+     * @param tickMs duration of one tick in milliseconds
+     * @param wheelSize number of buckets, rounded up to a power of two
+     * @param startMs the current time in milliseconds
+     */
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0) {
+            throw new IllegalArgumentException("tickMs must be positive");
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("wheelSize must be between 1 and 2^30");
+        }
+        int bucketCount = Integer.highestOneBit(wheelSize) == wheelSize
+            ? wheelSize : Integer.highestOneBit(wheelSize) << 1;
+
+        this.tickMs = tickMs;
+        this.mask = bucketCount - 1;
+        this.buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+        this.currentTick = startMs / tickMs;
+    }
+
+    /**
+     * Schedules an item to expire at the given time. Deadlines that have already
+     * passed expire on the next tick.
+     *
+     * @param item the item
+     * @param deadlineMs the deadline in milliseconds
+     */
+    public synchronized void schedule(T item, long deadlineMs) {
+        long tick = Math.max(Math.floorDiv(deadlineMs + tickMs - 1, tickMs), currentTick + 1);
+        buckets.get((int) (tick & mask)).addLast(new Entry<>(item, tick));
+        size++;
+    }
+
+    /**
+     * Advances the wheel to the given time and passes every item whose deadline has
+     * been reached to the consumer.
+     *
+     * @param nowMs the current time in milliseconds
+     * @param expired receives the expired items
+     * @return the number of expired items
+     */
+    public int advance(long nowMs, Consumer<? super T> expired) {
+        List<T> due = new ArrayList<>();
+        synchronized (this) {
+            long nowTick = Math.floorDiv(nowMs, tickMs);
+            long steps = Math.min(nowTick - currentTick, buckets.size());
+            for (long i = 1; i <= steps; i++) {
+                Iterator<Entry<T>> it = buckets.get((int) ((currentTick + i) & mask)).iterator();
+                while (it.hasNext()) {
+                    Entry<T> entry = it.next();
+                    if (entry.tick() <= nowTick) {
+                        it.remove();
+                        due.add(entry.item());
+                    }
+                }
+            }
+            if (nowTick > currentTick) {
+                currentTick = nowTick;
+            }
+            size -= due.size();
+        }
+
+        for (T item : due) {
+            expired.accept(item);
+        }
+        return due.size();
+    }
+
+    /**
+     * Gets the number of scheduled items.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private record Entry<T>(T item, long tick) {}
+}
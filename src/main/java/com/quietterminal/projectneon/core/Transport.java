@@ -2,6 +2,7 @@ package com.quietterminal.projectneon.core;
 
 import java.io.IOException;
 import java.net.SocketAddress;
+import java.nio.ByteBuffer;
 
 /**
  * Abstract transport layer for Neon protocol communication.
@@ -60,6 +61,22 @@ public interface Transport extends AutoCloseable {
      */
     void send(byte[] data, SocketAddress address) throws IOException;
 
+    /**
+     * Sends the remaining bytes of a buffer to the specified address without
+     * changing the buffer's position.
+     * The default implementation copies into an array; transports backed by a
+     * channel should override this to send the buffer directly.
+     *
+     * @param data the data to send
+     * @param address the destination address
+     * @throws IOException if sending fails
+     */
+    default void send(ByteBuffer data, SocketAddress address) throws IOException {
+        byte[] bytes = new byte[data.remaining()];
+        data.get(data.position(), bytes);
+        send(bytes, address);
+    }
+
     /**
      * Sends a Neon packet to the specified address.
      *
@@ -80,6 +97,23 @@ public interface Transport extends AutoCloseable {
      */
     ReceivedData receive() throws IOException;
 
+    /**
+     * Receives a packet into a pooled buffer without copying it.
+     * Returns null if no packet is available (non-blocking) or throws on timeout.
+     * The caller must close the returned lease once it is done with the bytes.
+     * The default implementation wraps the array returned by {@link #receive()}.
+     *
+     * @return a lease over the received packet or null
+     * @throws IOException if receiving fails
+     */
+    default BufferLease receiveLease() throws IOException {
+        ReceivedData received = receive();
+        if (received == null) {
+            return null;
+        }
+        return BufferLease.wrap(received.data(), received.source());
+    }
+
     /**
      * Sets blocking mode for the transport.
      *
@@ -7,6 +7,7 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
 import java.nio.channels.DatagramChannel;
 
 /**
@@ -20,6 +21,8 @@ public class UdpTransport implements Transport {
     private final DatagramChannel channel;
     private final DatagramSocket socket;
     private final ByteBufferPool bufferPool;
+    private final DirectBufferPool directBufferPool;
+    private final BufferLease.Releaser heapReleaser;
     private final NeonConfig config;
 
     /**
@@ -46,6 +49,8 @@ public class UdpTransport implements Transport {
             config.getBufferPoolInitialSize(),
             config.getBufferPoolMaxSize()
         );
+        this.directBufferPool = config.sharedDirectBufferPool();
+        this.heapReleaser = buffer -> bufferPool.release(buffer.array());
     }
 
     @Override
@@ -66,12 +71,44 @@ public class UdpTransport implements Transport {
 
     @Override
     public void send(byte[] data, SocketAddress address) throws IOException {
-        DatagramPacket packet = new DatagramPacket(data, data.length, address);
-        socket.send(packet);
+        channel.send(ByteBuffer.wrap(data), address);
+    }
+
+    @Override
+    public void send(ByteBuffer data, SocketAddress address) throws IOException {
+        int position = data.position();
+        try {
+            channel.send(data, address);
+        } finally {
+            data.position(position);
+        }
+    }
+
+    @Override
+    public void sendPacket(NeonPacket packet, SocketAddress address) throws IOException {
+        if (packet.encodedSize() > directBufferPool.getBufferSize()) {
+            send(packet.toBytes(), address);
+            return;
+        }
+
+        ByteBuffer buffer = directBufferPool.acquire();
+        try {
+            packet.writeTo(buffer);
+            buffer.flip();
+            channel.send(buffer, address);
+        } finally {
+            directBufferPool.release(buffer);
+        }
     }
 
     @Override
     public ReceivedData receive() throws IOException {
+        if (!channel.isBlocking()) {
+            try (BufferLease lease = receiveLease()) {
+                return lease == null ? null : new ReceivedData(lease.toByteArray(), lease.source());
+            }
+        }
+
         byte[] buffer = bufferPool.acquire();
         DatagramPacket datagram = new DatagramPacket(buffer, buffer.length);
 
@@ -100,6 +137,44 @@ public class UdpTransport implements Transport {
         }
     }
 
+    @Override
+    public BufferLease receiveLease() throws IOException {
+        if (channel.isBlocking()) {
+            byte[] buffer = bufferPool.acquire();
+            DatagramPacket datagram = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(datagram);
+            } catch (IOException e) {
+                bufferPool.release(buffer);
+                throw e;
+            }
+
+            int length = datagram.getLength();
+            if (config.isEnforceBufferSize() && length == buffer.length) {
+                bufferPool.release(buffer);
+                return null;
+            }
+            return new BufferLease(ByteBuffer.wrap(buffer, 0, length), datagram.getSocketAddress(), heapReleaser);
+        }
+
+        ByteBuffer buffer = directBufferPool.acquire();
+        SocketAddress source;
+        try {
+            source = channel.receive(buffer);
+        } catch (IOException e) {
+            directBufferPool.release(buffer);
+            return null;
+        }
+
+        if (source == null || (config.isEnforceBufferSize() && buffer.position() == buffer.capacity())) {
+            directBufferPool.release(buffer);
+            return null;
+        }
+
+        buffer.flip();
+        return new BufferLease(buffer, source, directBufferPool);
+    }
+
     @Override
     public void setBlocking(boolean blocking) throws IOException {
         channel.configureBlocking(blocking);
@@ -268,11 +268,19 @@ public class NeonHost implements AutoCloseable, Lifecycle {
                 }
                 sendPong(ping.timestamp(), header.clientId());
             }
+            case PacketPayload.SelectiveAck ack -> {
+                ack.forEach(this::acknowledge);
+                ackStateMachine.detectGaps(header.clientId(), ack);
+            }
+            case PacketPayload.Nack nack -> ackStateMachine.handleNack(header.clientId(), nack);
+            case PacketPayload.PiggybackAck piggyback -> {
+                piggyback.ack().forEach(this::acknowledge);
+                ackStateMachine.detectGaps(header.clientId(), piggyback.ack());
+                handlePacket(piggyback.unwrap(header));
+            }
             case PacketPayload.Ack ack -> {
                 for (Short seq : ack.acknowledgedSequences()) {
-                    if (ackStateMachine.acknowledge(seq)) {
-                        sequenceToClient.remove(seq);
-                    }
+                    acknowledge(seq);
                 }
             }
             case PacketPayload.DisconnectNotice ignored -> {
@@ -305,6 +313,12 @@ public class NeonHost implements AutoCloseable, Lifecycle {
         }
     }
 
+    private void acknowledge(short sequence) {
+        if (ackStateMachine.acknowledge(sequence)) {
+            sequenceToClient.remove(sequence);
+        }
+    }
+
     private void handleConnectRequest(PacketPayload.ConnectRequest request, PacketHeader header) throws IOException {
         String clientName = request.desiredName();
 
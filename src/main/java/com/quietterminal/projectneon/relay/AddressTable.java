@@ -0,0 +1,315 @@
+package com.quietterminal.projectneon.relay;
+
+import java.net.Inet4Address;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * Interns peer addresses into {@link Endpoint} handles that carry the relay's
+ * per-address state.
+ *
+ * <p>The relay resolves the source address of each datagram once, and then reads the
+ * rate limiter and routing entry straight from the endpoint instead of probing one map
+ * per table. IPv4 addresses, the common case, are packed with their port into a single
+ * {@code long} and found in an open-addressing table without hashing or comparing
+ * {@link java.net.InetAddress} objects and without allocating. Other addresses fall back
+ * to a concurrent map, as would two IPv4 addresses that ever packed to the same key.
+ *
+ * <p>Lookups are lock-free; interning a new address and releasing an idle one take the
+ * table lock. A released endpoint is retired and never reused, so a handle held by a
+ * packet in flight can go stale but never refers to a different peer.
+ */
+final class AddressTable {
+    private static final long EMPTY = 0L;
+    private static final long TOMBSTONE = -1L;
+    private static final long IPV4_TAG = 1L << 48;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Map<SocketAddress, Endpoint> otherAddresses = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger peerCount = new AtomicInteger();
+    private volatile Slots slots = new Slots(INITIAL_CAPACITY);
+    private int usedSlots;
+
+    /**
+     * Finds the endpoint for an address without creating one.
+     *
+     * @return the endpoint, or null if the address is not interned
+     */
+    Endpoint lookup(SocketAddress address) {
+        long key = keyOf(address);
+        if (key != EMPTY) {
+            Endpoint endpoint = slots.find(key);
+            if (endpoint == null || endpoint.address.equals(address)) {
+                return endpoint;
+            }
+        }
+        return otherAddresses.get(address);
+    }
+
+    /**
+     * Gets the endpoint for an address, creating it if needed.
+     */
+    Endpoint intern(SocketAddress address) {
+        Endpoint endpoint = lookup(address);
+        if (endpoint != null) {
+            return endpoint;
+        }
+
+        synchronized (this) {
+            long key = keyOf(address);
+            Slots current = slots;
+            endpoint = key != EMPTY ? current.find(key) : null;
+            if (key == EMPTY || endpoint != null && !endpoint.address.equals(address)) {
+                return otherAddresses.computeIfAbsent(address, a -> {
+                    size.incrementAndGet();
+                    return new Endpoint(a);
+                });
+            }
+            if (endpoint != null) {
+                return endpoint;
+            }
+
+            if ((usedSlots + 1) * 2 > current.capacity()) {
+                current = rehash(current);
+            }
+            endpoint = new Endpoint(address);
+            if (current.insert(key, endpoint)) {
+                usedSlots++;
+            }
+            size.incrementAndGet();
+            return endpoint;
+        }
+    }
+
+    /**
+     * Releases an endpoint that no longer holds a rate limiter or routing entry and is
+     * not referenced by the caller's own state.
+     *
+     * @param endpoint the endpoint
+     * @param inUse reports whether other relay state still refers to the address
+     * @return true if the endpoint was retired
+     */
+    boolean releaseIfIdle(Endpoint endpoint, Predicate<SocketAddress> inUse) {
+        synchronized (this) {
+            synchronized (endpoint) {
+                if (endpoint.retired || endpoint.limiter != null || endpoint.peer != null
+                        || inUse.test(endpoint.address)) {
+                    return false;
+                }
+                endpoint.retired = true;
+            }
+
+            long key = keyOf(endpoint.address);
+            boolean removed = key != EMPTY && slots.remove(key, endpoint)
+                || otherAddresses.remove(endpoint.address, endpoint);
+            if (removed) {
+                size.decrementAndGet();
+            }
+            return removed;
+        }
+    }
+
+    /**
+     * Gets the number of interned addresses.
+     */
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * Gets the number of endpoints with a routing entry attached.
+     */
+    int peerCount() {
+        return peerCount.get();
+    }
+
+    private Slots rehash(Slots current) {
+        int live = size.get() - otherAddresses.size();
+        int capacity = current.capacity();
+        while (live * 4 > capacity) {
+            capacity <<= 1;
+        }
+        Slots next = new Slots(capacity);
+        for (int i = 0; i < current.capacity(); i++) {
+            long key = current.keys.get(i);
+            Endpoint endpoint = current.values.get(i);
+            if (key != EMPTY && key != TOMBSTONE && endpoint != null) {
+                next.insert(key, endpoint);
+            }
+        }
+        usedSlots = live;
+        slots = next;
+        return next;
+    }
+
+    /**
+     * Packs an IPv4 socket address into a non-zero key, or returns {@link #EMPTY} for
+     * any other kind of address.
+     */
+    private static long keyOf(SocketAddress address) {
+        if (address instanceof InetSocketAddress inet && inet.getAddress() instanceof Inet4Address ipv4) {
+            return IPV4_TAG | (ipv4.hashCode() & 0xFFFFFFFFL) << 16 | inet.getPort();
+        }
+        return EMPTY;
+    }
+
+    private static int indexFor(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /**
+     * Open-addressing slots with linear probing. Writers hold the table lock; readers
+     * see either a complete entry or none, because the value is published before its
+     * key and cleared before the key is tombstoned.
+     */
+    private static final class Slots {
+        private final AtomicLongArray keys;
+        private final AtomicReferenceArray<Endpoint> values;
+        private final int mask;
+
+        Slots(int capacity) {
+            this.keys = new AtomicLongArray(capacity);
+            this.values = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+
+        int capacity() {
+            return mask + 1;
+        }
+
+        Endpoint find(long key) {
+            for (int i = indexFor(key, mask); ; i = (i + 1) & mask) {
+                long k = keys.get(i);
+                if (k == key) {
+                    return values.get(i);
+                }
+                if (k == EMPTY) {
+                    return null;
+                }
+            }
+        }
+
+        /**
+         * Inserts a key known to be absent.
+         *
+         * @return true if an empty slot was used, false if a tombstone was reused
+         */
+        boolean insert(long key, Endpoint endpoint) {
+            for (int i = indexFor(key, mask); ; i = (i + 1) & mask) {
+                long k = keys.get(i);
+                if (k == EMPTY || k == TOMBSTONE) {
+                    values.set(i, endpoint);
+                    keys.set(i, key);
+                    return k == EMPTY;
+                }
+            }
+        }
+
+        boolean remove(long key, Endpoint endpoint) {
+            for (int i = indexFor(key, mask); ; i = (i + 1) & mask) {
+                long k = keys.get(i);
+                if (k == key) {
+                    if (values.get(i) != endpoint) {
+                        return false;
+                    }
+                    values.set(i, null);
+                    keys.set(i, TOMBSTONE);
+                    return true;
+                }
+                if (k == EMPTY) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    /**
+     * An interned address and the relay state attached to it. Reads are lock-free;
+     * attaching and detaching synchronize on the endpoint so they cannot race with
+     * {@link #releaseIfIdle}.
+     */
+    final class Endpoint {
+        private final SocketAddress address;
+        private volatile RateLimiter limiter;
+        private volatile PeerInfo peer;
+        private boolean retired;
+
+        private Endpoint(SocketAddress address) {
+            this.address = address;
+        }
+
+        SocketAddress address() {
+            return address;
+        }
+
+        RateLimiter limiter() {
+            return limiter;
+        }
+
+        PeerInfo peer() {
+            return peer;
+        }
+
+        /**
+         * Attaches a rate limiter unless one is already attached.
+         *
+         * @return the attached limiter, or null if the endpoint has been retired
+         */
+        synchronized RateLimiter attachLimiter(RateLimiter candidate) {
+            if (retired) {
+                return null;
+            }
+            if (limiter == null) {
+                limiter = candidate;
+            }
+            return limiter;
+        }
+
+        /**
+         * Detaches the rate limiter if it is the expected one.
+         */
+        synchronized boolean detachLimiter(RateLimiter expected) {
+            if (limiter != expected || expected == null) {
+                return false;
+            }
+            limiter = null;
+            return true;
+        }
+
+        /**
+         * Attaches a routing entry, replacing any previous one.
+         *
+         * @return false if the endpoint has been retired
+         */
+        synchronized boolean attachPeer(PeerInfo entry) {
+            if (retired) {
+                return false;
+            }
+            if (peer == null) {
+                peerCount.incrementAndGet();
+            }
+            peer = entry;
+            return true;
+        }
+
+        /**
+         * Detaches the routing entry if it is the expected one.
+         */
+        synchronized boolean detachPeer(PeerInfo expected) {
+            if (peer != expected || expected == null) {
+                return false;
+            }
+            peer = null;
+            peerCount.decrementAndGet();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.quietterminal.projectneon.relay;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission stage the relay runs on each raw datagram before decoding it.
+ *
+ * <p>The relay checks, in order, the denylist, the header (length, magic, version and
+ * type read in place), the per-source rate limiter, the session limiter and the relay-wide
+ * limiter. Only a datagram that passes every check is decoded or forwarded. This class
+ * holds the denylist and counts admitted datagrams and drops by {@link Drop} reason;
+ * the limiters themselves stay attached to the relay's address table.
+ *
+ * <p>The denylist matches a source host on any port. Entries either expire after a
+ * duration or stay until {@link #allow(InetAddress)} removes them. With
+ * {@link com.quietterminal.projectneon.core.NeonConfig#getFloodDenyDurationMs()} set,
+ * the relay also denylists sources that keep flooding after being throttled. Checking
+ * an empty denylist costs no lookup.
+ *
+ * @since 1.3
+ */
+public final class AdmissionFilter {
+    private static final long PERMANENT = Long.MAX_VALUE;
+
+    /**
+     * Why a datagram was not admitted.
+     */
+    public enum Drop {
+        /** Source host is on the denylist. */
+        DENYLISTED,
+        /** Header failed the raw length, magic, version or type check. */
+        MALFORMED,
+        /** No rate limiter could be attached to a new source. */
+        LIMITER_CAPACITY,
+        /** Source exceeded its own rate limit. */
+        SOURCE_RATE,
+        /** Source's session exceeded its shared rate limit. */
+        SESSION_RATE,
+        /** Relay exceeded its global rate limit. */
+        RELAY_RATE
+    }
+
+    private final Map<InetAddress, Long> denied = new ConcurrentHashMap<>();
+    private final LongAdder[] drops = new LongAdder[Drop.values().length];
+    private final LongAdder admitted = new LongAdder();
+
+    AdmissionFilter() {
+        for (int i = 0; i < drops.length; i++) {
+            drops[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Denylists a host until {@link #allow(InetAddress)} is called.
+     */
+    public void deny(InetAddress address) {
+        denied.put(address, PERMANENT);
+    }
+
+    /**
+     * Denylists a host for a limited time.
+     *
+     * @param address the host to deny on every port
+     * @param durationMs how long to deny it, in milliseconds
+     */
+    public void deny(InetAddress address, long durationMs) {
+        deny(address, System.nanoTime(), TimeUnit.MILLISECONDS.toNanos(durationMs));
+    }
+
+    void deny(InetAddress address, long nowNanos, long durationNanos) {
+        denied.merge(address, nowNanos + durationNanos,
+            (current, until) -> current == PERMANENT || current - until > 0 ? current : until);
+    }
+
+    /**
+     * Removes a host from the denylist.
+     *
+     * @return true if the host was denylisted
+     */
+    public boolean allow(InetAddress address) {
+        return denied.remove(address) != null;
+    }
+
+    /**
+     * Checks whether a host is currently denylisted.
+     */
+    public boolean isDenied(InetAddress address) {
+        Long until = denied.get(address);
+        return until != null && isActive(until, System.nanoTime());
+    }
+
+    /**
+     * Gets the number of denylisted hosts, including expired entries not yet purged.
+     */
+    public int deniedCount() {
+        return denied.size();
+    }
+
+    boolean isDenied(SocketAddress source, long nowNanos) {
+        if (denied.isEmpty() || !(source instanceof InetSocketAddress inet)) {
+            return false;
+        }
+        Long until = denied.get(inet.getAddress());
+        if (until == null) {
+            return false;
+        }
+        if (isActive(until, nowNanos)) {
+            return true;
+        }
+        denied.remove(inet.getAddress(), until);
+        return false;
+    }
+
+    void purgeExpired(long nowNanos) {
+        denied.values().removeIf(until -> !isActive(until, nowNanos));
+    }
+
+    private static boolean isActive(long until, long nowNanos) {
+        return until == PERMANENT || nowNanos - until < 0;
+    }
+
+    void recordDrop(Drop reason) {
+        drops[reason.ordinal()].increment();
+    }
+
+    void recordAdmitted() {
+        admitted.increment();
+    }
+
+    /**
+     * Gets the number of datagrams dropped for a reason.
+     */
+    public long drops(Drop reason) {
+        return drops[reason.ordinal()].sum();
+    }
+
+    /**
+     * Gets the number of datagrams that passed every check.
+     */
+    public long admitted() {
+        return admitted.sum();
+    }
+
+    /**
+     * Takes a point-in-time copy of the drop counts, including reasons with none.
+     */
+    public Map<Drop, Long> dropCounts() {
+        Map<Drop, Long> counts = new EnumMap<>(Drop.class);
+        for (Drop reason : Drop.values()) {
+            counts.put(reason, drops(reason));
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,138 @@
+package com.quietterminal.projectneon.relay;
+
+import com.quietterminal.projectneon.core.NeonSocket;
+import com.quietterminal.projectneon.util.LoggerConfig;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sends one encoded packet to many destinations.
+ *
+ * <p>The packet is encoded once by the caller and every destination is sent the same
+ * bytes through a read-only view, so nothing is re-serialized or copied per recipient.
+ *
+ * <p>Sends on a single DatagramChannel are serialized by the channel, so parallelism only
+ * helps across channels. When the relay runs several shards and a broadcast reaches at
+ * least the configured threshold of destinations, the destinations are split across the
+ * shard sockets and sent concurrently. The call still returns only once every send has
+ * completed, so callers may reuse the buffer afterwards.
+ */
+final class BroadcastFanout implements AutoCloseable {
+    private static final Logger logger;
+
+    static {
+        logger = Logger.getLogger(BroadcastFanout.class.getName());
+        LoggerConfig.configureLogger(logger);
+    }
+
+    private final NeonSocket[] sockets;
+    private final int parallelThreshold;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a fan-out over the given sockets.
+     *
+     * @param sockets sockets that may be used for sending, all bound to the same address
+     * @param parallelThreshold minimum destinations for a parallel send, or 0 to always send sequentially
+     */
+    BroadcastFanout(NeonSocket[] sockets, int parallelThreshold) {
+        this.sockets = sockets;
+        this.parallelThreshold = parallelThreshold;
+        if (parallelThreshold > 0 && sockets.length > 1) {
+            AtomicInteger threadIndex = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(sockets.length - 1, runnable -> {
+                Thread thread = new Thread(runnable, "neon-relay-fanout-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Sends the remaining bytes of {@code data} to every destination.
+     * The buffer's position is not changed.
+     *
+     * @param data the encoded packet
+     * @param destinations the destinations
+     * @param own the socket of the calling thread, used for the sequential path
+     * @return the number of destinations the packet was sent to
+     * @throws IOException if a send on the calling thread fails
+     */
+    int send(ByteBuffer data, List<SocketAddress> destinations, NeonSocket own) throws IOException {
+        ByteBuffer view = data.asReadOnlyBuffer();
+        int count = destinations.size();
+
+        if (executor == null || count < parallelThreshold) {
+            for (int i = 0; i < count; i++) {
+                own.send(view, destinations.get(i));
+            }
+            return count;
+        }
+
+        int lanes = Math.min(sockets.length, count);
+        CountDownLatch done = new CountDownLatch(lanes - 1);
+        AtomicInteger sent = new AtomicInteger();
+        int laneIndex = 0;
+        for (NeonSocket socket : sockets) {
+            if (socket == own || laneIndex == lanes - 1) {
+                continue;
+            }
+            int lane = ++laneIndex;
+            ByteBuffer laneView = data.asReadOnlyBuffer();
+            try {
+                executor.execute(() -> {
+                    try {
+                        sent.addAndGet(sendLane(laneView, destinations, lane, lanes, socket));
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                sent.addAndGet(sendLane(laneView, destinations, lane, lanes, own));
+                done.countDown();
+            }
+        }
+
+        sent.addAndGet(sendLane(view, destinations, 0, lanes, own));
+
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return sent.get();
+    }
+
+    private int sendLane(ByteBuffer view, List<SocketAddress> destinations, int lane, int lanes, NeonSocket socket) {
+        int sent = 0;
+        for (int i = lane; i < destinations.size(); i += lanes) {
+            try {
+                socket.send(view, destinations.get(i));
+                sent++;
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Broadcast send to {0} failed: {1}",
+                    new Object[]{destinations.get(i), e.getMessage()});
+            }
+        }
+        return sent;
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
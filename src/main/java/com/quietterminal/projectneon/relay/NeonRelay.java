@@ -4,11 +4,15 @@ import com.quietterminal.projectneon.core.*;
 import com.quietterminal.projectneon.util.LoggerConfig;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -17,9 +21,23 @@ import java.util.logging.Logger;
  * Neon protocol relay server.
  * Routes packets between hosts and clients in a completely payload-agnostic manner.
  * Implements Lifecycle for clean start/stop semantics.
+ *
+ * <p>With {@link NeonConfig#getRelayShardCount()} above 1 the relay runs sharded: it binds
+ * one socket per shard to the same port with SO_REUSEPORT, and the kernel spreads clients
+ * across them by address. Each shard has its own thread, and session state is partitioned
+ * by session ID so that shards rarely contend. Metrics and snapshots are still reported
+ * for the relay as a whole.
+ *
+ * <p>With {@link NeonConfig#getRelayWorkerThreads()} above 0, routing and sending move off
+ * the receive threads into a {@link RelayPipeline}: each session hashes to one bounded
+ * worker queue, so busy sessions are routed on separate cores while packets within a
+ * session keep their order. Connection control packets are still handled on the
+ * receive thread.
  */
 public class NeonRelay implements AutoCloseable, Lifecycle {
     private static final Logger logger;
+    private static final long EXPIRY_TICK_MS = 100;
+    private static final int EXPIRY_WHEEL_SIZE = 1024;
 
     static {
         logger = Logger.getLogger(NeonRelay.class.getName());
@@ -27,9 +45,17 @@ public class NeonRelay implements AutoCloseable, Lifecycle {
     }
 
     private final NeonSocket socket;
+    private final Shard[] shards;
     private final SessionManager sessionManager;
+    private final RelayPipeline<RouteTask> pipeline;
+    private final ByteBufferPool routeBuffers;
+    private final BroadcastFanout fanout;
     private final Map<SocketAddress, PendingConnection> pendingConnections;
-    private final Map<SocketAddress, RateLimiter> rateLimiters;
+    private final AddressTable addresses;
+    private final AdmissionFilter admission = new AdmissionFilter();
+    private final AtomicInteger rateLimiterCount = new AtomicInteger();
+    private final TokenBucket globalLimiter;
+    private final TimingWheel<Expiry> expirations;
     private final NeonConfig config;
     private final RelaySemantics relaySemantics;
     private long lastCleanupTime;
@@ -37,6 +63,8 @@ public class NeonRelay implements AutoCloseable, Lifecycle {
     private final AtomicReference<Lifecycle.State> lifecycleState = new AtomicReference<>(Lifecycle.State.CREATED);
     private final List<Lifecycle.StateChangeListener> stateChangeListeners = new CopyOnWriteArrayList<>();
     private volatile Thread runningThread;
+    private final List<Thread> shardThreads = new CopyOnWriteArrayList<>();
+    private final List<EventDrivenReceiver> eventReceivers = new CopyOnWriteArrayList<>();
 
     /**
      * Creates a relay with default configuration.
@@ -59,18 +87,62 @@ public class NeonRelay implements AutoCloseable, Lifecycle {
         String[] parts = bindAddress.split(":");
         int port = parts.length == 2 ? Integer.parseInt(parts[1]) : config.getRelayPort();
 
-        this.socket = new NeonSocket(port, config);
-        this.socket.setBlocking(true);
-        this.socket.setSoTimeout(config.getRelaySocketTimeoutMs());
-        this.sessionManager = new SessionManager();
+        int shardCount = config.getRelayShardCount();
+        if (shardCount > 1 && !NeonSocket.isReusePortSupported()) {
+            logger.log(Level.WARNING, "SO_REUSEPORT is not supported on this platform - running relay with a single shard");
+            shardCount = 1;
+        }
+
+        NeonSocket[] shardSockets = openShardSockets(port, shardCount);
+        this.socket = shardSockets[0];
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, shardSockets[i], NeonMetrics.create());
+        }
+        this.addresses = new AddressTable();
+        this.sessionManager = new SessionManager(shardCount, config, addresses);
+        this.fanout = new BroadcastFanout(shardSockets, config.getRelayParallelBroadcastThreshold());
+        this.pipeline = config.getRelayWorkerThreads() > 0
+            ? new RelayPipeline<>(config.getRelayWorkerThreads(), config.getRelayWorkerQueueCapacity(),
+                this::routeTask, "neon-relay")
+            : null;
+        this.routeBuffers = new ByteBufferPool(config.getBufferSize(), 0, config.getBufferPoolMaxSize());
         this.pendingConnections = new ConcurrentHashMap<>();
-        this.rateLimiters = new ConcurrentHashMap<>();
+        int globalRate = config.getRelayGlobalMaxPacketsPerSecond();
+        this.globalLimiter = globalRate > 0
+            ? new TokenBucket(globalRate, RateLimiter.burstFor(globalRate, config), System.nanoTime())
+            : null;
+        this.expirations = new TimingWheel<>(EXPIRY_TICK_MS, EXPIRY_WHEEL_SIZE, System.currentTimeMillis());
         this.relaySemantics = new RelaySemantics();
         this.lastCleanupTime = System.currentTimeMillis();
 
         System.out.println("Relay listening on " + socket.getLocalAddress());
     }
 
+    private NeonSocket[] openShardSockets(int port, int shardCount) throws IOException {
+        NeonSocket[] sockets = new NeonSocket[shardCount];
+        boolean reusePort = shardCount > 1;
+        try {
+            sockets[0] = new NeonSocket(port, config, reusePort);
+            int boundPort = sockets[0].getLocalAddress().getPort();
+            for (int i = 1; i < shardCount; i++) {
+                sockets[i] = new NeonSocket(boundPort, config, true);
+            }
+            for (NeonSocket shardSocket : sockets) {
+                shardSocket.setBlocking(true);
+                shardSocket.setSoTimeout(config.getRelaySocketTimeoutMs());
+            }
+            return sockets;
+        } catch (IOException | RuntimeException e) {
+            for (NeonSocket shardSocket : sockets) {
+                if (shardSocket != null) {
+                    shardSocket.close();
+                }
+            }
+            throw e;
+        }
+    }
+
     @Override
     public Lifecycle.State getState() {
         return lifecycleState.get();
@@ -88,6 +160,9 @@ public class NeonRelay implements AutoCloseable, Lifecycle {
         }
         notifyStateChange(current, Lifecycle.State.STARTING, null);
 
+        if (pipeline != null) {
+            pipeline.start();
+        }
         lifecycleState.set(Lifecycle.State.RUNNING);
         notifyStateChange(Lifecycle.State.STARTING, Lifecycle.State.RUNNING, null);
         logger.log(Level.INFO, "Relay started on {0}", socket.getLocalAddress());
@@ -105,9 +180,15 @@ public class NeonRelay implements AutoCloseable, Lifecycle {
         }
         notifyStateChange(current, Lifecycle.State.STOPPING, null);
 
+        for (EventDrivenReceiver receiver : eventReceivers) {
+            receiver.stop();
+        }
         if (runningThread != null) {
             runningThread.interrupt();
         }
+        for (Thread shardThread : shardThreads) {
+            shardThread.interrupt();
+        }
 
         try {
             close();
@@ -146,6 +227,14 @@ public class NeonRelay implements AutoCloseable, Lifecycle {
      * Runs the relay processing loop.
      * Call start() first to initialize the relay.
      *
+     * <p>When {@link NeonConfig#isUseEventDrivenReceiver()} is set, the relay waits on a
+     * selector instead of polling: it wakes only when datagrams are ready, drains them in
+     * batches of at most {@link NeonConfig#getEventLoopMaxBatchSize()}, and runs cleanup
+     * from a timer deadline every {@link NeonConfig#getRelayCleanupIntervalMs()}.
+     *
+     * <p>In sharded mode the calling thread serves the first shard and runs cleanup, and
+     * one additional thread is started for each remaining shard.
+     *
      * @throws IOException if a network error occurs
      * @throws InterruptedException if the thread is interrupted
      */
@@ -155,16 +244,82 @@ public class NeonRelay implements AutoCloseable, Lifecycle {
         }
         runningThread = Thread.currentThread();
         try {
-            while (lifecycleState.get() == Lifecycle.State.RUNNING) {
-                processPackets();
-                performCleanup();
-                Thread.sleep(config.getRelayMainLoopSleepMs());
+            for (int i = 1; i < shards.length; i++) {
+                startShardThread(shards[i]);
             }
+            runShard(shards[0]);
         } finally {
             runningThread = null;
         }
     }
 
+    private void startShardThread(Shard shard) {
+        Thread thread = new Thread(() -> {
+            try {
+                runShard(shard);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                if (lifecycleState.get() == Lifecycle.State.RUNNING) {
+                    logger.log(Level.SEVERE, "Relay shard " + shard.index() + " failed", e);
+                }
+            } finally {
+                shardThreads.remove(Thread.currentThread());
+            }
+        }, "neon-relay-shard-" + shard.index());
+        thread.setDaemon(true);
+        shardThreads.add(thread);
+        thread.start();
+    }
+
+    private void runShard(Shard shard) throws IOException, InterruptedException {
+        boolean ownsCleanup = shard.index() == 0;
+        if (config.isUseEventDrivenReceiver()) {
+            runEventDriven(shard, ownsCleanup);
+            return;
+        }
+        while (lifecycleState.get() == Lifecycle.State.RUNNING) {
+            processPackets(shard);
+            if (ownsCleanup) {
+                performCleanup();
+            }
+            Thread.sleep(config.getRelayMainLoopSleepMs());
+        }
+    }
+
+    private void runEventDriven(Shard shard, boolean ownsCleanup) throws IOException {
+        NeonSocket shardSocket = shard.socket();
+        shardSocket.setBlocking(false);
+        try (EventDrivenReceiver receiver = new EventDrivenReceiver(
+                shardSocket.getChannel(), config, shardSocket.getDirectBufferPool())) {
+            receiver.setSelectTimeout(config.getRelayCleanupIntervalMs());
+            receiver.setRawPacketHandler((data, source) -> {
+                try {
+                    handleDatagram(data, source, shard);
+                } catch (IOException e) {
+                    logger.log(Level.WARNING, "Error handling packet from {0}: {1}",
+                        new Object[]{source, e.getMessage()});
+                }
+            });
+            if (ownsCleanup) {
+                receiver.setTimeoutHandler(this::runCleanup);
+            }
+            eventReceivers.add(receiver);
+
+            try {
+                if (lifecycleState.get() == Lifecycle.State.RUNNING) {
+                    receiver.run();
+                }
+            } finally {
+                eventReceivers.remove(receiver);
+            }
+        } finally {
+            if (!shardSocket.isClosed()) {
+                shardSocket.setBlocking(true);
+            }
+        }
+    }
+
     /**
      * Starts the relay and runs the processing loop.
      * Combines start() and run() for convenience.
@@ -179,15 +334,21 @@ public class NeonRelay implements AutoCloseable, Lifecycle {
 
     /**
      * Processes incoming packets. Returns the number of packets processed.
+     * In sharded mode this drains the first shard only.
      */
     public int processPackets() throws IOException {
+        return processPackets(shards[0]);
+    }
+
+    private int processPackets(Shard shard) throws IOException {
         int count = 0;
         while (true) {
             try {
-                NeonSocket.ReceivedNeonPacket received = socket.receivePacket();
-                if (received == null) break;
+                try (BufferLease lease = shard.socket().receiveLease()) {
+                    if (lease == null) break;
 
-                handlePacket(received.packet(), received.source());
+                    handleDatagram(lease.buffer(), lease.source(), shard);
+                }
                 count++;
             } catch (java.net.SocketTimeoutException e) {
                 break;
@@ -196,44 +357,171 @@ public class NeonRelay implements AutoCloseable, Lifecycle {
         return count;
     }
 
-    private void handlePacket(NeonPacket packet, SocketAddress source) throws IOException {
-        if (!rateLimiters.containsKey(source) && rateLimiters.size() >= config.getMaxRateLimiters()) {
-            logger.log(Level.WARNING, "Rate limiter capacity exceeded for {0} - dropping packet", source);
+    /**
+     * Interns the source address and attaches a new rate limiter to it, retrying if the
+     * endpoint is released concurrently. The limiter is scheduled to expire once the
+     * source is neither connected nor pending.
+     */
+    private AddressTable.Endpoint attachLimiter(SocketAddress source, long now) {
+        while (true) {
+            AddressTable.Endpoint endpoint = addresses.intern(source);
+            RateLimiter created = new RateLimiter(config.getMaxPacketsPerSecond(), config, now);
+            RateLimiter attached = endpoint.attachLimiter(created);
+            if (attached == created) {
+                rateLimiterCount.incrementAndGet();
+                expirations.schedule(new LimiterExpiry(endpoint, created),
+                    System.currentTimeMillis() + config.getRelayCleanupIntervalMs());
+            }
+            if (attached != null) {
+                return endpoint;
+            }
+        }
+    }
+
+    private void removeLimiter(AddressTable.Endpoint endpoint) {
+        RateLimiter limiter = endpoint.limiter();
+        if (limiter != null && endpoint.detachLimiter(limiter)) {
+            rateLimiterCount.decrementAndGet();
+        }
+        addresses.releaseIfIdle(endpoint, pendingConnections::containsKey);
+    }
+
+    /**
+     * Handles one received datagram. Only the 8-byte header is read in place:
+     * game packets (type 0x10 and above) and game packets carrying a piggybacked ACK
+     * (0x08) are forwarded as the original bytes without decoding the payload, and only
+     * core control packets are fully decoded.
+     * Datagrams with a bad length, magic, version or type are rejected from the raw
+     * header before a rate limiter is attached to their source.
+     * The buffer is only valid for the duration of this call. Replies and forwarded
+     * packets are sent from the socket of the shard that received the datagram.
+     */
+    private void handleDatagram(ByteBuffer data, SocketAddress source, Shard shard) throws IOException {
+        shard.metrics().recordPacketReceived(data.remaining());
+
+        long now = System.nanoTime();
+        if (admission.isDenied(source, now)) {
+            drop(AdmissionFilter.Drop.DENYLISTED, shard);
             return;
         }
 
-        RateLimiter limiter = rateLimiters.computeIfAbsent(source,
-            k -> new RateLimiter(config.getMaxPacketsPerSecond(), config));
+        DecodeResult.Reason rejected = DecodeResult.checkHeader(data);
+        if (rejected != null) {
+            reject(rejected, source, shard);
+            return;
+        }
 
-        if (!limiter.allowPacket()) {
+        AddressTable.Endpoint endpoint = addresses.lookup(source);
+        RateLimiter limiter = endpoint != null ? endpoint.limiter() : null;
+        if (limiter == null) {
+            if (rateLimiterCount.get() >= config.getMaxRateLimiters()) {
+                drop(AdmissionFilter.Drop.LIMITER_CAPACITY, source, shard);
+                return;
+            }
+            endpoint = attachLimiter(source, now);
+            limiter = endpoint.limiter();
+        }
+
+        if (!limiter.allowPacket(now)) {
             if (limiter.isThrottled()) {
-                logger.log(Level.WARNING, "Rate limit exceeded for {0} (THROTTLED after {1} violations)",
-                    new Object[]{source, limiter.getViolationCount()});
-            } else {
-                logger.log(Level.WARNING, "Rate limit exceeded for {0}", source);
+                denyFlooder(source, now);
             }
+            drop(AdmissionFilter.Drop.SOURCE_RATE, source, shard);
             return;
         }
 
-        PacketHeader header = packet.header();
+        PeerInfo peer = endpoint.peer();
+        TokenBucket sessionLimiter = peer != null ? peer.sessionLimiter() : null;
+        if (sessionLimiter != null && !sessionLimiter.tryAcquire(now, 1)) {
+            drop(AdmissionFilter.Drop.SESSION_RATE, source, shard);
+            return;
+        }
 
-        if (header.magic() != PacketHeader.MAGIC) {
-            logger.log(Level.WARNING, "Invalid magic number from {0}", source);
+        if (globalLimiter != null && !globalLimiter.tryAcquire(now, 1)) {
+            drop(AdmissionFilter.Drop.RELAY_RATE, source, shard);
             return;
         }
+        admission.recordAdmitted();
+
+        byte packetType = PacketHeader.peekPacketType(data);
+        if (!PacketType.isCoreType(packetType) || packetType == PacketType.PIGGYBACK_ACK.getValue()) {
+            forwardRaw(data, source, peer, shard);
+            return;
+        }
+
+        byte[] bytes = new byte[data.remaining()];
+        data.get(data.position(), bytes);
+
+        NeonPacket packet;
+        switch (NeonPacket.decode(bytes)) {
+            case DecodeResult.Decoded decoded -> packet = decoded.packet();
+            case DecodeResult.Rejected(DecodeResult.Reason reason) -> {
+                reject(reason, source, shard);
+                return;
+            }
+        }
+
+        handleControlPacket(packet, data, source, shard);
+    }
+
+    /**
+     * Drops a datagram that failed decoding. Rejections are counted per reason as
+     * {@link NeonMetrics} error types and logged at FINE, so a flood of garbage costs
+     * neither exceptions nor log I/O.
+     */
+    private void reject(DecodeResult.Reason reason, SocketAddress source, Shard shard) {
+        shard.metrics().recordError(reason.metricName());
+        drop(AdmissionFilter.Drop.MALFORMED, shard);
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Rejected packet from {0}: {1}", new Object[]{source, reason});
+        }
+    }
+
+    /**
+     * Drops a datagram that failed admission. Like {@link #reject}, the drop is counted and
+     * logged at FINE only; the limiters log a WARNING when a source starts being throttled,
+     * and {@link #denyFlooder} when it is denylisted.
+     */
+    private void drop(AdmissionFilter.Drop reason, SocketAddress source, Shard shard) {
+        drop(reason, shard);
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Dropped packet from {0}: {1}", new Object[]{source, reason});
+        }
+    }
+
+    private void drop(AdmissionFilter.Drop reason, Shard shard) {
+        admission.recordDrop(reason);
+        shard.metrics().recordPacketDropped();
+    }
+
+    /**
+     * Denylists the host of a throttled source that is still flooding, when
+     * {@link NeonConfig#getFloodDenyDurationMs()} is set.
+     */
+    private void denyFlooder(SocketAddress source, long now) {
+        int denyMs = config.getFloodDenyDurationMs();
+        if (denyMs > 0 && source instanceof InetSocketAddress inet && inet.getAddress() != null) {
+            admission.deny(inet.getAddress(), now, TimeUnit.MILLISECONDS.toNanos(denyMs));
+            logger.log(Level.WARNING, "Denylisted {0} for {1} ms after repeated flooding",
+                new Object[]{inet.getAddress(), denyMs});
+        }
+    }
+
+    private void handleControlPacket(NeonPacket packet, ByteBuffer data, SocketAddress source, Shard shard) throws IOException {
+        PacketHeader header = packet.header();
 
         switch (packet.payload()) {
-            case PacketPayload.ConnectRequest request -> handleConnectRequest(request, source);
-            case PacketPayload.ConnectAccept accept -> handleConnectAccept(accept, source, header);
-            case PacketPayload.ReconnectRequest request -> handleReconnectRequest(request, source);
-            case PacketPayload.DisconnectNotice ignored -> handleDisconnectNotice(source, header);
+            case PacketPayload.ConnectRequest request -> handleConnectRequest(request, source, shard);
+            case PacketPayload.ConnectAccept accept -> handleConnectAccept(accept, source, header, shard);
+            case PacketPayload.ReconnectRequest request -> handleReconnectRequest(request, source, shard);
+            case PacketPayload.DisconnectNotice ignored -> handleDisconnectNotice(source, header, shard);
             default -> {
-                routePacket(packet, source);
+                routePacket(packet, data, source, shard);
             }
         }
     }
 
-    private void handleConnectRequest(PacketPayload.ConnectRequest request, SocketAddress source) throws IOException {
+    private void handleConnectRequest(PacketPayload.ConnectRequest request, SocketAddress source, Shard shard) throws IOException {
         int sessionId = request.targetSessionId();
 
         int totalConnections = sessionManager.getTotalConnections();
@@ -243,7 +531,8 @@ public class NeonRelay implements AutoCloseable, Lifecycle {
                 PacketType.CONNECT_DENY.getValue(), (short) 0, (byte) 0, (byte) 0
             );
             NeonPacket denyPacket = new NeonPacket(header, deny);
-            socket.sendPacket(denyPacket, source);
+            shard.socket().sendPacket(denyPacket, source);
+            shard.metrics().recordConnectionDenied();
             logger.log(Level.WARNING, "Connection denied for {0}: relay is full ({1}/{2}) [SessionID={3}]",
                 new Object[]{source, totalConnections, config.getMaxTotalConnections(), sessionId});
             return;
@@ -256,7 +545,8 @@ public class NeonRelay implements AutoCloseable, Lifecycle {
                 PacketType.CONNECT_DENY.getValue(), (short) 0, (byte) 0, (byte) 0
             );
             NeonPacket denyPacket = new NeonPacket(header, deny);
-            socket.sendPacket(denyPacket, source);
+            shard.socket().sendPacket(denyPacket, source);
+            shard.metrics().recordConnectionDenied();
             logger.log(Level.WARNING, "Connection denied for {0}: session {1} is full ({2}/{3})",
                 new Object[]{source, sessionId, currentClients, config.getMaxClientsPerSession()});
             return;
@@ -268,15 +558,17 @@ public class NeonRelay implements AutoCloseable, Lifecycle {
                 PacketType.CONNECT_DENY.getValue(), (short) 0, (byte) 0, (byte) 0
             );
             NeonPacket denyPacket = new NeonPacket(header, deny);
-            socket.sendPacket(denyPacket, source);
+            shard.socket().sendPacket(denyPacket, source);
+            shard.metrics().recordConnectionDenied();
             logger.log(Level.WARNING, "Connection denied for {0}: pending connections queue full ({1}/{2}) [SessionID={3}]",
                 new Object[]{source, pendingConnections.size(), config.getMaxPendingConnections(), sessionId});
             return;
         }
 
-        pendingConnections.put(source, new PendingConnection(
-            sessionId, request.desiredName(), Instant.now()
-        ));
+        PendingConnection pending = new PendingConnection(sessionId, request.desiredName(), Instant.now());
+        pendingConnections.put(source, pending);
+        expirations.schedule(new PendingExpiry(source, pending),
+            pending.requestTime().toEpochMilli() + config.getRelayPendingConnectionTimeoutMs());
 
         Optional<SocketAddress> hostAddr = sessionManager.getHost(sessionId);
         if (hostAddr.isPresent()) {
@@ -284,18 +576,19 @@ public class NeonRelay implements AutoCloseable, Lifecycle {
                 PacketType.CONNECT_REQUEST.getValue(), (short) 0, (byte) 0, (byte) 1
             );
             NeonPacket forwardPacket = new NeonPacket(header, request);
-            socket.sendPacket(forwardPacket, hostAddr.get());
+            shard.socket().sendPacket(forwardPacket, hostAddr.get());
         } else {
             PacketPayload.ConnectDeny deny = new PacketPayload.ConnectDeny("Session not found");
             PacketHeader header = PacketHeader.create(
                 PacketType.CONNECT_DENY.getValue(), (short) 0, (byte) 0, (byte) 0
             );
             NeonPacket denyPacket = new NeonPacket(header, deny);
-            socket.sendPacket(denyPacket, source);
+            shard.socket().sendPacket(denyPacket, source);
+            shard.metrics().recordConnectionDenied();
         }
     }
 
-    private void handleConnectAccept(PacketPayload.ConnectAccept accept, SocketAddress source, PacketHeader header) throws IOException {
+    private void handleConnectAccept(PacketPayload.ConnectAccept accept, SocketAddress source, PacketHeader header, Shard shard) throws IOException {
         int sessionId = accept.sessionId();
         byte clientId = accept.assignedClientId();
 
@@ -306,15 +599,17 @@ public class NeonRelay implements AutoCloseable, Lifecycle {
             SocketAddress clientAddr = findPendingClientAddress(sessionId);
             if (clientAddr != null) {
                 sessionManager.registerPeer(sessionId, clientId, clientAddr, false);
+                scheduleExpiry(clientAddr);
                 pendingConnections.remove(clientAddr);
+                shard.metrics().recordConnectionAccepted();
                 System.out.println("Client " + clientId + " joined session " + sessionId);
             }
 
-            routeToClient(sessionId, clientId, accept, header);
+            routeToClient(sessionId, clientId, accept, header, shard);
         }
     }
 
-    private void handleReconnectRequest(PacketPayload.ReconnectRequest request, SocketAddress source) throws IOException {
+    private void handleReconnectRequest(PacketPayload.ReconnectRequest request, SocketAddress source, Shard shard) throws IOException {
         int sessionId = request.targetSessionId();
 
         Optional<SocketAddress> hostAddr = sessionManager.getHost(sessionId);
@@ -323,9 +618,11 @@ public class NeonRelay implements AutoCloseable, Lifecycle {
                 PacketType.RECONNECT_REQUEST.getValue(), (short) 0, request.previousClientId(), (byte) 1
             );
             NeonPacket forwardPacket = new NeonPacket(header, request);
-            socket.sendPacket(forwardPacket, hostAddr.get());
+            shard.socket().sendPacket(forwardPacket, hostAddr.get());
 
             sessionManager.updatePeerAddress(sessionId, request.previousClientId(), source);
+            scheduleExpiry(source);
+            shard.metrics().recordReconnection();
             logger.log(Level.INFO, "Reconnect request forwarded for client {0} [SessionID={1}]",
                 new Object[]{request.previousClientId(), sessionId});
         } else {
@@ -334,12 +631,13 @@ public class NeonRelay implements AutoCloseable, Lifecycle {
                 PacketType.CONNECT_DENY.getValue(), (short) 0, (byte) 0, (byte) 0
             );
             NeonPacket denyPacket = new NeonPacket(header, deny);
-            socket.sendPacket(denyPacket, source);
+            shard.socket().sendPacket(denyPacket, source);
+            shard.metrics().recordConnectionDenied();
             logger.log(Level.WARNING, "Reconnect request for non-existent session {0}", sessionId);
         }
     }
 
-    private void handleDisconnectNotice(SocketAddress source, PacketHeader header) throws IOException {
+    private void handleDisconnectNotice(SocketAddress source, PacketHeader header, Shard shard) throws IOException {
         Optional<Integer> sessionId = sessionManager.getSessionForPeer(source);
         if (sessionId.isEmpty()) {
             logger.log(Level.WARNING, "Disconnect notice from unknown peer {0}", source);
@@ -354,22 +652,22 @@ public class NeonRelay implements AutoCloseable, Lifecycle {
             PacketType.DISCONNECT_NOTICE, header.sequence(), clientId, (byte) 0, notice
         );
 
-        List<PeerInfo> peers = sessionManager.getPeers(session);
-        for (PeerInfo peer : peers) {
-            if (!peer.addr().equals(source)) {
-                socket.sendPacket(noticePacket, peer.addr());
-            }
-        }
+        ByteBuffer encoded = ByteBuffer.wrap(noticePacket.toBytes());
+        fanout.send(encoded, sessionManager.getAllPeersExcept(session, source), shard.socket());
 
         sessionManager.removePeer(source);
         pendingConnections.remove(source);
-        rateLimiters.remove(source);
+        AddressTable.Endpoint endpoint = addresses.lookup(source);
+        if (endpoint != null) {
+            removeLimiter(endpoint);
+        }
+        shard.metrics().recordDisconnection();
 
         logger.log(Level.INFO, "Client {0} disconnected from session {1}",
             new Object[]{clientId, session});
     }
 
-    private void routePacket(NeonPacket packet, SocketAddress source) throws IOException {
+    private void routePacket(NeonPacket packet, ByteBuffer data, SocketAddress source, Shard shard) throws IOException {
         sessionManager.updateLastSeen(source);
 
         Optional<String> validationError = relaySemantics.validateForForwarding(packet);
@@ -379,22 +677,88 @@ public class NeonRelay implements AutoCloseable, Lifecycle {
             return;
         }
 
+        if (pipeline != null) {
+            dispatch(data, source, sessionManager.getPeer(source), packet.header().destinationId(), shard);
+            return;
+        }
+
         RelaySemantics.RoutingDecision decision = relaySemantics.determineRouting(
             packet, source, sessionManager
         );
+        deliver(decision, data, source, shard);
+    }
+
+    /**
+     * Forwards a game packet using only its header. The payload is never decoded and
+     * the received bytes are sent to each destination unchanged.
+     */
+    private void forwardRaw(ByteBuffer data, SocketAddress source, PeerInfo peer, Shard shard) throws IOException {
+        if (peer != null) {
+            peer.touch(System.currentTimeMillis());
+        }
+
+        if (pipeline != null) {
+            dispatch(data, source, peer, PacketHeader.peekDestinationId(data), shard);
+            return;
+        }
+
+        RelaySemantics.RoutingDecision decision = relaySemantics.determineRouting(
+            PacketHeader.peekDestinationId(data), source, sessionManager
+        );
+        deliver(decision, data, source, shard);
+    }
+
+    /**
+     * Hands a packet to the worker queue of its source's session. The datagram is copied
+     * into a pooled array of the smallest size class that fits, because the receive
+     * buffer is reused as soon as this returns.
+     */
+    private void dispatch(ByteBuffer data, SocketAddress source, PeerInfo peer, byte destinationId, Shard shard) {
+        if (peer == null) {
+            logger.log(Level.WARNING, "Unroutable packet from {0}: destination={1}, reason={2}",
+                new Object[]{source, destinationId, "Source not in any session"});
+            shard.metrics().recordPacketDropped();
+            return;
+        }
 
+        int length = data.remaining();
+        byte[] copy = routeBuffers.acquire(length);
+        data.get(data.position(), copy, 0, length);
+        RouteTask task = new RouteTask(ByteBuffer.wrap(copy, 0, length), source, destinationId, shard);
+        if (!pipeline.submit(peer.sessionId(), task)) {
+            routeBuffers.release(copy);
+            logger.log(Level.FINE, "Worker queue full, dropping packet from {0}", source);
+            shard.metrics().recordPacketDropped();
+        }
+    }
+
+    private void routeTask(RouteTask task) throws IOException {
+        try {
+            RelaySemantics.RoutingDecision decision = relaySemantics.determineRouting(
+                task.destinationId(), task.source(), sessionManager
+            );
+            deliver(decision, task.data(), task.source(), task.shard());
+        } finally {
+            routeBuffers.release(task.data().array());
+        }
+    }
+
+    private void deliver(RelaySemantics.RoutingDecision decision, ByteBuffer data, SocketAddress source, Shard shard) throws IOException {
         switch (decision) {
             case RelaySemantics.RoutingDecision.Unicast unicast -> {
-                socket.sendPacket(unicast.packet(), unicast.destination());
+                shard.socket().send(data, unicast.destination());
+                shard.metrics().recordPacketSent(data.remaining());
             }
             case RelaySemantics.RoutingDecision.Broadcast broadcast -> {
-                for (SocketAddress dest : broadcast.destinations()) {
-                    socket.sendPacket(broadcast.packet(), dest);
+                int sent = fanout.send(data, broadcast.destinations(), shard.socket());
+                for (int i = 0; i < sent; i++) {
+                    shard.metrics().recordPacketSent(data.remaining());
                 }
             }
             case RelaySemantics.RoutingDecision.Unroutable unroutable -> {
                 logger.log(Level.WARNING, "Unroutable packet from {0}: destination={1}, reason={2}",
                     new Object[]{source, unroutable.destinationId(), unroutable.reason()});
+                shard.metrics().recordPacketDropped();
             }
             case RelaySemantics.RoutingDecision.RelayHandled handled -> {
                 logger.log(Level.FINE, "Relay handled packet from {0}: {1}",
@@ -403,14 +767,14 @@ public class NeonRelay implements AutoCloseable, Lifecycle {
         }
     }
 
-    private void routeToClient(int sessionId, byte clientId, PacketPayload payload, PacketHeader originalHeader) throws IOException {
+    private void routeToClient(int sessionId, byte clientId, PacketPayload payload, PacketHeader originalHeader, Shard shard) throws IOException {
         Optional<SocketAddress> addr = sessionManager.getPeerAddress(sessionId, clientId);
         if (addr.isPresent()) {
             PacketHeader header = PacketHeader.create(
                 originalHeader.packetType(), originalHeader.sequence(), originalHeader.clientId(), clientId
             );
             NeonPacket packet = new NeonPacket(header, payload);
-            socket.sendPacket(packet, addr.get());
+            shard.socket().sendPacket(packet, addr.get());
         }
     }
 
@@ -428,103 +792,336 @@ public class NeonRelay implements AutoCloseable, Lifecycle {
         if (now - lastCleanupTime < config.getRelayCleanupIntervalMs()) {
             return;
         }
+        runCleanup();
+    }
 
-        sessionManager.cleanupStale(config.getRelayClientTimeoutMs());
+    /**
+     * Expires the peers, pending connections and rate limiters whose deadlines have
+     * passed. Only due entries are visited, so the cost does not grow with the number
+     * of connected peers.
+     */
+    private void runCleanup() {
+        long now = System.currentTimeMillis();
+        expirations.advance(now, expiry -> expire(expiry, now));
+        admission.purgeExpired(System.nanoTime());
+        lastCleanupTime = now;
+    }
 
-        Instant pendingCutoff = Instant.now().minusMillis(config.getRelayPendingConnectionTimeoutMs());
-        pendingConnections.entrySet().removeIf(entry -> {
-            if (entry.getValue().requestTime().isBefore(pendingCutoff)) {
-                System.out.println("Cleaned up stale pending connection: " + entry.getKey());
-                return true;
-            }
-            return false;
-        });
+    private void scheduleExpiry(SocketAddress addr) {
+        PeerInfo peer = sessionManager.getPeer(addr);
+        if (peer != null && !peer.isHost()) {
+            expirations.schedule(new PeerExpiry(peer), peer.lastSeenMillis() + config.getRelayClientTimeoutMs());
+        }
+    }
 
-        Set<SocketAddress> activeAddresses = sessionManager.getActiveAddresses();
-        rateLimiters.keySet().removeIf(addr -> {
-            if (!activeAddresses.contains(addr) && !pendingConnections.containsKey(addr)) {
-                return true;
+    /**
+     * Handles one due deadline. Entries are never cancelled, so each one first checks
+     * that its item is still current; an item that is still in use is rescheduled.
+     */
+    private void expire(Expiry expiry, long now) {
+        switch (expiry) {
+            case PeerExpiry(PeerInfo peer) -> {
+                long timeout = config.getRelayClientTimeoutMs();
+                if (sessionManager.removeIfIdle(peer, now - timeout)) {
+                    System.out.println("Cleaned up stale peer: " + peer.addr());
+                    AddressTable.Endpoint endpoint = addresses.lookup(peer.addr());
+                    if (endpoint != null && !pendingConnections.containsKey(peer.addr())) {
+                        removeLimiter(endpoint);
+                    }
+                } else if (sessionManager.getPeer(peer.addr()) == peer) {
+                    expirations.schedule(expiry, peer.lastSeenMillis() + timeout);
+                }
             }
-            return false;
-        });
+            case PendingExpiry(SocketAddress addr, PendingConnection pending) -> {
+                if (pendingConnections.remove(addr, pending)) {
+                    System.out.println("Cleaned up stale pending connection: " + addr);
+                    AddressTable.Endpoint endpoint = addresses.lookup(addr);
+                    if (endpoint != null && endpoint.peer() == null) {
+                        removeLimiter(endpoint);
+                    }
+                }
+            }
+            case LimiterExpiry(AddressTable.Endpoint endpoint, RateLimiter limiter) -> {
+                if (endpoint.limiter() != limiter) {
+                    return;
+                }
+                if (endpoint.peer() != null || pendingConnections.containsKey(endpoint.address())) {
+                    expirations.schedule(expiry, now + config.getRelayClientTimeoutMs());
+                } else {
+                    removeLimiter(endpoint);
+                }
+            }
+        }
+    }
 
-        lastCleanupTime = now;
+    /**
+     * Gets the address the relay is bound to. All shards share this address.
+     */
+    public SocketAddress getLocalAddress() {
+        return socket.getLocalAddress();
+    }
+
+    /**
+     * Gets the number of shards the relay is running with. This can be lower than
+     * the configured count if SO_REUSEPORT is not available.
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Gets relay metrics combined across all shards.
+     */
+    public NeonMetrics.Snapshot getMetrics() {
+        List<NeonMetrics.Snapshot> snapshots = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            snapshots.add(shard.metrics().snapshot());
+        }
+        return NeonMetrics.Snapshot.combine(snapshots);
+    }
+
+    /**
+     * Gets the admission stage that screens raw datagrams before decoding, for managing
+     * the denylist and reading drop counts.
+     *
+     * @since 1.3
+     */
+    public AdmissionFilter getAdmissionFilter() {
+        return admission;
+    }
+
+    /**
+     * Takes a point-in-time view of the whole relay, aggregated across shards
+     * and session partitions.
+     */
+    public Snapshot snapshot() {
+        List<Long> packetsPerShard = new ArrayList<>(shards.length);
+        List<NeonMetrics.Snapshot> metricsSnapshots = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            NeonMetrics.Snapshot shardSnapshot = shard.metrics().snapshot();
+            metricsSnapshots.add(shardSnapshot);
+            packetsPerShard.add(shardSnapshot.packetsReceived());
+        }
+        return new Snapshot(
+            shards.length,
+            sessionManager.getSessionCount(),
+            sessionManager.getTotalConnections(),
+            pendingConnections.size(),
+            List.copyOf(packetsPerShard),
+            pipeline != null ? List.copyOf(pipeline.getQueueStates()) : List.of(),
+            routeBuffers.stats(),
+            admission.dropCounts(),
+            NeonMetrics.Snapshot.combine(metricsSnapshots)
+        );
     }
 
     @Override
     public void close() throws IOException {
-        socket.close();
+        if (pipeline != null) {
+            pipeline.close();
+        }
+        fanout.close();
+        IOException failure = null;
+        for (Shard shard : shards) {
+            try {
+                shard.socket().close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
     }
 
+    /**
+     * Point-in-time view of relay state across all shards.
+     *
+     * @param shardCount number of shards the relay is running with
+     * @param sessionCount number of active sessions
+     * @param connectionCount number of registered peers
+     * @param pendingConnectionCount number of connection requests awaiting the host
+     * @param packetsReceivedPerShard packets received by each shard, by shard index
+     * @param workerQueues backpressure state of each routing worker queue, empty when routing inline
+     * @param routeBuffers usage of the pool that holds packets queued for the routing workers
+     * @param admissionDrops datagrams dropped before decoding, by reason
+     * @param metrics metrics combined across shards
+     */
+    public record Snapshot(
+        int shardCount,
+        int sessionCount,
+        int connectionCount,
+        int pendingConnectionCount,
+        List<Long> packetsReceivedPerShard,
+        List<Backpressure.State> workerQueues,
+        ByteBufferPool.Stats routeBuffers,
+        Map<AdmissionFilter.Drop, Long> admissionDrops,
+        NeonMetrics.Snapshot metrics
+    ) {}
+
+    /**
+     * A socket bound to the relay port and the metrics for packets it handles.
+     */
+    private record Shard(int index, NeonSocket socket, NeonMetrics metrics) {}
+
+    /**
+     * A packet waiting in a worker queue to be routed, with the shard it arrived on.
+     */
+    private record RouteTask(ByteBuffer data, SocketAddress source, byte destinationId, Shard shard) {}
+
     /**
      * Tracks pending client connections.
      */
     private record PendingConnection(int sessionId, String name, Instant requestTime) {}
+
+    /**
+     * A deadline held in the relay's timing wheel.
+     */
+    private sealed interface Expiry permits PeerExpiry, PendingExpiry, LimiterExpiry {}
+
+    /**
+     * Removes a client that has been idle for the client timeout.
+     */
+    private record PeerExpiry(PeerInfo peer) implements Expiry {}
+
+    /**
+     * Drops a connection request the host has not answered in time.
+     */
+    private record PendingExpiry(SocketAddress addr, PendingConnection pending) implements Expiry {}
+
+    /**
+     * Drops the rate limiter of a source that is neither connected nor pending.
+     */
+    private record LimiterExpiry(AddressTable.Endpoint endpoint, RateLimiter limiter) implements Expiry {}
 }
 
 /**
  * Manages sessions and peer routing.
+ *
+ * <p>Each session has a routing table indexed directly by the 8-bit client ID. Tables are
+ * copy-on-write: joins, leaves and reconnects rebuild them under the lock of the session's
+ * partition, and the routing lookups made for every packet read them without locking or
+ * allocating. Each peer also holds its precomputed broadcast targets, rebuilt whenever
+ * the session's membership changes.
+ *
+ * <p>Session tables are split into partitions keyed by session ID, each with its own
+ * writer lock, so relay shards changing different sessions do not contend. A peer's
+ * routing entry is attached to its {@link AddressTable.Endpoint}, so finding the session
+ * of a packet's source needs no further lookup once the address is interned.
+ *
+ * <p>When {@link NeonConfig#getRelaySessionMaxPacketsPerSecond()} is set, each session
+ * also owns a {@link TokenBucket} shared by all of its peers.
  */
 class SessionManager implements RelaySemantics.PeerLookup {
-    private final Map<Integer, List<PeerInfo>> sessions = new ConcurrentHashMap<>();
-    private final Map<Integer, SocketAddress> hosts = new ConcurrentHashMap<>();
-    private final Map<SocketAddress, PeerInfo> peerLookup = new ConcurrentHashMap<>();
+    private static final int MAX_CLIENTS = 256;
+
+    private final Partition[] partitions;
+    private final AddressTable addresses;
+    private final int sessionPacketsPerSecond;
+    private final int sessionBurst;
+
+    SessionManager() {
+        this(1);
+    }
+
+    SessionManager(int partitionCount) {
+        this(partitionCount, new NeonConfig(), new AddressTable());
+    }
+
+    SessionManager(int partitionCount, NeonConfig config, AddressTable addresses) {
+        this.addresses = addresses;
+        this.sessionPacketsPerSecond = config.getRelaySessionMaxPacketsPerSecond();
+        this.sessionBurst = RateLimiter.burstFor(sessionPacketsPerSecond, config);
+        this.partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition();
+        }
+    }
+
+    private Partition partitionFor(int sessionId) {
+        return partitions[Math.floorMod(sessionId, partitions.length)];
+    }
+
+    private SessionTable tableFor(int sessionId) {
+        return partitionFor(sessionId).sessions.get(sessionId);
+    }
+
+    private SessionTable newTable() {
+        return new SessionTable(sessionPacketsPerSecond > 0
+            ? new TokenBucket(sessionPacketsPerSecond, sessionBurst, System.nanoTime())
+            : null);
+    }
 
     public void registerHost(int sessionId, SocketAddress addr) {
-        hosts.put(sessionId, addr);
-        registerPeer(sessionId, (byte) 1, addr, true);
+        Partition partition = partitionFor(sessionId);
+        synchronized (partition) {
+            SessionTable table = partition.sessions.computeIfAbsent(sessionId, k -> newTable());
+            table.host = addr;
+            putLocked(table, new PeerInfo(addr, (byte) 1, sessionId, true, table.limiter));
+        }
     }
 
     public void registerPeer(int sessionId, byte clientId, SocketAddress addr, boolean isHost) {
-        PeerInfo peer = new PeerInfo(addr, clientId, sessionId, Instant.now(), isHost);
-        sessions.computeIfAbsent(sessionId, k -> new ArrayList<>()).add(peer);
-        peerLookup.put(addr, peer);
+        Partition partition = partitionFor(sessionId);
+        synchronized (partition) {
+            SessionTable table = partition.sessions.computeIfAbsent(sessionId, k -> newTable());
+            putLocked(table, new PeerInfo(addr, clientId, sessionId, isHost, table.limiter));
+        }
     }
 
     public void updatePeerAddress(int sessionId, byte clientId, SocketAddress newAddr) {
-        List<PeerInfo> peers = sessions.get(sessionId);
-        if (peers != null) {
-            PeerInfo oldPeer = peers.stream()
-                .filter(p -> p.clientId() == clientId)
-                .findFirst()
-                .orElse(null);
-
-            if (oldPeer != null) {
-                peers.remove(oldPeer);
-                peerLookup.remove(oldPeer.addr());
+        Partition partition = partitionFor(sessionId);
+        synchronized (partition) {
+            SessionTable table = partition.sessions.get(sessionId);
+            if (table != null) {
+                PeerInfo oldPeer = table.peers[clientId & 0xFF];
+                boolean isHost = oldPeer != null && oldPeer.isHost();
+                if (isHost) {
+                    table.host = newAddr;
+                }
+                putLocked(table, new PeerInfo(newAddr, clientId, sessionId, isHost, table.limiter));
             }
-
-            PeerInfo newPeer = new PeerInfo(newAddr, clientId, sessionId, Instant.now(), oldPeer != null && oldPeer.isHost());
-            peers.add(newPeer);
-            peerLookup.put(newAddr, newPeer);
         }
     }
 
     public Optional<SocketAddress> getHost(int sessionId) {
-        return Optional.ofNullable(hosts.get(sessionId));
+        SessionTable table = tableFor(sessionId);
+        return table != null ? Optional.ofNullable(table.host) : Optional.empty();
     }
 
     public Optional<SocketAddress> getPeerAddress(int sessionId, byte clientId) {
-        List<PeerInfo> peers = sessions.get(sessionId);
-        if (peers == null) return Optional.empty();
+        SessionTable table = tableFor(sessionId);
+        if (table == null) return Optional.empty();
 
-        return peers.stream()
-            .filter(p -> p.clientId() == clientId)
-            .map(PeerInfo::addr)
-            .findFirst();
+        PeerInfo peer = table.peers[clientId & 0xFF];
+        return peer != null ? Optional.of(peer.addr()) : Optional.empty();
     }
 
     public List<PeerInfo> getPeers(int sessionId) {
-        return sessions.getOrDefault(sessionId, List.of());
+        SessionTable table = tableFor(sessionId);
+        return table != null ? List.of(table.members) : List.of();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>For a member of the session this returns its precomputed broadcast targets
+     * without allocating.
+     */
     @Override
     public List<SocketAddress> getAllPeersExcept(int sessionId, SocketAddress exclude) {
-        List<PeerInfo> peers = sessions.get(sessionId);
-        if (peers == null) return List.of();
+        PeerInfo source = getPeer(exclude);
+        if (source != null && source.sessionId() == sessionId) {
+            return source.broadcastTargets();
+        }
+
+        SessionTable table = tableFor(sessionId);
+        if (table == null) return List.of();
 
-        List<SocketAddress> result = new ArrayList<>();
-        for (PeerInfo peer : peers) {
+        List<SocketAddress> result = new ArrayList<>(table.members.length);
+        for (PeerInfo peer : table.members) {
             if (!peer.addr().equals(exclude)) {
                 result.add(peer.addr());
             }
@@ -533,182 +1130,161 @@ class SessionManager implements RelaySemantics.PeerLookup {
     }
 
     public int getClientCount(int sessionId) {
-        List<PeerInfo> peers = sessions.get(sessionId);
-        return peers != null ? peers.size() : 0;
+        SessionTable table = tableFor(sessionId);
+        return table != null ? table.members.length : 0;
+    }
+
+    public int getSessionCount() {
+        int count = 0;
+        for (Partition partition : partitions) {
+            count += partition.sessions.size();
+        }
+        return count;
     }
 
     public int getTotalConnections() {
-        return peerLookup.size();
+        return addresses.peerCount();
     }
 
-    public Set<SocketAddress> getActiveAddresses() {
-        return new HashSet<>(peerLookup.keySet());
+    /**
+     * Gets the routing entry registered for an address, or null.
+     */
+    public PeerInfo getPeer(SocketAddress addr) {
+        AddressTable.Endpoint endpoint = addresses.lookup(addr);
+        return endpoint != null ? endpoint.peer() : null;
     }
 
     public Optional<Integer> getSessionForPeer(SocketAddress addr) {
-        PeerInfo peer = peerLookup.get(addr);
+        PeerInfo peer = getPeer(addr);
         return peer != null ? Optional.of(peer.sessionId()) : Optional.empty();
     }
 
+    /**
+     * Records that a packet arrived from the address. Updates the peer's timestamp in
+     * place, without locking or allocating.
+     */
     public void updateLastSeen(SocketAddress addr) {
-        PeerInfo peer = peerLookup.get(addr);
+        PeerInfo peer = getPeer(addr);
         if (peer != null) {
-            PeerInfo updated = new PeerInfo(
-                peer.addr(), peer.clientId(), peer.sessionId(), Instant.now(), peer.isHost()
-            );
-            peerLookup.put(addr, updated);
-
-            List<PeerInfo> peers = sessions.get(peer.sessionId());
-            if (peers != null) {
-                peers.removeIf(p -> p.addr().equals(addr));
-                peers.add(updated);
-            }
+            peer.touch(System.currentTimeMillis());
         }
     }
 
     public void removePeer(SocketAddress addr) {
-        PeerInfo peer = peerLookup.remove(addr);
+        PeerInfo peer = getPeer(addr);
         if (peer != null) {
-            List<PeerInfo> peers = sessions.get(peer.sessionId());
-            if (peers != null) {
-                peers.removeIf(p -> p.addr().equals(addr));
-                if (peers.isEmpty()) {
-                    sessions.remove(peer.sessionId());
-                    hosts.remove(peer.sessionId());
-                }
+            Partition partition = partitionFor(peer.sessionId());
+            synchronized (partition) {
+                removeLocked(partition, peer);
             }
         }
     }
 
-    public void cleanupStale(long timeoutMs) {
-        Instant cutoff = Instant.now().minusMillis(timeoutMs);
-        List<SocketAddress> toRemove = new ArrayList<>();
-
-        for (PeerInfo peer : peerLookup.values()) {
-            if (peer.isHost()) continue;
-
-            if (peer.lastSeen().isBefore(cutoff)) {
-                toRemove.add(peer.addr());
-            }
-        }
-
-        for (SocketAddress addr : toRemove) {
-            PeerInfo peer = peerLookup.remove(addr);
-            if (peer != null) {
-                List<PeerInfo> peers = sessions.get(peer.sessionId());
-                if (peers != null) {
-                    peers.removeIf(p -> p.addr().equals(addr));
-                    if (peers.isEmpty()) {
-                        sessions.remove(peer.sessionId());
-                        hosts.remove(peer.sessionId());
-                    }
-                }
-                System.out.println("Cleaned up stale peer: " + addr);
+    /**
+     * Removes the peer if it is still registered and has not been seen since the cutoff.
+     *
+     * @return true if the peer was removed
+     */
+    public boolean removeIfIdle(PeerInfo peer, long cutoffMillis) {
+        Partition partition = partitionFor(peer.sessionId());
+        synchronized (partition) {
+            if (peer.lastSeenMillis() > cutoffMillis) {
+                return false;
             }
+            return removeLocked(partition, peer);
         }
     }
-}
-
-/**
- * Information about a peer in a session.
- */
-record PeerInfo(
-    SocketAddress addr,
-    byte clientId,
-    int sessionId,
-    Instant lastSeen,
-    boolean isHost
-) {}
-
-/**
- * Token bucket rate limiter with flood detection for DoS protection.
- * Tracks violations and implements progressive throttling for repeat offenders.
- */
-class RateLimiter {
-    private static final Logger logger;
-
-    static {
-        logger = Logger.getLogger(RateLimiter.class.getName());
-        com.quietterminal.projectneon.util.LoggerConfig.configureLogger(logger);
-    }
-
-    private final int maxPacketsPerSecond;
-    private final NeonConfig config;
-    private int tokens;
-    private long lastRefillTime;
-
-    private int violationCount;
-    private long firstViolationTime;
-    private boolean isThrottled;
-
-    public RateLimiter(int maxPacketsPerSecond, NeonConfig config) {
-        this.maxPacketsPerSecond = maxPacketsPerSecond;
-        this.config = config;
-        this.tokens = maxPacketsPerSecond;
-        this.lastRefillTime = System.currentTimeMillis();
-        this.violationCount = 0;
-        this.firstViolationTime = 0;
-        this.isThrottled = false;
-    }
 
-    public synchronized boolean allowPacket() {
-        refillTokens();
-        checkFloodStatus();
-
-        int effectiveLimit = isThrottled ? maxPacketsPerSecond / config.getThrottlePenaltyDivisor() : maxPacketsPerSecond;
-
-        if (tokens > 0 && tokens <= effectiveLimit) {
-            tokens--;
-            return true;
+    /**
+     * Installs a peer in its slot, replacing any previous peer with the same client ID.
+     * Must hold the partition lock.
+     */
+    private void putLocked(SessionTable table, PeerInfo peer) {
+        int slot = peer.clientId() & 0xFF;
+        PeerInfo[] peers = table.peers.clone();
+        PeerInfo previous = peers[slot];
+        if (previous != null) {
+            detach(previous);
         }
-
-        recordViolation();
-        return false;
-    }
-
-    private void refillTokens() {
-        long now = System.currentTimeMillis();
-        long timePassed = now - lastRefillTime;
-
-        if (timePassed >= config.getTokenRefillIntervalMs()) {
-            int tokensToAdd = (int) (timePassed / 1000) * maxPacketsPerSecond;
-            tokens = Math.min(maxPacketsPerSecond, tokens + tokensToAdd);
-            lastRefillTime = now;
+        peers[slot] = peer;
+        while (!addresses.intern(peer.addr()).attachPeer(peer)) {
+            // The endpoint was released concurrently; intern the address again.
         }
+        table.publish(peers);
     }
 
-    private void recordViolation() {
-        long now = System.currentTimeMillis();
-
-        if (firstViolationTime == 0 || now - firstViolationTime > config.getFloodWindowMs()) {
-            firstViolationTime = now;
-            violationCount = 1;
-        } else {
-            violationCount++;
+    private boolean detach(PeerInfo peer) {
+        AddressTable.Endpoint endpoint = addresses.lookup(peer.addr());
+        return endpoint != null && endpoint.detachPeer(peer);
+    }
 
-            if (violationCount >= config.getFloodThreshold() && !isThrottled) {
-                isThrottled = true;
-                logger.log(Level.WARNING,
-                    "Flood detected: throttling activated after {0} violations", violationCount);
+    /**
+     * Removes a peer if it is still registered. Must hold the partition lock.
+     */
+    private boolean removeLocked(Partition partition, PeerInfo peer) {
+        if (!detach(peer)) {
+            return false;
+        }
+        SessionTable table = partition.sessions.get(peer.sessionId());
+        if (table != null) {
+            int slot = peer.clientId() & 0xFF;
+            if (table.peers[slot] == peer) {
+                PeerInfo[] peers = table.peers.clone();
+                peers[slot] = null;
+                table.publish(peers);
+            }
+            if (table.members.length == 0) {
+                partition.sessions.remove(peer.sessionId());
             }
         }
+        return true;
     }
 
-    private void checkFloodStatus() {
-        long now = System.currentTimeMillis();
-
-        if (isThrottled && now - firstViolationTime > config.getFloodWindowMs()) {
-            isThrottled = false;
-            violationCount = 0;
-            firstViolationTime = 0;
-        }
+    /**
+     * Session tables for the session IDs that map to one partition.
+     * Readers use the concurrent map directly; writers hold the partition's monitor.
+     */
+    private static final class Partition {
+        private final Map<Integer, SessionTable> sessions = new ConcurrentHashMap<>();
     }
 
-    public boolean isThrottled() {
-        return isThrottled;
-    }
+    /**
+     * Routing table for one session. The arrays are never modified once published;
+     * writers replace them under the partition lock.
+     */
+    private static final class SessionTable {
+        private volatile PeerInfo[] peers = new PeerInfo[MAX_CLIENTS];
+        private volatile PeerInfo[] members = new PeerInfo[0];
+        private volatile SocketAddress host;
+        private final TokenBucket limiter;
+
+        private SessionTable(TokenBucket limiter) {
+            this.limiter = limiter;
+        }
 
-    public int getViolationCount() {
-        return violationCount;
+        /**
+         * Publishes a new slot array and rebuilds the member list and every member's
+         * broadcast targets from it.
+         */
+        private void publish(PeerInfo[] slots) {
+            List<PeerInfo> live = new ArrayList<>();
+            for (PeerInfo peer : slots) {
+                if (peer != null) {
+                    live.add(peer);
+                }
+            }
+            SocketAddress[] addresses = new SocketAddress[live.size()];
+            for (int i = 0; i < addresses.length; i++) {
+                addresses[i] = live.get(i).addr();
+            }
+            for (int i = 0; i < addresses.length; i++) {
+                SocketAddress[] targets = new SocketAddress[addresses.length - 1];
+                System.arraycopy(addresses, 0, targets, 0, i);
+                System.arraycopy(addresses, i + 1, targets, i, addresses.length - i - 1);
+                live.get(i).setBroadcastTargets(List.of(targets));
+            }
+            this.peers = slots;
+            this.members = live.toArray(new PeerInfo[0]);
+        }
     }
 }
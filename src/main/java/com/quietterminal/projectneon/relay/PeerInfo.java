@@ -0,0 +1,71 @@
+package com.quietterminal.projectneon.relay;
+
+import java.net.SocketAddress;
+import java.util.List;
+
+/**
+ * A peer's routing entry. The identity fields are fixed; the last-seen time is updated
+ * in place for every packet and the broadcast targets are replaced when the session's
+ * membership changes.
+ */
+final class PeerInfo {
+    private final SocketAddress addr;
+    private final byte clientId;
+    private final int sessionId;
+    private final boolean isHost;
+    private final TokenBucket sessionLimiter;
+    private volatile long lastSeenMillis;
+    private volatile List<SocketAddress> broadcastTargets = List.of();
+
+    PeerInfo(SocketAddress addr, byte clientId, int sessionId, boolean isHost, TokenBucket sessionLimiter) {
+        this.addr = addr;
+        this.clientId = clientId;
+        this.sessionId = sessionId;
+        this.isHost = isHost;
+        this.sessionLimiter = sessionLimiter;
+        this.lastSeenMillis = System.currentTimeMillis();
+    }
+
+    SocketAddress addr() {
+        return addr;
+    }
+
+    byte clientId() {
+        return clientId;
+    }
+
+    int sessionId() {
+        return sessionId;
+    }
+
+    boolean isHost() {
+        return isHost;
+    }
+
+    /**
+     * Gets the rate limiter shared by the peer's session, or null if sessions are not limited.
+     */
+    TokenBucket sessionLimiter() {
+        return sessionLimiter;
+    }
+
+    long lastSeenMillis() {
+        return lastSeenMillis;
+    }
+
+    void touch(long nowMillis) {
+        lastSeenMillis = nowMillis;
+    }
+
+    /**
+     * Gets the addresses of every other peer in the session. The list is immutable and
+     * shared, so routing a broadcast does not allocate.
+     */
+    List<SocketAddress> broadcastTargets() {
+        return broadcastTargets;
+    }
+
+    void setBroadcastTargets(List<SocketAddress> targets) {
+        this.broadcastTargets = targets;
+    }
+}
@@ -0,0 +1,105 @@
+package com.quietterminal.projectneon.relay;
+
+import com.quietterminal.projectneon.core.NeonConfig;
+import com.quietterminal.projectneon.util.LoggerConfig;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Per-source rate limiter with flood detection for DoS protection.
+ * Draws from the source's own {@link TokenBucket} and tracks violations: a source that
+ * keeps exceeding its limit is throttled, and while throttled each packet costs
+ * {@link NeonConfig#getThrottlePenaltyDivisor()} tokens. Lock-free, so it may be called
+ * from several relay threads at once.
+ */
+class RateLimiter {
+    private static final Logger logger;
+    private static final long NO_WINDOW = Long.MIN_VALUE;
+
+    static {
+        logger = Logger.getLogger(RateLimiter.class.getName());
+        LoggerConfig.configureLogger(logger);
+    }
+
+    private final TokenBucket bucket;
+    private final NeonConfig config;
+    private final long floodWindowNanos;
+
+    private final AtomicInteger violationCount = new AtomicInteger();
+    private final AtomicLong firstViolationTime = new AtomicLong(NO_WINDOW);
+    private final AtomicBoolean isThrottled = new AtomicBoolean();
+
+    public RateLimiter(int maxPacketsPerSecond, NeonConfig config) {
+        this(maxPacketsPerSecond, config, System.nanoTime());
+    }
+
+    RateLimiter(int maxPacketsPerSecond, NeonConfig config, long nowNanos) {
+        this.bucket = new TokenBucket(maxPacketsPerSecond, burstFor(maxPacketsPerSecond, config), nowNanos);
+        this.config = config;
+        this.floodWindowNanos = TimeUnit.MILLISECONDS.toNanos(config.getFloodWindowMs());
+    }
+
+    /**
+     * Gets the burst for a rate: the tokens that accumulate over one
+     * {@link NeonConfig#getTokenRefillIntervalMs() refill interval}.
+     */
+    static int burstFor(int packetsPerSecond, NeonConfig config) {
+        return (int) Math.max(1, (long) packetsPerSecond * config.getTokenRefillIntervalMs() / 1000);
+    }
+
+    public boolean allowPacket() {
+        return allowPacket(System.nanoTime());
+    }
+
+    boolean allowPacket(long nowNanos) {
+        checkFloodStatus(nowNanos);
+
+        int cost = isThrottled.get() ? config.getThrottlePenaltyDivisor() : 1;
+        if (bucket.tryAcquire(nowNanos, cost)) {
+            return true;
+        }
+
+        recordViolation(nowNanos);
+        return false;
+    }
+
+    private void recordViolation(long nowNanos) {
+        long windowStart = firstViolationTime.get();
+
+        if ((windowStart == NO_WINDOW || nowNanos - windowStart > floodWindowNanos)
+                && firstViolationTime.compareAndSet(windowStart, nowNanos)) {
+            violationCount.set(1);
+            return;
+        }
+
+        int violations = violationCount.incrementAndGet();
+        if (violations >= config.getFloodThreshold() && isThrottled.compareAndSet(false, true)) {
+            logger.log(Level.WARNING,
+                "Flood detected: throttling activated after {0} violations", violations);
+        }
+    }
+
+    private void checkFloodStatus(long nowNanos) {
+        if (!isThrottled.get()) {
+            return;
+        }
+        long windowStart = firstViolationTime.get();
+        if (nowNanos - windowStart > floodWindowNanos && firstViolationTime.compareAndSet(windowStart, NO_WINDOW)) {
+            violationCount.set(0);
+            isThrottled.set(false);
+        }
+    }
+
+    public boolean isThrottled() {
+        return isThrottled.get();
+    }
+
+    public int getViolationCount() {
+        return violationCount.get();
+    }
+}
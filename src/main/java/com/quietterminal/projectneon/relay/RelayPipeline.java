@@ -0,0 +1,180 @@
+package com.quietterminal.projectneon.relay;
+
+import com.quietterminal.projectneon.core.Backpressure;
+import com.quietterminal.projectneon.util.LoggerConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Session-affine worker stage for parallel relay routing.
+ *
+ * <p>The receive stage submits routing tasks keyed by session ID. Each session hashes to
+ * exactly one bounded worker queue, and each queue is drained by exactly one thread, so
+ * tasks for a session are handled in submission order while different sessions are
+ * routed in parallel. This preserves the per source-destination ordering promised by
+ * {@link RelaySemantics}.
+ *
+ * <p>Queue depth is reported to a {@link Backpressure} per worker. When a queue is full
+ * the task is rejected rather than blocking the receive stage, which is also serving
+ * other sessions; for UDP traffic this is equivalent to a drop at the socket buffer.
+ *
+ * @param <T> the task type
+ */
+final class RelayPipeline<T> implements AutoCloseable {
+    private static final Logger logger;
+    private static final long POLL_INTERVAL_MS = 100;
+
+    static {
+        logger = Logger.getLogger(RelayPipeline.class.getName());
+        LoggerConfig.configureLogger(logger);
+    }
+
+    /**
+     * Handles one task on a worker thread.
+     */
+    @FunctionalInterface
+    interface Handler<T> {
+        void handle(T task) throws Exception;
+    }
+
+    private final List<BlockingQueue<T>> queues;
+    private final List<Backpressure> backpressures;
+    private final List<Thread> workers;
+    private final Handler<T> handler;
+    private final String name;
+    private volatile boolean running;
+
+    /**
+     * Creates a pipeline.
+     *
+     * @param workerCount number of worker threads and queues
+     * @param queueCapacity maximum tasks waiting in each queue
+     * @param handler handles tasks on the worker threads
+     * @param name prefix for worker thread names
+     */
+    RelayPipeline(int workerCount, int queueCapacity, Handler<T> handler, String name) {
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("workerCount must be positive");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity must be positive");
+        }
+        this.handler = handler;
+        this.name = name;
+        this.queues = new ArrayList<>(workerCount);
+        this.backpressures = new ArrayList<>(workerCount);
+        this.workers = new ArrayList<>(workerCount);
+
+        for (int i = 0; i < workerCount; i++) {
+            int index = i;
+            queues.add(new ArrayBlockingQueue<>(queueCapacity));
+            backpressures.add(Backpressure.create()
+                .setHighWaterMark(queueCapacity)
+                .setLowWaterMark(Math.max(1, queueCapacity / 10))
+                .addListener((signal, state) -> {
+                    if (signal == Backpressure.Signal.CRITICAL) {
+                        logger.log(Level.WARNING, "{0} worker {1} queue full ({2} tasks) - dropping",
+                            new Object[]{name, index, state.currentDepth()});
+                    }
+                }));
+        }
+    }
+
+    /**
+     * Starts the worker threads.
+     */
+    synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        workers.clear();
+        for (int i = 0; i < queues.size(); i++) {
+            int index = i;
+            Thread worker = new Thread(() -> runWorker(index), name + "-worker-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Submits a task to the queue owned by the given session.
+     *
+     * @param sessionId the session the task belongs to
+     * @param task the task
+     * @return true if queued, false if the queue is full or the pipeline is stopped
+     */
+    boolean submit(int sessionId, T task) {
+        int index = Math.floorMod(sessionId, queues.size());
+        Backpressure backpressure = backpressures.get(index);
+        if (!running || !queues.get(index).offer(task)) {
+            backpressure.recordDrop();
+            return false;
+        }
+        backpressure.recordEnqueue();
+        return true;
+    }
+
+    /**
+     * Gets the number of workers.
+     */
+    int getWorkerCount() {
+        return queues.size();
+    }
+
+    /**
+     * Gets the backpressure state of every worker queue, by worker index.
+     */
+    List<Backpressure.State> getQueueStates() {
+        List<Backpressure.State> states = new ArrayList<>(backpressures.size());
+        for (Backpressure backpressure : backpressures) {
+            states.add(backpressure.getState());
+        }
+        return states;
+    }
+
+    private void runWorker(int index) {
+        BlockingQueue<T> queue = queues.get(index);
+        Backpressure backpressure = backpressures.get(index);
+        while (running) {
+            T task;
+            try {
+                task = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (task == null) {
+                continue;
+            }
+            backpressure.recordDequeue();
+            try {
+                handler.handle(task);
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "{0} worker {1} failed to handle task: {2}",
+                    new Object[]{name, index, e.getMessage()});
+            }
+        }
+    }
+
+    /**
+     * Stops the workers. Tasks still queued are discarded.
+     */
+    @Override
+    public synchronized void close() {
+        running = false;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (int i = 0; i < queues.size(); i++) {
+            queues.get(i).clear();
+            backpressures.get(i).reset();
+        }
+    }
+}
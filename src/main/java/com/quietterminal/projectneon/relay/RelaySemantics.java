@@ -57,9 +57,32 @@ public class RelaySemantics {
             NeonPacket packet,
             SocketAddress source,
             PeerLookup sessionLookup) {
+        return route(packet.header().destinationId(), source, sessionLookup, packet);
+    }
 
-        PacketHeader header = packet.header();
-        byte destId = header.destinationId();
+    /**
+     * Determines the routing decision from the destination ID alone.
+     * Used for header-only forwarding, where the payload is never decoded and the
+     * original datagram bytes are sent on unchanged. Unicast and Broadcast decisions
+     * returned by this method carry a null packet.
+     *
+     * @param destinationId The destination ID read from the packet header
+     * @param source The source address
+     * @param sessionLookup Function to look up peer addresses
+     * @return The routing decision
+     */
+    public RoutingDecision determineRouting(
+            byte destinationId,
+            SocketAddress source,
+            PeerLookup sessionLookup) {
+        return route(destinationId, source, sessionLookup, null);
+    }
+
+    private RoutingDecision route(
+            byte destId,
+            SocketAddress source,
+            PeerLookup sessionLookup,
+            NeonPacket packet) {
 
         Optional<Integer> sessionId = sessionLookup.getSessionForPeer(source);
         if (sessionId.isEmpty()) {
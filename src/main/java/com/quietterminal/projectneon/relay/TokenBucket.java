@@ -0,0 +1,69 @@
+package com.quietterminal.projectneon.relay;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket with nanosecond refill.
+ *
+ * <p>Implemented as a generic cell rate algorithm: instead of a token count the bucket
+ * stores the theoretical arrival time of the next packet, which advances by one
+ * emission interval per token taken. A packet is allowed while that time is no more
+ * than one full burst ahead of now. Refill is therefore continuous rather than in
+ * whole-second steps, and the whole state is one {@link AtomicLong} updated by CAS,
+ * so the bucket can be shared by any number of threads.
+ */
+final class TokenBucket {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * Creates a bucket.
+     *
+     * @param ratePerSecond sustained tokens per second
+     * @param burst maximum tokens that can be taken at once after idling
+     * @param nowNanos the current {@link System#nanoTime()}
+     */
+    TokenBucket(int ratePerSecond, int burst, long nowNanos) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("ratePerSecond must be positive");
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("burst must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1, NANOS_PER_SECOND / ratePerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes tokens if the bucket holds enough.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @param tokens number of tokens to take
+     * @return true if the tokens were taken
+     */
+    boolean tryAcquire(long nowNanos, int tokens) {
+        long increment = emissionIntervalNanos * tokens;
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival - nowNanos, 0) + increment;
+            if (next > burstToleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, nowNanos + next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gets the whole tokens currently available.
+     */
+    long availableTokens(long nowNanos) {
+        long backlog = Math.max(theoreticalArrival.get() - nowNanos, 0);
+        return (burstToleranceNanos - backlog) / emissionIntervalNanos;
+    }
+}
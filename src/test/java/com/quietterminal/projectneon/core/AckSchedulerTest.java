@@ -0,0 +1,81 @@
+package com.quietterminal.projectneon.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AckScheduler and PiggybackAck.
+ */
+class AckSchedulerTest {
+    private NeonSocket senderSocket;
+    private NeonSocket receiverSocket;
+    private AckScheduler scheduler;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        senderSocket = new NeonSocket();
+        receiverSocket = new NeonSocket();
+        receiverSocket.setBlocking(true);
+        receiverSocket.setSoTimeout(1000);
+        scheduler = new AckScheduler(senderSocket,
+            new InetSocketAddress("localhost", receiverSocket.getLocalAddress().getPort()), (byte) 2,
+            new NeonConfig().setBatchAckMaxDelayMs(10_000), null);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        senderSocket.close();
+        receiverSocket.close();
+    }
+
+    @Test
+    @DisplayName("Should coalesce in-order ACKs and flush early on a gap")
+    void testCoalesceAndFlushOnGap() throws IOException {
+        scheduler.queue((byte) 5, (short) 1);
+        scheduler.queue((byte) 5, (short) 2);
+        scheduler.queue((byte) 5, (short) 2);
+        assertEquals(2, scheduler.getPendingCount());
+        assertEquals(0, scheduler.flushDue(), "In-order ACKs wait for their deadline");
+
+        scheduler.queue((byte) 5, (short) 4);
+        assertEquals(1, scheduler.flushDue(), "A gap sends the ACK at once");
+        assertEquals(0, scheduler.getPendingCount());
+
+        NeonPacket sent = receiverSocket.receivePacket().packet();
+        assertEquals(PacketType.SELECTIVE_ACK.getValue(), sent.header().packetType());
+        assertEquals((byte) 5, sent.header().destinationId());
+        PacketPayload.SelectiveAck ack = (PacketPayload.SelectiveAck) sent.payload();
+        assertEquals(3, ack.count());
+        assertTrue(ack.covers((short) 1) && ack.covers((short) 2) && ack.covers((short) 4));
+        assertFalse(ack.covers((short) 3));
+    }
+
+    @Test
+    @DisplayName("Should piggyback a waiting ACK on a game packet to the same peer")
+    void testPiggyback() {
+        scheduler.queue((byte) 4, (short) 7);
+        NeonPacket other = NeonPacket.create(PacketType.GAME_PACKET, (short) 1, (byte) 2, (byte) 9,
+            new PacketPayload.GamePacket(new byte[]{1}));
+        assertSame(other, scheduler.piggyback(other), "No ACK is waiting for peer 9");
+
+        NeonPacket game = NeonPacket.create(PacketType.GAME_PACKET, (short) 3, (byte) 2, (byte) 4,
+            new PacketPayload.GamePacket(new byte[]{1, 2, 3}));
+        NeonPacket wrapped = NeonPacket.fromBytes(scheduler.piggyback(game).toBytes());
+        assertEquals(PacketType.PIGGYBACK_ACK.getValue(), wrapped.header().packetType());
+        assertEquals(0, scheduler.getPendingCount());
+
+        PacketPayload.PiggybackAck piggyback = (PacketPayload.PiggybackAck) wrapped.payload();
+        assertTrue(piggyback.ack().covers((short) 7));
+        NeonPacket inner = piggyback.unwrap(wrapped.header());
+        assertEquals(PacketType.GAME_PACKET.getValue(), inner.header().packetType());
+        assertEquals((short) 3, inner.header().sequence());
+        assertArrayEquals(new byte[]{1, 2, 3}, inner.payload().toBytes());
+    }
+}
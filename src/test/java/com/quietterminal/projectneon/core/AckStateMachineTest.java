@@ -0,0 +1,37 @@
+package com.quietterminal.projectneon.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AckStateMachine fast retransmit.
+ */
+class AckStateMachineTest {
+
+    @Test
+    @DisplayName("Should make packets due early on ACK gaps and NACKs")
+    void testFastRetransmit() {
+        AckStateMachine machine = new AckStateMachine(5000, 3);
+        for (short seq = 0; seq < 6; seq++) {
+            machine.track(seq, NeonPacket.create(PacketType.GAME_PACKET, seq, (byte) 1, (byte) 7,
+                new PacketPayload.GamePacket(new byte[]{1})));
+        }
+
+        PacketPayload.SelectiveAck ack = PacketPayload.SelectiveAck.of((short) 1);
+        assertEquals(0, machine.detectGaps((byte) 7, ack));
+        assertEquals(0, machine.detectGaps((byte) 8, ack.with((short) 2)),
+            "ACKs from another peer say nothing about this peer's packets");
+        ack = ack.with((short) 2);
+        assertEquals(0, machine.detectGaps((byte) 7, ack));
+        assertEquals(1, machine.detectGaps((byte) 7, ack.with((short) 3)),
+            "Sequence 0 was skipped by three ACKs");
+
+        assertEquals(2, machine.handleNack((byte) 7, new PacketPayload.Nack((short) 5, 0b11L)),
+            "Sequences 3 and 4 are reported missing");
+        assertEquals(0, machine.handleNack((byte) 8, new PacketPayload.Nack((short) 5, 0b11L)),
+            "NACKs from another peer are ignored");
+        assertEquals(6, machine.pendingCount(), "Nothing was acknowledged");
+    }
+}
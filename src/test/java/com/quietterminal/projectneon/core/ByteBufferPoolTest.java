@@ -0,0 +1,82 @@
+package com.quietterminal.projectneon.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ByteBufferPool.
+ */
+class ByteBufferPoolTest {
+
+    @Test
+    @DisplayName("Should round requests up to power-of-two classes capped at the buffer size")
+    void testSizeClasses() {
+        ByteBufferPool pool = new ByteBufferPool(65535, 0, 8);
+
+        assertEquals(11, pool.getSizeClassCount());
+        assertEquals(64, pool.acquire(1).length);
+        assertEquals(64, pool.acquire(64).length);
+        assertEquals(128, pool.acquire(65).length);
+        assertEquals(32768, pool.acquire(32768).length);
+        assertEquals(65535, pool.acquire(40000).length);
+        assertEquals(65535, pool.acquire().length);
+        assertEquals(70000, pool.acquire(70000).length);
+        assertEquals(1024, pool.sizeClassFor(1000));
+    }
+
+    @Test
+    @DisplayName("Should reuse released buffers and count hits and misses")
+    void testReuseAndStats() {
+        ByteBufferPool pool = new ByteBufferPool(1500, 1, 8);
+
+        byte[] full = pool.acquire();
+        byte[] small = pool.acquire(40);
+        pool.release(small);
+        pool.release(full);
+        pool.release(new byte[100]);
+
+        assertSame(small, pool.acquire(50));
+        assertSame(full, pool.acquire());
+
+        ByteBufferPool.Stats stats = pool.stats();
+        assertEquals(3, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0, stats.available());
+        assertEquals(0.75, stats.hitRate());
+    }
+
+    @Test
+    @DisplayName("Should cap retained buffers per class and count the overflow")
+    void testDepotCapacity() throws Exception {
+        ByteBufferPool pool = new ByteBufferPool(1500, 0, 2);
+        Thread releaser = Thread.ofVirtual().start(() -> {
+            for (int i = 0; i < 5; i++) {
+                pool.release(new byte[256]);
+            }
+        });
+        releaser.join();
+
+        ByteBufferPool.Stats stats = pool.stats();
+        assertEquals(2, stats.available());
+        assertEquals(3, stats.overflows());
+    }
+
+    @Test
+    @DisplayName("Should return buffers cached by an exited thread to the depot")
+    void testExitedThreadMagazine() throws Exception {
+        ByteBufferPool pool = new ByteBufferPool(1500, 0, 8);
+        Thread releaser = Thread.ofPlatform().start(() -> {
+            for (int i = 0; i < 3; i++) {
+                pool.release(new byte[256]);
+            }
+        });
+        releaser.join();
+
+        assertEquals(3, pool.stats().available());
+        assertEquals(256, pool.acquire(200).length);
+        assertEquals(1, pool.stats().hits(), "The exited thread's buffers are reused by other threads");
+        assertEquals(2, pool.availableBuffers());
+    }
+}
@@ -0,0 +1,103 @@
+package com.quietterminal.projectneon.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Channel and ChannelManager.
+ */
+class ChannelManagerTest {
+    private NeonSocket senderSocket;
+    private NeonSocket receiverSocket;
+    private ChannelManager sender;
+    private ChannelManager receiver;
+    private final List<String> delivered = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        senderSocket = new NeonSocket();
+        receiverSocket = new NeonSocket();
+        receiverSocket.setBlocking(true);
+        receiverSocket.setSoTimeout(1000);
+        sender = new ChannelManager(senderSocket,
+            new InetSocketAddress("localhost", receiverSocket.getLocalAddress().getPort()), (byte) 2);
+        receiver = new ChannelManager(receiverSocket,
+            new InetSocketAddress("localhost", senderSocket.getLocalAddress().getPort()), (byte) 3);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        senderSocket.close();
+        receiverSocket.close();
+    }
+
+    @Test
+    @DisplayName("Should encode channel ID and mode in one byte")
+    void testChannelByte() {
+        for (Channel.Mode mode : Channel.Mode.values()) {
+            Channel channel = new Channel(Channel.MAX_ID, mode);
+            assertEquals(channel, Channel.fromByte(channel.toByte()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> Channel.ordered(Channel.MAX_ID + 1));
+    }
+
+    @Test
+    @DisplayName("Should apply each channel's guarantee without blocking other channels")
+    void testChannelGuarantees() throws IOException {
+        NeonPacket chat0 = sendAndCapture(Channel.ordered(1), "chat0");
+        NeonPacket chat1 = sendAndCapture(Channel.ordered(1), "chat1");
+        NeonPacket move0 = sendAndCapture(Channel.sequenced(2), "move0");
+        NeonPacket move1 = sendAndCapture(Channel.sequenced(2), "move1");
+        NeonPacket event = sendAndCapture(Channel.reliable(3), "event");
+        NeonPacket noise = sendAndCapture(Channel.unreliable(4), "noise");
+
+        for (NeonPacket packet : List.of(chat1, move1, move0, event, event, noise)) {
+            receive(packet);
+        }
+        assertEquals(List.of("move1", "event", "noise"), delivered,
+            "Chat waits for its gap, stale moves and duplicate events are dropped");
+
+        receive(chat0);
+        receive(chat0);
+        assertEquals(List.of("move1", "event", "noise", "chat0", "chat1"), delivered);
+    }
+
+    @Test
+    @DisplayName("Should order each destination's stream separately when unicasts interleave")
+    void testInterleavedUnicastOrdering() throws IOException {
+        ChannelManager otherPeer = new ChannelManager(receiverSocket,
+            new InetSocketAddress("localhost", senderSocket.getLocalAddress().getPort()), (byte) 4);
+        List<String> toOther = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            receive(sendAndCapture(Channel.ordered(1), "a" + i));
+            sender.send(Channel.ordered(1), ("b" + i).getBytes(), (byte) 4);
+            otherPeer.receive(receiverSocket.receivePacket().packet(),
+                (senderId, channel, data) -> toOther.add(new String(data)));
+        }
+
+        assertEquals(List.of("a0", "a1", "a2"), delivered);
+        assertEquals(List.of("b0", "b1", "b2"), toOther, "Packets to peer 3 leave no gap in peer 4's stream");
+    }
+
+    private NeonPacket sendAndCapture(Channel channel, String data) throws IOException {
+        sender.send(channel, data.getBytes(), (byte) 3);
+        return receiverSocket.receivePacket().packet();
+    }
+
+    private void receive(NeonPacket packet) throws IOException {
+        receiver.receive(packet, (senderId, channel, data) -> {
+            assertEquals((byte) 2, senderId);
+            delivered.add(new String(data));
+        });
+    }
+}
@@ -0,0 +1,96 @@
+package com.quietterminal.projectneon.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for congestion controllers and the pacer.
+ */
+class CongestionControllerTest {
+
+    @Test
+    @DisplayName("AIMD should slow start, halve once per congestion event, then grow linearly")
+    void testAimd() {
+        AimdController aimd = new AimdController(4, 2);
+        for (int i = 0; i < 4; i++) {
+            aimd.onAck(50, i);
+        }
+        assertEquals(8, aimd.window(), "Slow start adds one packet per ACK");
+
+        aimd.onLoss(1000, 100);
+        aimd.onLoss(1050, 100);
+        assertEquals(4, aimd.window(), "Second loss in the same RTT is the same event");
+
+        for (int i = 0; i < 5; i++) {
+            aimd.onAck(50, 1100 + i);
+        }
+        assertEquals(5, aimd.window(), "Congestion avoidance adds one packet per window");
+
+        aimd.onLoss(2000, 100);
+        aimd.onLoss(3000, 100);
+        assertEquals(2, aimd.window(), "Never below the minimum window");
+    }
+
+    @Test
+    @DisplayName("Delay-based controller should grow under the target delay and shrink above it")
+    void testDelayBased() {
+        DelayBasedController delay = new DelayBasedController(10, 2, 25);
+        for (int i = 0; i < 50; i++) {
+            delay.onAck(40, i);
+        }
+        assertEquals(40, delay.baseRttMs());
+        int grown = delay.window();
+        assertTrue(grown > 10, "No queueing delay, window grows");
+
+        for (int i = 0; i < 50; i++) {
+            delay.onAck(40 + 75, 100 + i);
+        }
+        assertTrue(delay.window() < grown, "Queueing delay above target, window shrinks");
+    }
+
+    @Test
+    @DisplayName("Pacer should spread sends after the burst allowance")
+    void testPacer() {
+        Pacer pacer = new Pacer(2, 0);
+        assertTrue(pacer.tryAcquire(0), "Unpaced until a rate is set");
+
+        pacer.setRate(1000);
+        assertTrue(pacer.tryAcquire(0));
+        assertTrue(pacer.tryAcquire(0));
+        assertFalse(pacer.tryAcquire(0), "Burst of two used up");
+        assertEquals(1_000_000, pacer.delayNanos(0));
+        assertTrue(pacer.tryAcquire(1_000_000));
+
+        pacer.setRate(10, 100);
+        assertEquals(125.0, pacer.rate(), 0.01, "Ten packets per 100 ms RTT, 25% faster");
+    }
+
+    @Test
+    @DisplayName("ReliablePacketManager should queue reliable packets beyond the congestion window")
+    void testWindowLimitsReliableSends() throws Exception {
+        NeonConfig config = new NeonConfig()
+            .setCongestionAlgorithm(CongestionController.Algorithm.AIMD)
+            .setCongestionInitialWindow(2)
+            .setCongestionMinWindow(1);
+        try (NeonSocket socket = new NeonSocket()) {
+            ReliablePacketManager manager = new ReliablePacketManager(socket,
+                new InetSocketAddress("localhost", socket.getLocalAddress().getPort()), (byte) 2, config);
+
+            short first = manager.sendReliable(new byte[]{1}, (byte) 1);
+            for (int i = 0; i < 3; i++) {
+                manager.sendReliable(new byte[]{1}, (byte) 1);
+            }
+            assertEquals(2, manager.getPendingCount());
+            assertEquals(2, manager.getQueuedCount());
+
+            manager.handleAck((byte) 1, PacketPayload.SelectiveAck.of(first));
+            assertEquals(3, manager.getCongestionController().orElseThrow().window());
+            assertEquals(3, manager.getPendingCount(), "An ACK opens the window for queued packets");
+            assertEquals(0, manager.getQueuedCount());
+        }
+    }
+}
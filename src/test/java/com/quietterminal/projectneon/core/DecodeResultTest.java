@@ -0,0 +1,64 @@
+package com.quietterminal.projectneon.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for exception-free decoding with DecodeResult.
+ */
+class DecodeResultTest {
+
+    private static byte[] ping() {
+        return NeonPacket.create(PacketType.PING, (short) 1, (byte) 2, (byte) 1, new PacketPayload.Ping(42L)).toBytes();
+    }
+
+    @Test
+    @DisplayName("Should reject malformed headers by reason without throwing")
+    void testRejections() {
+        byte[] badMagic = ping();
+        badMagic[0] = 0;
+        byte[] badVersion = ping();
+        badVersion[PacketHeader.VERSION_OFFSET] = 9;
+        byte[] unknownType = ping();
+        unknownType[PacketHeader.TYPE_OFFSET] = 0x00;
+        byte[] truncated = Arrays.copyOf(ping(), PacketHeader.HEADER_SIZE + 2);
+
+        assertSame(DecodeResult.Reason.TOO_SHORT.result(), NeonPacket.decode(new byte[3]));
+        assertSame(DecodeResult.Reason.BAD_MAGIC.result(), NeonPacket.decode(badMagic));
+        assertSame(DecodeResult.Reason.UNSUPPORTED_VERSION.result(), NeonPacket.decode(badVersion));
+        assertSame(DecodeResult.Reason.UNKNOWN_TYPE.result(), NeonPacket.decode(unknownType));
+        assertSame(DecodeResult.Reason.MALFORMED_PAYLOAD.result(), NeonPacket.decode(truncated));
+        assertEquals(DecodeResult.Reason.BAD_MAGIC, DecodeResult.checkHeader(ByteBuffer.wrap(badMagic)));
+        assertEquals("decode.bad_magic", DecodeResult.Reason.BAD_MAGIC.metricName());
+    }
+
+    @Test
+    @DisplayName("Should decode valid packets from arrays and leases")
+    void testDecoded() {
+        DecodeResult fromArray = NeonPacket.decode(ping());
+        DecodeResult fromLease = NeonPacket.decode(BufferLease.wrap(ping(), null));
+
+        assertEquals(new PacketPayload.Ping(42L),
+            assertInstanceOf(DecodeResult.Decoded.class, fromArray).packet().payload());
+        assertEquals(new PacketPayload.Ping(42L),
+            assertInstanceOf(DecodeResult.Decoded.class, fromLease).packet().payload());
+    }
+
+    @Test
+    @DisplayName("Should count rejections per reason")
+    void testCounters() {
+        DecodeResult.Counters counters = new DecodeResult.Counters();
+        counters.record(DecodeResult.Reason.BAD_MAGIC);
+        counters.record(DecodeResult.Reason.BAD_MAGIC);
+        counters.record(DecodeResult.Reason.TOO_SHORT);
+
+        assertEquals(2, counters.count(DecodeResult.Reason.BAD_MAGIC));
+        assertEquals(3, counters.total());
+        assertEquals(0L, counters.snapshot().get(DecodeResult.Reason.UNKNOWN_TYPE));
+    }
+}
@@ -0,0 +1,56 @@
+package com.quietterminal.projectneon.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DirectBufferPool.
+ */
+class DirectBufferPoolTest {
+
+    @Test
+    @DisplayName("Should carve independent direct buffers from a shared arena")
+    void testArenaCarving() {
+        DirectBufferPool pool = new DirectBufferPool(1024, 0, 8);
+
+        ByteBuffer first = pool.acquire();
+        ByteBuffer second = pool.acquire();
+        first.put(0, (byte) 1);
+        second.put(0, (byte) 2);
+
+        assertTrue(first.isDirect());
+        assertEquals(1024, first.capacity());
+        assertEquals(1, first.get(0));
+        assertEquals(2, second.get(0));
+        assertEquals(DirectBufferPool.ARENA_BYTES, pool.allocatedBytes());
+    }
+
+    @Test
+    @DisplayName("Should fall back to heap buffers once the budget is spent")
+    void testBudget() {
+        DirectBufferPool pool = new DirectBufferPool(1000, 2, 2, 3500);
+
+        assertEquals(2, pool.availableBuffers());
+        ByteBuffer[] direct = {pool.acquire(), pool.acquire(), pool.acquire()};
+        ByteBuffer heap = pool.acquire();
+
+        for (ByteBuffer buffer : direct) {
+            assertTrue(buffer.isDirect());
+        }
+        assertFalse(heap.isDirect());
+        assertEquals(1000, heap.capacity());
+        assertEquals(3000, pool.allocatedBytes());
+        assertEquals(1, pool.heapFallbacks());
+
+        for (ByteBuffer buffer : direct) {
+            pool.release(buffer);
+        }
+        pool.release(heap);
+        assertEquals(3, pool.availableBuffers(), "budgeted pools keep every carved buffer");
+        assertTrue(pool.acquire().isDirect());
+    }
+}
@@ -0,0 +1,130 @@
+package com.quietterminal.projectneon.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EventDrivenReceiver.
+ */
+class EventDrivenReceiverTest {
+
+    private NeonSocket receiverSocket;
+    private NeonSocket senderSocket;
+    private EventDrivenReceiver receiver;
+    private Thread loopThread;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (receiver != null) {
+            receiver.close();
+        }
+        if (loopThread != null) {
+            loopThread.join(1000);
+        }
+        if (receiverSocket != null) {
+            receiverSocket.close();
+        }
+        if (senderSocket != null) {
+            senderSocket.close();
+        }
+    }
+
+    private void startLoop() {
+        loopThread = new Thread(() -> {
+            try {
+                receiver.run();
+            } catch (IOException e) {
+                // Expected when the socket is closed
+            }
+        });
+        loopThread.start();
+    }
+
+    @Test
+    @DisplayName("Should require a non-blocking channel")
+    void testRejectsBlockingChannel() throws IOException {
+        receiverSocket = new NeonSocket();
+        receiverSocket.setBlocking(true);
+        assertThrows(IllegalArgumentException.class,
+            () -> new EventDrivenReceiver(receiverSocket.getChannel(), new NeonConfig()));
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive batch size")
+    void testRejectsInvalidBatchSize() throws IOException {
+        receiverSocket = new NeonSocket();
+        receiver = new EventDrivenReceiver(receiverSocket.getChannel(), new NeonConfig());
+        assertThrows(IllegalArgumentException.class, () -> receiver.setMaxBatchSize(0));
+    }
+
+    @Test
+    @DisplayName("Should take the receive buffer from the socket's shared pool")
+    void testSharesSocketPool() throws IOException {
+        NeonConfig config = new NeonConfig();
+        receiverSocket = new NeonSocket(config);
+        senderSocket = new NeonSocket(config);
+        assertSame(receiverSocket.getDirectBufferPool(), senderSocket.getDirectBufferPool(),
+            "Sockets built from one config share one budget");
+
+        long allocated = receiverSocket.getDirectBufferPool().allocatedBytes();
+        receiver = new EventDrivenReceiver(receiverSocket.getChannel(), config);
+        assertEquals(allocated, receiverSocket.getDirectBufferPool().allocatedBytes(),
+            "The receive buffer comes from the existing arena");
+    }
+
+    @Test
+    @DisplayName("Should deliver all packets when draining in small batches")
+    void testDeliversPacketsInBatches() throws Exception {
+        receiverSocket = new NeonSocket();
+        senderSocket = new NeonSocket();
+        receiver = new EventDrivenReceiver(receiverSocket.getChannel(), new NeonConfig());
+        receiver.setMaxBatchSize(2);
+
+        int packetCount = 10;
+        CountDownLatch received = new CountDownLatch(packetCount);
+        receiver.setPacketHandler((packet, source) -> received.countDown());
+        startLoop();
+
+        for (int i = 0; i < packetCount; i++) {
+            NeonPacket packet = NeonPacket.create(
+                PacketType.PING, (short) i, (byte) 2, (byte) 1, new PacketPayload.Ping(i)
+            );
+            senderSocket.sendPacket(packet, receiverSocket.getLocalAddress());
+        }
+
+        assertTrue(received.await(2, TimeUnit.SECONDS), "All packets should be delivered");
+    }
+
+    @Test
+    @DisplayName("Should run timer handler while packets keep arriving")
+    void testTimerFiresUnderLoad() throws Exception {
+        receiverSocket = new NeonSocket();
+        senderSocket = new NeonSocket();
+        receiver = new EventDrivenReceiver(receiverSocket.getChannel(), new NeonConfig());
+        receiver.setSelectTimeout(50);
+
+        AtomicInteger timerRuns = new AtomicInteger();
+        receiver.setTimeoutHandler(timerRuns::incrementAndGet);
+        receiver.setPacketHandler((packet, source) -> { });
+        startLoop();
+
+        NeonPacket packet = NeonPacket.create(
+            PacketType.PING, (short) 0, (byte) 2, (byte) 1, new PacketPayload.Ping(0)
+        );
+        long end = System.currentTimeMillis() + 400;
+        while (System.currentTimeMillis() < end) {
+            senderSocket.sendPacket(packet, receiverSocket.getLocalAddress());
+            Thread.sleep(5);
+        }
+
+        assertTrue(timerRuns.get() >= 3, "Timer should fire despite continuous traffic, ran " + timerRuns.get());
+    }
+}
@@ -9,6 +9,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -300,4 +301,75 @@ class NeonSocketTest {
         SocketAddress destination = new InetSocketAddress("127.0.0.1", 50000);
         assertDoesNotThrow(() -> socket.sendPacket(packet, destination));
     }
+
+    @Test
+    @DisplayName("Should receive into a leased buffer and send from a buffer (non-blocking)")
+    void testReceiveLeaseNonBlocking() throws Exception {
+        socket = createSocket();
+        NeonSocket sender = createSocket();
+
+        NeonPacket packet = NeonPacket.create(
+            PacketType.GAME_PACKET, (short) 7, (byte) 2, (byte) 1,
+            new PacketPayload.GamePacket(new byte[]{1, 2, 3, 4})
+        );
+        byte[] encoded = packet.toBytes();
+        ByteBuffer outgoing = ByteBuffer.allocateDirect(encoded.length);
+        outgoing.put(encoded).flip();
+
+        sender.send(outgoing, socket.getLocalAddress());
+        assertEquals(0, outgoing.position(), "send should not consume the buffer");
+
+        BufferLease lease = null;
+        for (int i = 0; i < 50 && lease == null; i++) {
+            lease = socket.receiveLease();
+            if (lease == null) {
+                Thread.sleep(10);
+            }
+        }
+        assertNotNull(lease);
+
+        try (BufferLease received = lease) {
+            assertTrue(received.buffer().isDirect());
+            assertEquals(encoded.length, received.length());
+            assertEquals((short) 7, PacketHeader.peekSequence(received.buffer()));
+            assertArrayEquals(encoded, received.toByteArray());
+        }
+        assertTrue(lease.isReleased());
+        assertThrows(IllegalStateException.class, lease::buffer);
+    }
+
+    @Test
+    @DisplayName("Should honour socket timeout when receiving a lease in blocking mode")
+    void testReceiveLeaseBlocking() throws IOException {
+        socket = createSocket();
+        socket.setBlocking(true);
+        socket.setSoTimeout(50);
+        assertThrows(SocketTimeoutException.class, () -> socket.receiveLease());
+
+        NeonSocket sender = createSocket();
+        byte[] encoded = NeonPacket.create(
+            PacketType.PING, (short) 3, (byte) 2, (byte) 1, new PacketPayload.Ping(42L)
+        ).toBytes();
+        sender.sendTo(encoded, socket.getLocalAddress());
+
+        socket.setSoTimeout(1000);
+        try (BufferLease lease = socket.receiveLease()) {
+            assertNotNull(lease);
+            assertArrayEquals(encoded, lease.toByteArray());
+        }
+    }
+
+    @Test
+    @DisplayName("Should count datagrams shorter than a header as TOO_SHORT")
+    void testRuntCounted() throws IOException {
+        socket = createSocket();
+        socket.setBlocking(true);
+        socket.setSoTimeout(1000);
+
+        NeonSocket sender = createSocket();
+        sender.sendTo(new byte[]{0x45, 0x4E, 1}, socket.getLocalAddress());
+
+        assertNull(socket.receiveLease());
+        assertEquals(1, socket.getDecodeRejections().count(DecodeResult.Reason.TOO_SHORT));
+    }
 }
@@ -4,6 +4,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
 /**
  * Unit tests for PacketHeader.
  */
@@ -253,4 +257,67 @@ class PacketHeaderTest {
         assertNotEquals(header1, header3);
         assertEquals(header1.hashCode(), header2.hashCode());
     }
+
+    @Test
+    @DisplayName("Should read header fields in place without decoding")
+    void testPeekFields() {
+        PacketHeader header = PacketHeader.create(
+            (byte) 0x42,
+            (short) 0xBEEF,
+            (byte) 5,
+            (byte) 9
+        );
+        byte[] bytes = header.toBytes();
+
+        assertTrue(PacketHeader.hasValidMagic(bytes));
+        assertEquals((byte) 0x42, PacketHeader.peekPacketType(bytes));
+        assertEquals((short) 0xBEEF, PacketHeader.peekSequence(bytes));
+        assertEquals((byte) 5, PacketHeader.peekClientId(bytes));
+        assertEquals((byte) 9, PacketHeader.peekDestinationId(bytes));
+    }
+
+    @Test
+    @DisplayName("Should reject bad magic or short input when peeking")
+    void testPeekMagicValidation() {
+        byte[] bytes = PacketHeader.create(PacketType.PING.getValue(), (short) 0, (byte) 1, (byte) 0).toBytes();
+        bytes[0] = (byte) 0xAD;
+
+        assertFalse(PacketHeader.hasValidMagic(bytes));
+        assertFalse(PacketHeader.hasValidMagic(new byte[]{0x45, 0x4E, 1}));
+    }
+
+    @Test
+    @DisplayName("Should read and write header fields in place through a view")
+    void testHeaderView() {
+        ByteBuffer buffer = ByteBuffer.allocate(20);
+        buffer.put(4, PacketHeader.create((byte) 0x42, (short) 0xBEEF, (byte) 5, (byte) 9).toBytes());
+
+        PacketHeaderView view = new PacketHeaderView().wrap(buffer, 4);
+        assertTrue(view.isValid());
+        assertEquals((byte) 0x42, view.packetType());
+        assertEquals((short) 0xBEEF, view.sequence());
+
+        view.setClientId((byte) 7).setDestinationId((byte) 0);
+        PacketHeader header = view.toHeader();
+        assertEquals((byte) 7, header.clientId());
+        assertEquals((byte) 0, header.destinationId());
+        assertEquals((short) 0xBEEF, header.sequence());
+        assertEquals(0, buffer.position());
+
+        view.wrap(buffer, 12).set(PacketType.PING.getValue(), (short) 3, (byte) 1, (byte) 2);
+        assertEquals(PacketHeader.fromBytes(Arrays.copyOfRange(buffer.array(), 12, 20)), view.toHeader());
+        assertThrows(IllegalArgumentException.class, () -> view.wrap(buffer, 13));
+    }
+
+    @Test
+    @DisplayName("Should encode the same bytes into a buffer as toBytes")
+    void testWriteToMatchesToBytes() {
+        PacketHeader header = PacketHeader.create((byte) 0x10, (short) 42, (byte) 3, (byte) 4);
+        ByteBuffer buffer = ByteBuffer.allocate(PacketHeader.HEADER_SIZE);
+
+        header.writeTo(buffer);
+
+        assertArrayEquals(header.toBytes(), buffer.array());
+        assertEquals(ByteOrder.BIG_ENDIAN, buffer.order());
+    }
 }
@@ -5,6 +5,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -622,6 +624,124 @@ class PacketPayloadTest {
         }
     }
 
+    @Nested
+    @DisplayName("SelectiveAck Tests")
+    class SelectiveAckTests {
+
+        @Test
+        @DisplayName("Should fold sequences into one bitmap in any order")
+        void testFoldSequences() {
+            PacketPayload.SelectiveAck ack = PacketPayload.SelectiveAck.of((short) 10)
+                .with((short) 8)
+                .with((short) 12)
+                .with((short) 11);
+
+            assertEquals(12, ack.latest());
+            assertEquals(4, ack.count());
+            assertTrue(ack.covers((short) 8));
+            assertFalse(ack.covers((short) 9));
+            assertSame(ack, ack.with((short) 10));
+
+            List<Short> seen = new ArrayList<>();
+            ack.forEach(seen::add);
+            assertEquals(List.of((short) 12, (short) 11, (short) 10, (short) 8), seen);
+        }
+
+        @Test
+        @DisplayName("Should refuse sequences outside the window and wrap around zero")
+        void testWindowLimits() {
+            PacketPayload.SelectiveAck ack = PacketPayload.SelectiveAck.of((short) 100).with((short) 50);
+
+            assertNull(ack.with((short) 35));
+            assertNull(ack.with((short) 120), "would push 50 out of the bitmap");
+            assertNotNull(PacketPayload.SelectiveAck.of((short) 100).with((short) 164));
+
+            PacketPayload.SelectiveAck wrapped = PacketPayload.SelectiveAck.of((short) -1).with((short) 1);
+            assertEquals(1, wrapped.latest());
+            assertTrue(wrapped.covers((short) -1));
+        }
+
+        @Test
+        @DisplayName("Should serialize to ten bytes and back")
+        void testSerializationRoundTrip() {
+            PacketPayload.SelectiveAck original = new PacketPayload.SelectiveAck((short) 500, 0x8000_0000_0000_0005L);
+
+            byte[] bytes = original.toBytes();
+
+            assertEquals(10, bytes.length);
+            assertEquals(original, PacketPayload.SelectiveAck.fromBytes(bytes));
+            assertThrows(IllegalArgumentException.class, () -> PacketPayload.SelectiveAck.fromBytes(new byte[9]));
+        }
+
+        @Test
+        @DisplayName("Should list NACKed sequences and round-trip them")
+        void testNack() {
+            PacketPayload.Nack nack = new PacketPayload.Nack((short) 1, 0b101L);
+
+            assertTrue(nack.isMissing((short) 0));
+            assertFalse(nack.isMissing((short) -1));
+            assertTrue(nack.isMissing((short) -2));
+            assertEquals(2, nack.count());
+
+            List<Short> missing = new ArrayList<>();
+            nack.forEach(missing::add);
+            assertEquals(List.of((short) 0, (short) -2), missing);
+            assertEquals(nack, PacketPayload.Nack.fromBytes(nack.toBytes()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Buffer Encoding Tests")
+    class BufferEncodingTests {
+
+        @Test
+        @DisplayName("Should write the same bytes into a buffer as toBytes")
+        void testWriteToMatchesToBytes() {
+            List<PacketPayload> payloads = List.of(
+                new PacketPayload.ConnectRequest((byte) 1, "Player", 42, 7),
+                new PacketPayload.ConnectAccept((byte) 2, 42, 123456789L),
+                new PacketPayload.ConnectDeny("Session full"),
+                new PacketPayload.SessionConfig((byte) 1, (short) 60, (short) 1200),
+                new PacketPayload.PacketTypeRegistry(List.of(
+                    new PacketPayload.PacketTypeEntry((byte) 0x10, "Move", "Player movement"))),
+                new PacketPayload.Ping(99L),
+                new PacketPayload.Pong(99L),
+                new PacketPayload.DisconnectNotice(),
+                new PacketPayload.Ack(List.of((short) 1, (short) 2)),
+                new PacketPayload.ReconnectRequest(123456789L, 42, (byte) 3),
+                new PacketPayload.GamePacket(new byte[]{1, 2, 3})
+            );
+
+            for (PacketPayload payload : payloads) {
+                byte[] expected = payload.toBytes();
+                ByteBuffer buffer = ByteBuffer.allocate(expected.length + 4);
+                buffer.position(4);
+
+                payload.writeTo(buffer);
+
+                assertEquals(expected.length, payload.encodedSize(), payload.toString());
+                assertEquals(expected.length + 4, buffer.position(), payload.toString());
+                assertArrayEquals(expected, Arrays.copyOfRange(buffer.array(), 4, buffer.position()), payload.toString());
+            }
+        }
+
+        @Test
+        @DisplayName("Should encode a whole packet into a buffer")
+        void testPacketWriteTo() {
+            NeonPacket packet = NeonPacket.create(
+                PacketType.PING, (short) 5, (byte) 1, (byte) 0, new PacketPayload.Ping(1234L));
+            ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+
+            packet.writeTo(buffer);
+            buffer.flip();
+            byte[] written = new byte[buffer.remaining()];
+            buffer.get(written);
+
+            assertEquals(packet.encodedSize(), written.length);
+            assertArrayEquals(packet.toBytes(), written);
+        }
+    }
+
     @Nested
     @DisplayName("GamePacket Tests")
     class GamePacketTests {
@@ -41,6 +41,27 @@ class PacketTypeTest {
         assertEquals((byte) 0x05, PacketType.PACKET_TYPE_REGISTRY.getValue());
     }
 
+    @Test
+    @DisplayName("Should map PIGGYBACK_ACK to 0x08")
+    void testPiggybackAckValue() {
+        assertEquals((byte) 0x08, PacketType.PIGGYBACK_ACK.getValue());
+        assertEquals(PacketType.PIGGYBACK_ACK, PacketType.fromByte((byte) 0x08));
+    }
+
+    @Test
+    @DisplayName("Should map NACK to 0x09")
+    void testNackValue() {
+        assertEquals((byte) 0x09, PacketType.NACK.getValue());
+        assertEquals(PacketType.NACK, PacketType.fromByte((byte) 0x09));
+    }
+
+    @Test
+    @DisplayName("Should map SELECTIVE_ACK to 0x0A")
+    void testSelectiveAckValue() {
+        assertEquals((byte) 0x0A, PacketType.SELECTIVE_ACK.getValue());
+        assertEquals(PacketType.SELECTIVE_ACK, PacketType.fromByte((byte) 0x0A));
+    }
+
     @Test
     @DisplayName("Should map PING to 0x0B")
     void testPingValue() {
@@ -133,7 +154,7 @@ class PacketTypeTest {
     }
 
     @ParameterizedTest
-    @ValueSource(bytes = {0x00, 0x06, 0x07, 0x08, 0x09, 0x0A})
+    @ValueSource(bytes = {0x00, 0x06, 0x07})
     @DisplayName("Should throw exception for invalid byte values in core range")
     void testFromByteInvalidCoreValues(byte value) {
         IllegalArgumentException exception = assertThrows(
@@ -0,0 +1,66 @@
+package com.quietterminal.projectneon.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PayloadRegistry and its dispatch table.
+ */
+class PayloadRegistryTest {
+
+    private record Marker(byte[] bytes) implements PacketPayload {
+        @Override
+        public byte[] toBytes() {
+            return bytes;
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        GamePacketRegistry.clearAll();
+    }
+
+    @Test
+    @DisplayName("Should dispatch core, custom and default game types from one table")
+    void testDispatch() {
+        PayloadRegistry.register((byte) 0x20, Marker::new);
+
+        NeonPacket ping = NeonPacket.fromBytes(
+            NeonPacket.create(PacketType.PING, (short) 1, (byte) 1, (byte) 0, new PacketPayload.Ping(5L)).toBytes());
+        NeonPacket custom = NeonPacket.fromBytes(new NeonPacket(
+            PacketHeader.create((byte) 0x20, (short) 2, (byte) 1, (byte) 0), new Marker(new byte[]{7})).toBytes());
+        NeonPacket game = NeonPacket.fromBytes(new NeonPacket(
+            PacketHeader.create((byte) 0x21, (short) 3, (byte) 1, (byte) 0), new Marker(new byte[]{8})).toBytes());
+
+        assertEquals(new PacketPayload.Ping(5L), ping.payload());
+        assertInstanceOf(Marker.class, custom.payload());
+        assertInstanceOf(PacketPayload.GamePacket.class, game.payload());
+        assertEquals(1, PayloadRegistry.registeredCount());
+
+        assertTrue(PayloadRegistry.unregister((byte) 0x20));
+        assertFalse(PayloadRegistry.isRegistered((byte) 0x20));
+        assertThrows(IllegalArgumentException.class, () -> NeonPacket.fromBytes(
+            PacketHeader.create((byte) 0x07, (short) 0, (byte) 1, (byte) 0).toBytes()));
+    }
+
+    @Test
+    @DisplayName("Should refuse changes once frozen until cleared")
+    void testFreeze() {
+        PayloadRegistry.register((byte) 0x30, Marker::new);
+        PayloadRegistry.freeze();
+
+        assertTrue(PayloadRegistry.isFrozen());
+        assertThrows(IllegalStateException.class, () -> PayloadRegistry.register((byte) 0x31, Marker::new));
+        assertThrows(IllegalStateException.class, () -> PayloadRegistry.unregister((byte) 0x30));
+        assertThrows(IllegalStateException.class, () -> GamePacketRegistry.register(
+            GamePacketDescriptor.builder((byte) 0x32).name("Late").build(), Marker::new));
+        assertTrue(PayloadRegistry.isRegistered((byte) 0x30));
+
+        GamePacketRegistry.clearAll();
+        assertFalse(PayloadRegistry.isFrozen());
+        assertEquals(0, PayloadRegistry.registeredCount());
+    }
+}
@@ -0,0 +1,84 @@
+package com.quietterminal.projectneon.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PayloadSlice and in-place packet decoding.
+ */
+class PayloadSliceTest {
+
+    private static BufferLease leaseOf(NeonPacket packet, AtomicInteger releases) {
+        byte[] bytes = packet.toBytes();
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 16);
+        buffer.put(bytes).flip();
+        return new BufferLease(buffer, null, b -> releases.incrementAndGet());
+    }
+
+    @Test
+    @DisplayName("Should release the lease only when the last reference is dropped")
+    void testReferenceCounting() {
+        AtomicInteger releases = new AtomicInteger();
+        BufferLease lease = new BufferLease(ByteBuffer.wrap(new byte[]{9, 8, 7, 6}), null, b -> releases.incrementAndGet());
+        PayloadSlice slice = PayloadSlice.of(lease, 1, 2);
+
+        assertEquals(2, slice.length());
+        assertArrayEquals(new byte[]{8, 7}, slice.toByteArray());
+
+        slice.retain();
+        assertFalse(slice.release());
+        assertEquals(0, releases.get());
+        assertTrue(slice.release());
+        assertEquals(1, releases.get());
+
+        assertThrows(IllegalStateException.class, slice::release);
+        assertThrows(IllegalStateException.class, slice::retain);
+        assertThrows(IllegalStateException.class, slice::buffer);
+        assertEquals(1, releases.get());
+    }
+
+    @Test
+    @DisplayName("Should decode game packets in place and release the buffer with the packet")
+    void testFromLeaseGamePacket() {
+        AtomicInteger releases = new AtomicInteger();
+        NeonPacket original = NeonPacket.create(
+            PacketType.GAME_PACKET, (short) 3, (byte) 2, (byte) 0,
+            new PacketPayload.GamePacket(new byte[]{1, 2, 3, 4}));
+        BufferLease lease = leaseOf(original, releases);
+
+        NeonPacket decoded = NeonPacket.fromLease(lease);
+
+        PacketPayload.GamePacketSlice game = assertInstanceOf(PacketPayload.GamePacketSlice.class, decoded.payload());
+        assertEquals(original.header(), decoded.header());
+        assertEquals(4, game.slice().length());
+        assertEquals(3, game.slice().get(2));
+        assertArrayEquals(original.toBytes(), decoded.toBytes());
+
+        lease.buffer().put(PacketHeader.HEADER_SIZE, (byte) 42);
+        assertEquals(42, game.slice().get(0), "slice reads the leased buffer without copying");
+        assertEquals(0, releases.get());
+
+        decoded.release();
+        assertEquals(1, releases.get());
+    }
+
+    @Test
+    @DisplayName("Should release the buffer immediately for core packets")
+    void testFromLeaseCorePacket() {
+        AtomicInteger releases = new AtomicInteger();
+        NeonPacket original = NeonPacket.create(
+            PacketType.PING, (short) 1, (byte) 2, (byte) 1, new PacketPayload.Ping(42L));
+
+        NeonPacket decoded = NeonPacket.fromLease(leaseOf(original, releases));
+
+        assertEquals(new PacketPayload.Ping(42L), decoded.payload());
+        assertEquals(1, releases.get());
+        decoded.release();
+        assertEquals(1, releases.get());
+    }
+}
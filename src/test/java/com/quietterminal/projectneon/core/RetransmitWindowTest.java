@@ -0,0 +1,78 @@
+package com.quietterminal.projectneon.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RetransmitWindow.
+ */
+class RetransmitWindowTest {
+
+    private static NeonPacket packet(short sequence) {
+        return NeonPacket.create(PacketType.GAME_PACKET, sequence, (byte) 2, (byte) 1,
+            new PacketPayload.GamePacket(new byte[]{1}));
+    }
+
+    @Test
+    @DisplayName("Should grow the ring when in-flight sequences share an index")
+    void testRingGrowth() {
+        RetransmitWindow window = new RetransmitWindow(0);
+        short[] sequences = {1, 65, 129, (short) 40000, -1};
+        for (short sequence : sequences) {
+            window.track(sequence, packet(sequence), 0, 1000);
+        }
+
+        assertEquals(sequences.length, window.size());
+        for (short sequence : sequences) {
+            assertEquals(sequence, window.get(sequence).sequence);
+        }
+        assertNull(window.get((short) 2));
+        assertNotNull(window.remove((short) 65));
+        assertNull(window.remove((short) 65));
+        assertEquals(sequences.length - 1, window.size());
+    }
+
+    @Test
+    @DisplayName("Should hand out only live packets that are due")
+    void testAdvanceVisitsDueSlots() {
+        RetransmitWindow window = new RetransmitWindow(0);
+        RetransmitWindow.Slot early = window.track((short) 1, packet((short) 1), 0, 100);
+        window.track((short) 2, packet((short) 2), 0, 100);
+        window.track((short) 3, packet((short) 3), 0, 500);
+        window.remove((short) 2);
+
+        List<Short> due = new ArrayList<>();
+        assertEquals(1, window.advance(150, slot -> due.add(slot.sequence)));
+        assertEquals(List.of((short) 1), due);
+
+        window.resent(early, 150, 700);
+        due.clear();
+        window.advance(600, slot -> due.add(slot.sequence));
+        assertEquals(List.of((short) 3), due, "the resent packet is not due until 700");
+        assertEquals(1, early.retryCount);
+    }
+
+    @Test
+    @DisplayName("Should count gaps only between the oldest pending sequence and the ACK")
+    void testGapsScanPendingRange() {
+        RetransmitWindow window = new RetransmitWindow(0);
+        window.track((short) 40000, packet((short) 40000), 0, 1000);
+        window.remove((short) 40000);
+        for (short sequence = 0; sequence < 8; sequence++) {
+            window.track(sequence, packet(sequence), 0, 1000);
+        }
+        window.remove((short) 0);
+        window.remove((short) 1);
+
+        List<Short> lost = new ArrayList<>();
+        PacketPayload.SelectiveAck ack = PacketPayload.SelectiveAck.of((short) 5).with((short) 4);
+        window.gaps((byte) 1, ack, 1, slot -> lost.add(slot.sequence));
+        assertEquals(List.of((short) 2, (short) 3), lost,
+            "Sequences 0 and 1 were acknowledged, 4 and 5 are covered, 6 and 7 are newer");
+    }
+}
@@ -0,0 +1,59 @@
+package com.quietterminal.projectneon.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RttEstimator.
+ */
+class RttEstimatorTest {
+
+    @Test
+    @DisplayName("Should follow RFC 6298 for the first and later samples")
+    void testSampling() {
+        RttEstimator estimator = new RttEstimator(2000, 10, 60000);
+        assertEquals(2000, estimator.rtoMs());
+        assertEquals(-1, estimator.srttMs());
+
+        estimator.sample(100);
+        assertEquals(100, estimator.srttMs());
+        assertEquals(50, estimator.rttvarMs());
+        assertEquals(300, estimator.rtoMs(), "SRTT + 4 * RTTVAR");
+
+        estimator.sample(180);
+        assertEquals(110, estimator.srttMs(), "SRTT + (R - SRTT) / 8");
+        assertEquals(57, estimator.rttvarMs(), "3/4 RTTVAR + |R - SRTT| / 4");
+        assertEquals(340, estimator.rtoMs());
+    }
+
+    @Test
+    @DisplayName("Should clamp the timeout and back off per retry")
+    void testClampAndBackoff() {
+        RttEstimator estimator = new RttEstimator(1000, 50, 1500);
+        for (int i = 0; i < 20; i++) {
+            estimator.sample(1);
+        }
+
+        assertEquals(50, estimator.rtoMs());
+        assertEquals(100, estimator.timeoutFor(1));
+        assertEquals(800, estimator.timeoutFor(4));
+        assertEquals(1500, estimator.timeoutFor(10));
+    }
+
+    @Test
+    @DisplayName("Should adapt AckStateMachine timeouts per destination")
+    void testAckStateMachineSamples() {
+        AckStateMachine machine = new AckStateMachine(2000, 3);
+        NeonPacket packet = NeonPacket.create(PacketType.SESSION_CONFIG, (short) 1, (byte) 1, (byte) 7,
+            new PacketPayload.SessionConfig((byte) 1, (short) 60, (short) 1024));
+
+        machine.track((short) 1, packet);
+        assertTrue(machine.acknowledge((short) 1));
+
+        assertTrue(machine.getRttEstimator((byte) 7).srttMs() >= 0);
+        assertTrue(machine.getRttEstimator((byte) 7).rtoMs() < 2000);
+        assertEquals(2000, machine.getRttEstimator((byte) 8).rtoMs());
+    }
+}
@@ -0,0 +1,55 @@
+package com.quietterminal.projectneon.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SequenceWindow and ReorderBuffer.
+ */
+class SequenceWindowTest {
+
+    @Test
+    @DisplayName("Should accept late packets once and reject replays across wraparound")
+    void testReplayAcrossWrap() {
+        SequenceWindow window = new SequenceWindow(64);
+        assertTrue(window.accept((short) 32766));
+        assertTrue(window.accept((short) 32767));
+        assertTrue(window.accept((short) -32766), "32770 wraps to a negative short but is newer");
+        assertTrue(window.accept((short) -32768), "Late packet inside the window");
+        assertFalse(window.accept((short) -32768), "Replay of the late packet");
+        assertFalse(window.accept((short) 32767), "Replay across the sign change");
+        assertFalse(window.accept((short) 32765), "Before the window opened");
+        assertEquals(0b1L, window.missingMask(), "Only 32769 is missing");
+
+        for (int i = 0; i < 70_000; i++) {
+            window.accept((short) i);
+        }
+        assertEquals((short) 69_999, window.newest());
+        assertTrue(window.accept((short) 70_000), "Still accepting after the counter wrapped");
+        assertFalse(window.accept((short) (70_000 - 64)), "Older than the window");
+    }
+
+    @Test
+    @DisplayName("Should deliver in order, buffering early packets up to the depth")
+    void testReorder() {
+        ReorderBuffer<Integer> buffer = new ReorderBuffer<>((short) 65534, 4);
+        List<Integer> delivered = new ArrayList<>();
+
+        assertEquals(ReorderBuffer.Result.BUFFERED, buffer.offer((short) 0, 2, delivered::add));
+        assertEquals(ReorderBuffer.Result.BUFFERED, buffer.offer((short) 65535, 1, delivered::add));
+        assertEquals(ReorderBuffer.Result.DUPLICATE, buffer.offer((short) 0, 2, delivered::add));
+        assertEquals(ReorderBuffer.Result.OVERFLOW, buffer.offer((short) 2, 4, delivered::add));
+        assertTrue(delivered.isEmpty());
+
+        assertEquals(ReorderBuffer.Result.DELIVERED, buffer.offer((short) 65534, 0, delivered::add));
+        assertEquals(List.of(0, 1, 2), delivered);
+        assertEquals((short) 1, buffer.expected());
+        assertEquals(0, buffer.bufferedCount());
+        assertEquals(ReorderBuffer.Result.DUPLICATE, buffer.offer((short) 65535, 1, delivered::add));
+    }
+}
@@ -0,0 +1,60 @@
+package com.quietterminal.projectneon.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TimingWheel.
+ */
+class TimingWheelTest {
+
+    @Test
+    @DisplayName("Should expire only items whose deadline has passed")
+    void testExpiresDueItems() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        wheel.schedule("a", 25);
+        wheel.schedule("b", 50);
+        wheel.schedule("late", 0);
+
+        List<String> expired = new ArrayList<>();
+        assertEquals(1, wheel.advance(15, expired::add));
+        assertEquals(List.of("late"), expired);
+
+        assertEquals(1, wheel.advance(30, expired::add));
+        assertEquals(List.of("late", "a"), expired);
+        assertEquals(1, wheel.size());
+
+        assertEquals(1, wheel.advance(55, expired::add));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should hold deadlines beyond one rotation until their round")
+    void testMultipleRotations() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 4, 0);
+        wheel.schedule("far", 200);
+
+        List<String> expired = new ArrayList<>();
+        assertEquals(0, wheel.advance(100, expired::add));
+        assertEquals(0, wheel.advance(190, expired::add));
+        assertEquals(1, wheel.advance(1000, expired::add));
+        assertEquals(List.of("far"), expired);
+    }
+
+    @Test
+    @DisplayName("Should allow rescheduling from the expiry callback")
+    void testRescheduleFromCallback() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        wheel.schedule("peer", 20);
+
+        wheel.advance(20, item -> wheel.schedule(item, 60));
+        assertEquals(1, wheel.size());
+        assertEquals(0, wheel.advance(50, item -> fail("expired early")));
+        assertEquals(1, wheel.advance(60, item -> {}));
+    }
+}
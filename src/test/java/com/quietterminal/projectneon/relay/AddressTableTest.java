@@ -0,0 +1,74 @@
+package com.quietterminal.projectneon.relay;
+
+import com.quietterminal.projectneon.core.NeonConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AddressTable.
+ */
+class AddressTableTest {
+
+    @Test
+    @DisplayName("Should intern IPv4 and IPv6 addresses to stable endpoints")
+    void testIntern() {
+        AddressTable table = new AddressTable();
+        SocketAddress ipv4 = new InetSocketAddress("10.0.0.1", 7777);
+        SocketAddress ipv6 = new InetSocketAddress("::1", 7777);
+
+        assertNull(table.lookup(ipv4));
+        AddressTable.Endpoint v4 = table.intern(ipv4);
+        AddressTable.Endpoint v6 = table.intern(ipv6);
+
+        assertSame(v4, table.intern(new InetSocketAddress("10.0.0.1", 7777)));
+        assertSame(v6, table.lookup(new InetSocketAddress("::1", 7777)));
+        assertNull(table.lookup(new InetSocketAddress("10.0.0.1", 7778)));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    @DisplayName("Should grow past its initial capacity and keep every entry")
+    void testGrowth() {
+        AddressTable table = new AddressTable();
+        AddressTable.Endpoint[] endpoints = new AddressTable.Endpoint[5000];
+        for (int i = 0; i < endpoints.length; i++) {
+            endpoints[i] = table.intern(new InetSocketAddress("10.0." + (i / 250) + "." + (i % 250), 9000 + i));
+        }
+
+        assertEquals(endpoints.length, table.size());
+        for (int i = 0; i < endpoints.length; i++) {
+            assertSame(endpoints[i], table.lookup(new InetSocketAddress("10.0." + (i / 250) + "." + (i % 250), 9000 + i)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should only release idle endpoints and never reuse a retired one")
+    void testRelease() {
+        AddressTable table = new AddressTable();
+        SocketAddress address = new InetSocketAddress("10.0.0.1", 7777);
+        AddressTable.Endpoint endpoint = table.intern(address);
+        RateLimiter limiter = new RateLimiter(10, new NeonConfig());
+        PeerInfo peer = new PeerInfo(address, (byte) 2, 1, false, null);
+
+        assertSame(limiter, endpoint.attachLimiter(limiter));
+        assertTrue(endpoint.attachPeer(peer));
+        assertEquals(1, table.peerCount());
+        assertFalse(table.releaseIfIdle(endpoint, a -> false));
+
+        assertTrue(endpoint.detachLimiter(limiter));
+        assertTrue(endpoint.detachPeer(peer));
+        assertFalse(table.releaseIfIdle(endpoint, a -> true));
+        assertTrue(table.releaseIfIdle(endpoint, a -> false));
+
+        assertNull(table.lookup(address));
+        assertNull(endpoint.attachLimiter(limiter));
+        assertFalse(endpoint.attachPeer(peer));
+        assertNotSame(endpoint, table.intern(address));
+        assertEquals(0, table.peerCount());
+    }
+}
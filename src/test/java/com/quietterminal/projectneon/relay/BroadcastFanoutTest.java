@@ -0,0 +1,105 @@
+package com.quietterminal.projectneon.relay;
+
+import com.quietterminal.projectneon.core.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BroadcastFanout.
+ */
+class BroadcastFanoutTest {
+
+    private final List<NeonSocket> sockets = new ArrayList<>();
+    private BroadcastFanout fanout;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (fanout != null) {
+            fanout.close();
+        }
+        for (NeonSocket s : sockets) {
+            s.close();
+        }
+    }
+
+    private NeonSocket open() throws IOException {
+        NeonSocket s = new NeonSocket();
+        s.setBlocking(true);
+        s.setSoTimeout(2000);
+        sockets.add(s);
+        return s;
+    }
+
+    private List<NeonSocket> openReceivers(int count) throws IOException {
+        List<NeonSocket> receivers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            receivers.add(open());
+        }
+        return receivers;
+    }
+
+    private List<SocketAddress> addressesOf(List<NeonSocket> receivers) {
+        List<SocketAddress> addresses = new ArrayList<>();
+        for (NeonSocket r : receivers) {
+            addresses.add(new InetSocketAddress("127.0.0.1", r.getLocalAddress().getPort()));
+        }
+        return addresses;
+    }
+
+    private ByteBuffer encodedPacket() {
+        byte[] bytes = NeonPacket.create(PacketType.GAME_PACKET, (short) 5, (byte) 1, (byte) 0,
+            new PacketPayload.GamePacket(new byte[]{1, 2, 3})).toBytes();
+        return ByteBuffer.wrap(bytes);
+    }
+
+    @Test
+    @DisplayName("Should send the same bytes to every destination sequentially")
+    void testSequentialFanout() throws IOException {
+        NeonSocket sender = open();
+        fanout = new BroadcastFanout(new NeonSocket[]{sender}, 0);
+        List<NeonSocket> receivers = openReceivers(5);
+        ByteBuffer data = encodedPacket();
+
+        assertEquals(5, fanout.send(data, addressesOf(receivers), sender));
+        assertEquals(0, data.position());
+
+        for (NeonSocket r : receivers) {
+            assertArrayEquals(data.array(), r.receive().data());
+        }
+    }
+
+    @Test
+    @DisplayName("Should split large broadcasts across sockets in parallel mode")
+    void testParallelFanout() throws IOException {
+        NeonSocket[] senders = {open(), open(), open()};
+        fanout = new BroadcastFanout(senders, 4);
+        List<NeonSocket> receivers = openReceivers(10);
+        ByteBuffer data = encodedPacket();
+
+        assertEquals(10, fanout.send(data, addressesOf(receivers), senders[0]));
+        assertEquals(0, data.position());
+
+        List<Integer> senderPorts = new ArrayList<>();
+        for (NeonSocket s : senders) {
+            senderPorts.add(s.getLocalAddress().getPort());
+        }
+        java.util.Set<Integer> usedPorts = new java.util.HashSet<>();
+        for (NeonSocket r : receivers) {
+            NeonSocket.ReceivedPacket received = r.receive();
+            assertArrayEquals(data.array(), received.data());
+            usedPorts.add(((InetSocketAddress) received.source()).getPort());
+        }
+        assertTrue(senderPorts.containsAll(usedPorts));
+        assertEquals(3, usedPorts.size(), "All sockets should carry part of the broadcast");
+    }
+}
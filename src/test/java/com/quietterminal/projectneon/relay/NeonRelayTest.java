@@ -0,0 +1,277 @@
+package com.quietterminal.projectneon.relay;
+
+import com.quietterminal.projectneon.core.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NeonRelay routing and session state.
+ * Drives the relay with raw sockets standing in for a host and clients.
+ */
+class NeonRelayTest {
+    private static final int SESSION_ID = 4242;
+
+    private NeonRelay relay;
+    private Thread relayThread;
+    private final List<NeonSocket> sockets = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (relay != null) {
+            relay.stop();
+        }
+        if (relayThread != null) {
+            relayThread.join(2000);
+        }
+        for (NeonSocket s : sockets) {
+            s.close();
+        }
+    }
+
+    private void startRelay(NeonConfig config) throws IOException {
+        relay = new NeonRelay("127.0.0.1:0", config);
+        relay.start();
+        relayThread = new Thread(() -> {
+            try {
+                relay.run();
+            } catch (Exception e) {
+                // Expected when the relay is stopped
+            }
+        });
+        relayThread.start();
+    }
+
+    private SocketAddress relayAddress() {
+        int port = ((InetSocketAddress) relay.getLocalAddress()).getPort();
+        return new InetSocketAddress("127.0.0.1", port);
+    }
+
+    private NeonSocket openPeer() throws IOException {
+        NeonSocket peer = new NeonSocket();
+        peer.setBlocking(true);
+        peer.setSoTimeout(2000);
+        sockets.add(peer);
+        return peer;
+    }
+
+    private NeonSocket.ReceivedPacket receiveType(NeonSocket peer, PacketType type) throws IOException {
+        while (true) {
+            NeonSocket.ReceivedPacket received = peer.receive();
+            if (received != null && PacketHeader.peekPacketType(received.data()) == type.getValue()) {
+                return received;
+            }
+        }
+    }
+
+    /**
+     * Waits for the relay to register peers. Packets from different sources may be
+     * handled by different shards, so registration order is only guaranteed per source.
+     */
+    private void awaitConnections(int expected) throws IOException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (relay.snapshot().connectionCount() < expected) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IOException("Timed out waiting for " + expected + " connections");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Registers a host for the session and joins one client through it.
+     * Returns {host, client}.
+     */
+    private NeonSocket[] setUpSession() throws IOException {
+        NeonSocket host = openPeer();
+        NeonSocket client = openPeer();
+
+        host.sendPacket(NeonPacket.create(PacketType.CONNECT_ACCEPT, (short) 0, (byte) 1, (byte) 0,
+            new PacketPayload.ConnectAccept((byte) 1, SESSION_ID, 0L)), relayAddress());
+        awaitConnections(1);
+
+        client.sendPacket(NeonPacket.create(PacketType.CONNECT_REQUEST, (short) 0, (byte) 0, (byte) 1,
+            new PacketPayload.ConnectRequest((byte) 1, "player", SESSION_ID, 0)), relayAddress());
+        receiveType(host, PacketType.CONNECT_REQUEST);
+
+        host.sendPacket(NeonPacket.create(PacketType.CONNECT_ACCEPT, (short) 0, (byte) 1, (byte) 2,
+            new PacketPayload.ConnectAccept((byte) 2, SESSION_ID, 0L)), relayAddress());
+        receiveType(client, PacketType.CONNECT_ACCEPT);
+
+        return new NeonSocket[]{host, client};
+    }
+
+    @Test
+    @DisplayName("Should forward game packets byte-for-byte")
+    void testForwardsGamePacketUnchanged() throws Exception {
+        startRelay(new NeonConfig());
+        NeonSocket[] peers = setUpSession();
+
+        byte[] sent = NeonPacket.create(PacketType.GAME_PACKET, (short) 9, (byte) 2, (byte) 1,
+            new PacketPayload.GamePacket(new byte[]{10, 20, 30})).toBytes();
+        peers[1].sendTo(sent, relayAddress());
+
+        NeonSocket.ReceivedPacket received = receiveType(peers[0], PacketType.GAME_PACKET);
+        assertArrayEquals(sent, received.data());
+    }
+
+    @Test
+    @DisplayName("Should forward game packets carrying a piggybacked ACK byte-for-byte")
+    void testForwardsPiggybackAckUnchanged() throws Exception {
+        startRelay(new NeonConfig());
+        NeonSocket[] peers = setUpSession();
+
+        NeonPacket game = NeonPacket.create(PacketType.GAME_PACKET, (short) 4, (byte) 1, (byte) 2,
+            new PacketPayload.GamePacket(new byte[]{7, 8, 9}));
+        byte[] sent = PacketPayload.PiggybackAck.wrap(game, PacketPayload.SelectiveAck.of((short) 11)).toBytes();
+        peers[0].sendTo(sent, relayAddress());
+
+        assertArrayEquals(sent, receiveType(peers[1], PacketType.PIGGYBACK_ACK).data());
+    }
+
+    @Test
+    @DisplayName("Should route across shards and report one aggregated view")
+    void testShardedRelay() throws Exception {
+        startRelay(new NeonConfig().setRelayShardCount(4));
+        int expectedShards = NeonSocket.isReusePortSupported() ? 4 : 1;
+        assertEquals(expectedShards, relay.getShardCount());
+
+        NeonSocket[] peers = setUpSession();
+
+        for (int i = 0; i < 5; i++) {
+            byte[] sent = NeonPacket.create(PacketType.GAME_PACKET, (short) i, (byte) 1, (byte) 2,
+                new PacketPayload.GamePacket(new byte[]{(byte) i})).toBytes();
+            peers[0].sendTo(sent, relayAddress());
+            assertArrayEquals(sent, receiveType(peers[1], PacketType.GAME_PACKET).data());
+        }
+
+        long deadline = System.currentTimeMillis() + 2000;
+        while (relay.snapshot().metrics().packetsSent() < 5 && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+
+        NeonRelay.Snapshot snapshot = relay.snapshot();
+        assertEquals(expectedShards, snapshot.shardCount());
+        assertEquals(expectedShards, snapshot.packetsReceivedPerShard().size());
+        assertEquals(1, snapshot.sessionCount());
+        assertEquals(2, snapshot.connectionCount());
+        assertEquals(1, snapshot.metrics().connectionsAccepted());
+        assertEquals(snapshot.metrics().packetsReceived(),
+            snapshot.packetsReceivedPerShard().stream().mapToLong(Long::longValue).sum());
+        assertTrue(snapshot.metrics().packetsSent() >= 5);
+    }
+
+    @Test
+    @DisplayName("Should keep sessions isolated across partitions")
+    void testSessionManagerPartitions() {
+        SessionManager manager = new SessionManager(4);
+        SocketAddress hostA = new InetSocketAddress("127.0.0.1", 1001);
+        SocketAddress clientA = new InetSocketAddress("127.0.0.1", 1002);
+        SocketAddress hostB = new InetSocketAddress("127.0.0.1", 2001);
+
+        manager.registerHost(1, hostA);
+        manager.registerPeer(1, (byte) 2, clientA, false);
+        manager.registerHost(2, hostB);
+
+        assertEquals(2, manager.getSessionCount());
+        assertEquals(3, manager.getTotalConnections());
+        assertEquals(List.of(clientA), manager.getAllPeersExcept(1, hostA));
+        assertEquals(List.of(), manager.getAllPeersExcept(2, hostB));
+        assertEquals(hostB, manager.getPeerAddress(2, (byte) 1).orElseThrow());
+
+        manager.removePeer(hostB);
+        assertEquals(1, manager.getSessionCount());
+        assertTrue(manager.getHost(2).isEmpty());
+        assertTrue(manager.getSessionForPeer(hostB).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should index peers by client ID and share precomputed broadcast targets")
+    void testSessionRoutingTable() {
+        SessionManager manager = new SessionManager();
+        SocketAddress host = new InetSocketAddress("127.0.0.1", 1001);
+        SocketAddress clientA = new InetSocketAddress("127.0.0.1", 1002);
+        SocketAddress clientB = new InetSocketAddress("127.0.0.1", 1003);
+        SocketAddress moved = new InetSocketAddress("127.0.0.1", 1004);
+
+        manager.registerHost(1, host);
+        manager.registerPeer(1, (byte) 2, clientA, false);
+        manager.registerPeer(1, (byte) 200, clientB, false);
+
+        assertEquals(clientB, manager.getPeerAddress(1, (byte) 200).orElseThrow());
+        assertTrue(manager.getPeerAddress(1, (byte) 3).isEmpty());
+        assertEquals(3, manager.getClientCount(1));
+
+        List<SocketAddress> targets = manager.getAllPeersExcept(1, clientA);
+        assertEquals(List.of(host, clientB), targets);
+        manager.updateLastSeen(clientA);
+        assertSame(targets, manager.getAllPeersExcept(1, clientA));
+
+        manager.updatePeerAddress(1, (byte) 2, moved);
+        assertEquals(moved, manager.getPeerAddress(1, (byte) 2).orElseThrow());
+        assertTrue(manager.getSessionForPeer(clientA).isEmpty());
+        assertEquals(List.of(host, moved), manager.getAllPeersExcept(1, clientB));
+
+        manager.removePeer(clientB);
+        assertEquals(List.of(host), manager.getAllPeersExcept(1, moved));
+        assertEquals(2, manager.getTotalConnections());
+    }
+
+    @Test
+    @DisplayName("Should keep per-session order when routing on worker threads")
+    void testWorkerPipelinePreservesOrder() throws Exception {
+        startRelay(new NeonConfig().setRelayWorkerThreads(4));
+        NeonSocket[] peers = setUpSession();
+
+        int packetCount = 50;
+        for (int i = 0; i < packetCount; i++) {
+            peers[0].sendTo(NeonPacket.create(PacketType.GAME_PACKET, (short) i, (byte) 1, (byte) 2,
+                new PacketPayload.GamePacket(new byte[]{(byte) i})).toBytes(), relayAddress());
+        }
+
+        for (int i = 0; i < packetCount; i++) {
+            byte[] received = receiveType(peers[1], PacketType.GAME_PACKET).data();
+            assertEquals((short) i, PacketHeader.peekSequence(received));
+        }
+
+        assertEquals(4, relay.snapshot().workerQueues().size());
+    }
+
+    @Test
+    @DisplayName("Should drop garbage and denylisted sources before decoding")
+    void testAdmissionFilter() throws Exception {
+        startRelay(new NeonConfig());
+        NeonSocket peer = openPeer();
+        AdmissionFilter admission = relay.getAdmissionFilter();
+
+        peer.sendTo(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9}, relayAddress());
+        awaitDrops(AdmissionFilter.Drop.MALFORMED);
+
+        admission.deny(((InetSocketAddress) relayAddress()).getAddress());
+        peer.sendPacket(NeonPacket.create(PacketType.PING, (short) 1, (byte) 0, (byte) 0,
+            new PacketPayload.Ping(1L)), relayAddress());
+        awaitDrops(AdmissionFilter.Drop.DENYLISTED);
+
+        assertEquals(0, admission.admitted());
+        assertEquals(1L, relay.snapshot().admissionDrops().get(AdmissionFilter.Drop.DENYLISTED));
+        assertTrue(admission.allow(((InetSocketAddress) relayAddress()).getAddress()));
+    }
+
+    private void awaitDrops(AdmissionFilter.Drop reason) throws IOException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (relay.getAdmissionFilter().drops(reason) == 0) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IOException("Timed out waiting for a " + reason + " drop");
+            }
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.quietterminal.projectneon.relay;
+
+import com.quietterminal.projectneon.core.NeonConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TokenBucket and the relay's per-source RateLimiter.
+ */
+class RateLimiterTest {
+    private static final long MS = 1_000_000L;
+
+    @Test
+    @DisplayName("Should allow a full burst and then refill continuously")
+    void testBurstAndFractionalRefill() {
+        TokenBucket bucket = new TokenBucket(100, 10, 0);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(bucket.tryAcquire(0, 1));
+        }
+        assertFalse(bucket.tryAcquire(0, 1));
+
+        assertFalse(bucket.tryAcquire(9 * MS, 1));
+        assertTrue(bucket.tryAcquire(10 * MS, 1));
+        assertFalse(bucket.tryAcquire(10 * MS, 1));
+
+        assertEquals(5, bucket.availableTokens(60 * MS));
+        assertEquals(10, bucket.availableTokens(1000 * MS));
+    }
+
+    @Test
+    @DisplayName("Should never hand out more than the burst across threads")
+    void testConcurrentAcquire() throws Exception {
+        TokenBucket bucket = new TokenBucket(1, 1000, System.nanoTime());
+        AtomicInteger granted = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    if (bucket.tryAcquire(System.nanoTime(), 1)) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(granted.get() >= 1000 && granted.get() <= 1002, "granted " + granted.get());
+    }
+
+    @Test
+    @DisplayName("Should throttle a flooding source and recover after the flood window")
+    void testFloodThrottling() {
+        NeonConfig config = new NeonConfig()
+            .setFloodThreshold(3)
+            .setFloodWindowMs(1000)
+            .setThrottlePenaltyDivisor(4);
+        RateLimiter limiter = new RateLimiter(10, config, 0);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.allowPacket(0));
+        }
+        for (int i = 0; i < 3; i++) {
+            assertFalse(limiter.allowPacket(0));
+        }
+        assertTrue(limiter.isThrottled());
+
+        assertFalse(limiter.allowPacket(300 * MS), "throttled packets cost four tokens");
+        assertTrue(limiter.allowPacket(400 * MS));
+
+        assertTrue(limiter.allowPacket(1500 * MS));
+        assertFalse(limiter.isThrottled());
+        assertEquals(0, limiter.getViolationCount());
+    }
+}
@@ -0,0 +1,86 @@
+package com.quietterminal.projectneon.relay;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RelayPipeline.
+ */
+class RelayPipelineTest {
+
+    private RelayPipeline<int[]> pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should preserve submission order within each session")
+    void testPerSessionOrdering() throws Exception {
+        int sessions = 8;
+        int perSession = 200;
+        Map<Integer, List<Integer>> seen = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(sessions * perSession);
+
+        pipeline = new RelayPipeline<>(4, sessions * perSession, task -> {
+            seen.computeIfAbsent(task[0], k -> new CopyOnWriteArrayList<>()).add(task[1]);
+            done.countDown();
+        }, "test");
+        pipeline.start();
+
+        for (int i = 0; i < perSession; i++) {
+            for (int session = 0; session < sessions; session++) {
+                assertTrue(pipeline.submit(session, new int[]{session, i}));
+            }
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int session = 0; session < sessions; session++) {
+            List<Integer> order = seen.get(session);
+            for (int i = 0; i < perSession; i++) {
+                assertEquals(i, order.get(i), "Session " + session + " reordered");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject tasks when a worker queue is full")
+    void testRejectsWhenFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        pipeline = new RelayPipeline<>(1, 2, task -> {
+            started.countDown();
+            release.await();
+        }, "test");
+        pipeline.start();
+
+        assertTrue(pipeline.submit(1, new int[]{0}));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        assertTrue(pipeline.submit(1, new int[]{1}));
+        assertTrue(pipeline.submit(1, new int[]{2}));
+        assertFalse(pipeline.submit(1, new int[]{3}));
+
+        assertEquals(1, pipeline.getQueueStates().get(0).totalDropped());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should reject tasks before start")
+    void testRejectsWhenStopped() {
+        pipeline = new RelayPipeline<>(2, 4, task -> { }, "test");
+        assertFalse(pipeline.submit(0, new int[]{0}));
+    }
+}
@@ -115,6 +115,29 @@ public class ReliabilityLayerTest {
         socket.close();
     }
 
+    @Test
+    @DisplayName("ReliablePacketManager handles selective ACKs")
+    public void testHandleSelectiveAck() throws Exception {
+        NeonSocket socket = new NeonSocket();
+        socket.setBlocking(true);
+        InetSocketAddress relayAddr = new InetSocketAddress("localhost", 17780);
+        ReliablePacketManager reliableManager = new ReliablePacketManager(socket, relayAddr, (byte) 2);
+
+        List<Short> sequences = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            sequences.add(reliableManager.sendReliable("test".getBytes(), (byte) 1));
+        }
+
+        reliableManager.handleAck(PacketPayload.SelectiveAck.of(sequences.get(4))
+            .with(sequences.get(0))
+            .with(sequences.get(2)));
+
+        assertEquals(2, reliableManager.getPendingCount(),
+            "Sequences outside the bitmap should stay pending");
+
+        socket.close();
+    }
+
     @Test
     @DisplayName("ReliablePacketManager retransmits unacknowledged packets")
     public void testRetransmission() throws Exception {
@@ -155,8 +178,9 @@ public class ReliabilityLayerTest {
         byte[] testData = "test".getBytes();
         reliableManager.sendReliable(testData, (byte) 1);
 
-        for (int i = 0; i < 3; i++) {
-            Thread.sleep(150);
+        // Each retry doubles the timeout: resent at 100 ms and 200 ms later, abandoned 400 ms after that
+        for (int waitMs : new int[]{150, 250, 450}) {
+            Thread.sleep(waitMs);
             reliableManager.processRetransmissions();
         }
 
@@ -219,6 +243,22 @@ public class ReliabilityLayerTest {
         socket.close();
     }
 
+    @Test
+    @DisplayName("ReliablePacketManager keeps a new timeout after ACKing a peer")
+    public void testTimeoutSurvivesQueuedAck() throws Exception {
+        try (NeonSocket socket = new NeonSocket()) {
+            InetSocketAddress relayAddr = new InetSocketAddress("localhost", 17780);
+            ReliablePacketManager reliableManager = new ReliablePacketManager(socket, relayAddr, (byte) 2);
+
+            reliableManager.setTimeout(300);
+            reliableManager.handleReceivedReliable((byte) 1, (short) 5);
+            reliableManager.sendReliable("test".getBytes(), (byte) 1);
+
+            assertEquals(300, reliableManager.getRttEstimator((byte) 1).rtoMs(),
+                "Queueing an ACK must not create an estimator with the old timeout");
+        }
+    }
+
     @Test
     @DisplayName("ReliablePacketManager multiple sequences")
     public void testMultipleSequences() throws Exception {